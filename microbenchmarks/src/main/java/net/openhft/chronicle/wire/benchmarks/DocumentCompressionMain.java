@@ -0,0 +1,107 @@
+/*
+ *     Copyright (C) 2015  higherfrequencytrading.com
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.affinity.Affinity;
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.wire.BinaryWire;
+import net.openhft.chronicle.wire.DocumentContext;
+import net.openhft.chronicle.wire.Wire;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes and reads a document containing Data, as it is, deflated, and deflated with a dictionary
+ * of a typical document. The size of each document is printed, and JMH reports the ns per document.
+ */
+@State(Scope.Thread)
+public class DocumentCompressionMain {
+    final Bytes bytes = Bytes.allocateDirect(256).unchecked(true);
+    final Wire bwire = new BinaryWire(bytes);
+    final Wire bwireDeflated = new BinaryWire(bytes).compressDocuments(null);
+    final Wire bwireDictionary = new BinaryWire(bytes).compressDocuments(typicalDocument());
+
+    final Data data = new Data(123, 1234567890L, 1.2345, true, "Hello World!", Side.Sell);
+    final Data dataB = new Data();
+
+    public static void main(String... args) throws RunnerException {
+        Affinity.setAffinity(2);
+        DocumentCompressionMain main = new DocumentCompressionMain();
+        main.bwire();
+        long plain = main.bytes.readPosition();
+        System.out.println("binary used " + plain + " bytes.");
+        main.bwireDeflated();
+        System.out.printf("deflated used %d bytes, a ratio of %.2f%n", main.bytes.readPosition(), (double) plain / main.bytes.readPosition());
+        main.bwireDictionary();
+        System.out.printf("deflated with a dictionary used %d bytes, a ratio of %.2f%n", main.bytes.readPosition(), (double) plain / main.bytes.readPosition());
+        if (!Jvm.isDebug()) {
+            int time = Boolean.getBoolean("longTest") ? 30 : 2;
+            System.out.println("measurementTime: " + time + " secs");
+            Options opt = new OptionsBuilder()
+                    .include(DocumentCompressionMain.class.getSimpleName())
+                    .measurementIterations(5)
+                    .forks(10)
+                    .mode(Mode.SampleTime)
+                    .measurementTime(TimeValue.seconds(time))
+                    .timeUnit(TimeUnit.NANOSECONDS)
+                    .build();
+
+            new Runner(opt).run();
+        }
+    }
+
+    static byte[] typicalDocument() {
+        Bytes bytes = Bytes.elasticByteBuffer();
+        Wire wire = new BinaryWire(bytes);
+        try (DocumentContext dc = wire.writingDocument(false)) {
+            dc.wire().getValueOut().marshallable(new Data(100, 1234500000L, 1.2, false, "Hello World", Side.Buy));
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public Data bwire() {
+        return writeReadTest(bwire);
+    }
+
+    @Benchmark
+    public Data bwireDeflated() {
+        return writeReadTest(bwireDeflated);
+    }
+
+    @Benchmark
+    public Data bwireDictionary() {
+        return writeReadTest(bwireDictionary);
+    }
+
+    public Data writeReadTest(Wire wire) {
+        bytes.clear();
+        try (DocumentContext dc = wire.writingDocument(false)) {
+            dc.wire().getValueOut().marshallable(data);
+        }
+        try (DocumentContext dc = wire.readingDocument()) {
+            dc.wire().getValueIn().marshallable(dataB);
+        }
+        return dataB;
+    }
+}
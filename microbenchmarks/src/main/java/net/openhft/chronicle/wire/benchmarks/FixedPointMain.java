@@ -0,0 +1,100 @@
+/*
+ *     Copyright (C) 2015  higherfrequencytrading.com
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.affinity.Affinity;
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.wire.BinaryWire;
+import net.openhft.chronicle.wire.Wire;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes and reads Data with a price with four decimal places, as a float and with fixedPoint(4).
+ */
+@State(Scope.Thread)
+public class FixedPointMain {
+    final Bytes bytes = Bytes.allocateDirect(128).unchecked(true);
+    final Wire bwireFloat = new BinaryWire(bytes, false, false, false, Integer.MAX_VALUE, "binary");
+    final Wire bwireFixed = new BinaryWire(bytes, false, false, false, Integer.MAX_VALUE, "binary").fixedPoint(4);
+    final Wire bwireNumericFloat = new BinaryWire(bytes, false, true, false, Integer.MAX_VALUE, "binary");
+    final Wire bwireNumericFixed = new BinaryWire(bytes, false, true, false, Integer.MAX_VALUE, "binary").fixedPoint(4);
+
+    final Data data = new Data(123, 1234567890L, 1.2345, true, "Hello World!", Side.Sell);
+    final Data dataB = new Data();
+
+    public static void main(String... args) throws RunnerException {
+        Affinity.setAffinity(2);
+        if (Jvm.isDebug()) {
+            FixedPointMain main = new FixedPointMain();
+            main.bwireFloat();
+            System.out.println("float used " + main.bytes.readPosition() + " bytes.");
+            main.bwireFixed();
+            System.out.println("fixedPoint(4) used " + main.bytes.readPosition() + " bytes.");
+            main.bwireNumericFloat();
+            System.out.println("numeric fields, float used " + main.bytes.readPosition() + " bytes.");
+            main.bwireNumericFixed();
+            System.out.println("numeric fields, fixedPoint(4) used " + main.bytes.readPosition() + " bytes.");
+        } else {
+            int time = Boolean.getBoolean("longTest") ? 30 : 2;
+            System.out.println("measurementTime: " + time + " secs");
+            Options opt = new OptionsBuilder()
+                    .include(FixedPointMain.class.getSimpleName())
+                    .measurementIterations(5)
+                    .forks(10)
+                    .mode(Mode.SampleTime)
+                    .measurementTime(TimeValue.seconds(time))
+                    .timeUnit(TimeUnit.NANOSECONDS)
+                    .build();
+
+            new Runner(opt).run();
+        }
+    }
+
+    @Benchmark
+    public Data bwireFloat() {
+        return writeReadTest(bwireFloat);
+    }
+
+    @Benchmark
+    public Data bwireFixed() {
+        return writeReadTest(bwireFixed);
+    }
+
+    @Benchmark
+    public Data bwireNumericFloat() {
+        return writeReadTest(bwireNumericFloat);
+    }
+
+    @Benchmark
+    public Data bwireNumericFixed() {
+        return writeReadTest(bwireNumericFixed);
+    }
+
+    public Data writeReadTest(Wire wire) {
+        bytes.clear();
+        wire.writeDocument(false, data);
+        wire.rawReadData(dataB);
+        return dataB;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *     Copyright (C) 2015  higherfrequencytrading.com
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.affinity.Affinity;
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.BinaryWire;
+import net.openhft.chronicle.wire.Wire;
+import net.openhft.chronicle.wire.WireMarshaller;
+import net.openhft.chronicle.wire.WireMarshallerGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the reflective WireMarshaller with the generated one.
+ */
+@State(Scope.Thread)
+public class MarshallerMain {
+    final Bytes bytes = Bytes.allocateDirect(128).unchecked(true);
+    final Wire wire = new BinaryWire(bytes);
+
+    final WireMarshaller<PojoData> reflective = WireMarshaller.of(PojoData.class);
+    final WireMarshaller<PojoData> generated = WireMarshallerGenerator.of(PojoData.class);
+
+    final PojoData data = new PojoData(123, 1234567890L, 1234, true, "Hello World!", Side.Sell);
+    final PojoData dataB = new PojoData();
+
+    public static void main(String... args) throws RunnerException {
+        Affinity.setAffinity(2);
+        int time = Boolean.getBoolean("longTest") ? 30 : 2;
+        System.out.println("measurementTime: " + time + " secs");
+        Options opt = new OptionsBuilder()
+                .include(MarshallerMain.class.getSimpleName())
+                .measurementIterations(5)
+                .forks(10)
+                .mode(Mode.SampleTime)
+                .measurementTime(TimeValue.seconds(time))
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public PojoData reflective() {
+        return writeReadTest(reflective);
+    }
+
+    @Benchmark
+    public PojoData generated() {
+        return writeReadTest(generated);
+    }
+
+    PojoData writeReadTest(WireMarshaller<PojoData> marshaller) {
+        bytes.clear();
+        marshaller.writeMarshallable(data, wire);
+        marshaller.readMarshallable(dataB, wire, true);
+        return dataB;
+    }
+}
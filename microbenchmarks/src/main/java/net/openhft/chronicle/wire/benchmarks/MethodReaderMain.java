@@ -0,0 +1,95 @@
+/*
+ *     Copyright (C) 2015  higherfrequencytrading.com
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.affinity.Affinity;
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.*;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares dispatch by the MethodReader with reflection, and with the generated parser.
+ */
+@State(Scope.Thread)
+public class MethodReaderMain {
+    final Bytes bytes = Bytes.allocateDirect(128).unchecked(true);
+    final Wire wire = new BinaryWire(bytes);
+    final PriceHandler handler = new PriceHandler();
+    final WireParser<Void> reflective = WireParser.wireParser((s, v, $) -> {
+    });
+    final WireParser<Void> generated = MethodReaderGenerator.newInstance((s, v, $) -> {
+    }, handler);
+
+    public MethodReaderMain() {
+        reflective.register(() -> "price", (s, v, $) -> {
+            try {
+                handler.getClass().getMethod("price", double.class).invoke(handler, v.float64());
+            } catch (Exception e) {
+                throw new AssertionError(e);
+            }
+        });
+        wire.write(() -> "price").fixedFloat64(1234.5);
+    }
+
+    public static void main(String... args) throws RunnerException {
+        Affinity.setAffinity(2);
+        int time = Boolean.getBoolean("longTest") ? 30 : 2;
+        System.out.println("measurementTime: " + time + " secs");
+        Options opt = new OptionsBuilder()
+                .include(MethodReaderMain.class.getSimpleName())
+                .measurementIterations(5)
+                .forks(10)
+                .mode(Mode.SampleTime)
+                .measurementTime(TimeValue.seconds(time))
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public double reflective() {
+        bytes.readPosition(0);
+        reflective.parseOne(wire, null);
+        return handler.price;
+    }
+
+    @Benchmark
+    public double generated() {
+        bytes.readPosition(0);
+        generated.parseOne(wire, null);
+        return handler.price;
+    }
+
+    public static class PriceHandler {
+        double price;
+
+        public void price(double price) {
+            this.price = price;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ *     Copyright (C) 2015  higherfrequencytrading.com
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.affinity.Affinity;
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.BinaryWire;
+import net.openhft.chronicle.wire.DocumentContext;
+import net.openhft.chronicle.wire.MarshallableOut;
+import net.openhft.chronicle.wire.Wire;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a Proxy method writer with a generated one. The GC profiler reports gc.alloc.rate.norm,
+ * the bytes allocated per call.
+ */
+@State(Scope.Thread)
+public class MethodWriterMain {
+    final Bytes bytes = Bytes.allocateDirect(128).unchecked(true);
+    final Wire wire = new BinaryWire(bytes);
+    final MarshallableOut out = new MarshallableOut() {
+        @Override
+        public DocumentContext writingDocument() {
+            bytes.clear();
+            return wire.writingDocument(false);
+        }
+
+        @Override
+        public boolean recordHistory() {
+            return false;
+        }
+    };
+
+    final PriceListener proxy = out.methodWriterBuilder(PriceListener.class).useProxy(true).get();
+    final PriceListener generated = out.methodWriterBuilder(PriceListener.class).useProxy(false).get();
+    final Data data = new Data(123, 1234567890L, 1234, true, "Hello World!", Side.Sell);
+
+    public static void main(String... args) throws RunnerException {
+        Affinity.setAffinity(2);
+        int time = Boolean.getBoolean("longTest") ? 30 : 2;
+        System.out.println("measurementTime: " + time + " secs");
+        Options opt = new OptionsBuilder()
+                .include(MethodWriterMain.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .measurementIterations(5)
+                .forks(10)
+                .mode(Mode.SampleTime)
+                .measurementTime(TimeValue.seconds(time))
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public void proxyPrice() {
+        proxy.price(1234567890L, 1234.5, Side.Buy);
+    }
+
+    @Benchmark
+    public void generatedPrice() {
+        generated.price(1234567890L, 1234.5, Side.Buy);
+    }
+
+    @Benchmark
+    public void proxyData() {
+        proxy.data(data);
+    }
+
+    @Benchmark
+    public void generatedData() {
+        generated.data(data);
+    }
+
+    public interface PriceListener {
+        void price(long timestamp, double price, Side side);
+
+        void data(Data data);
+    }
+}
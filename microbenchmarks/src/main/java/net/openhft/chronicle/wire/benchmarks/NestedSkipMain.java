@@ -0,0 +1,95 @@
+/*
+ *     Copyright (C) 2015  higherfrequencytrading.com
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.affinity.Affinity;
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads a field after a deeply nested value, so BinaryWire.read(WireKey) has to skip the nested
+ * value first, for BINARY and FIELDLESS_BINARY.
+ */
+@State(Scope.Thread)
+public class NestedSkipMain {
+    @Param({"1", "4", "16"})
+    int depth;
+
+    final Bytes bytes = Bytes.allocateElasticDirect(4096);
+    Wire binary;
+    final Bytes bytes2 = Bytes.allocateElasticDirect(4096);
+    Wire fieldless;
+
+    public static void main(String... args) throws RunnerException {
+        Affinity.setAffinity(2);
+        int time = Boolean.getBoolean("longTest") ? 30 : 2;
+        System.out.println("measurementTime: " + time + " secs");
+        Options opt = new OptionsBuilder()
+                .include(NestedSkipMain.class.getSimpleName())
+                .measurementIterations(5)
+                .forks(10)
+                .mode(Mode.SampleTime)
+                .measurementTime(TimeValue.seconds(time))
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    static void writeNested(WireOut wire, int depth) {
+        wire.write(() -> "id").int64(depth)
+                .write(() -> "name").text("level " + depth)
+                .write(() -> "values").sequence(v -> {
+            for (int i = 0; i < 8; i++)
+                v.float64(i * 1.5);
+        });
+        if (depth > 0)
+            wire.write(() -> "child").marshallable(w -> writeNested(w, depth - 1));
+    }
+
+    @Setup
+    public void setup() {
+        binary = WireType.BINARY.apply(bytes);
+        binary.write(() -> "nested").marshallable(w -> writeNested(w, depth));
+        binary.write(() -> "last").int32(1);
+
+        fieldless = WireType.FIELDLESS_BINARY.apply(bytes2);
+        fieldless.write(() -> "nested").marshallable(w -> writeNested(w, depth));
+        fieldless.write(() -> "last").int32(1);
+    }
+
+    @Benchmark
+    public int readAfterNested() {
+        bytes.readPosition(0);
+        binary.getValueIn().resetState();
+        return binary.read(() -> "last").int32();
+    }
+
+    @Benchmark
+    public int skipNestedFieldless() {
+        bytes2.readPosition(0);
+        fieldless.getValueIn().skipValue();
+        return fieldless.getValueIn().int32();
+    }
+}
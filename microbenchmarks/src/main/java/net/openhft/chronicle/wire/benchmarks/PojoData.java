@@ -0,0 +1,46 @@
+/*
+ *     Copyright (C) 2015  higherfrequencytrading.com
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.wire.AbstractMarshallable;
+import net.openhft.chronicle.wire.MaxLength;
+
+/**
+ * A plain data class serialized via a WireMarshaller, without hand written readMarshallable/writeMarshallable.
+ */
+public class PojoData extends AbstractMarshallable {
+    int smallInt = 0;
+    long longInt = 0;
+    double price = 0;
+    boolean flag = false;
+    // bounded so it can be used with WireType.STRUCT
+    @MaxLength(32)
+    String text = "";
+    Side side;
+
+    public PojoData(int smallInt, long longInt, double price, boolean flag, String text, Side side) {
+        this.smallInt = smallInt;
+        this.longInt = longInt;
+        this.price = price;
+        this.flag = flag;
+        this.side = side;
+        this.text = text;
+    }
+
+    public PojoData() {
+    }
+}
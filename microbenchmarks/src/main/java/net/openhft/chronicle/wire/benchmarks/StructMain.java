@@ -0,0 +1,90 @@
+/*
+ *     Copyright (C) 2015  higherfrequencytrading.com
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.affinity.Affinity;
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.*;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the fixed layout of WireType.STRUCT with BinaryWire, and updating one field in place.
+ * See sbe.ExampleUsingGeneratedStub for the same message with SBE.
+ */
+@State(Scope.Thread)
+public class StructMain {
+    static final StructLayout<PojoData> LAYOUT = StructLayout.register(PojoData.class);
+    static final StructField PRICE = LAYOUT.field("price");
+
+    final Bytes bytes = Bytes.allocateDirect(128).unchecked(true);
+    final Wire binary = WireType.BINARY.apply(bytes);
+    final StructWire struct = (StructWire) WireType.STRUCT.apply(bytes);
+
+    final PojoData data = new PojoData(123, 1234567890L, 1234, true, "Hello World!", Side.Sell);
+    final PojoData dataB = new PojoData();
+
+    public static void main(String... args) throws RunnerException {
+        Affinity.setAffinity(2);
+        int time = Boolean.getBoolean("longTest") ? 30 : 2;
+        System.out.println("measurementTime: " + time + " secs");
+        Options opt = new OptionsBuilder()
+                .include(StructMain.class.getSimpleName())
+                .measurementIterations(5)
+                .forks(10)
+                .mode(Mode.SampleTime)
+                .measurementTime(TimeValue.seconds(time))
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public PojoData binary() {
+        return writeReadTest(binary);
+    }
+
+    @Benchmark
+    public PojoData struct() {
+        return writeReadTest(struct);
+    }
+
+    @Benchmark
+    public double structUpdatePrice() {
+        bytes.clear();
+        struct.getValueOut().marshallable(data);
+        long base = struct.structOffset();
+        PRICE.setDouble(bytes, base, PRICE.getDouble(bytes, base) + 1);
+        return PRICE.getDouble(bytes, base);
+    }
+
+    PojoData writeReadTest(Wire wire) {
+        bytes.clear();
+        wire.getValueOut().marshallable(data);
+        wire.getValueIn().marshallable(dataB);
+        return dataB;
+    }
+}
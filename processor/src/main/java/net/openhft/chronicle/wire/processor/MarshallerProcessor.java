@@ -0,0 +1,378 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@code <class name>$$WireMarshaller} for each class annotated with
+ * {@code net.openhft.chronicle.wire.GenerateMarshaller}.
+ * <p>
+ * The fields are found in the same order as WireMarshaller.getAllField. Primitive, String and
+ * StringBuilder fields are read, written, compared and copied directly, with UNSAFE for those which
+ * are private, final or in another package. Other fields are passed to the reflective FieldAccess
+ * in WireMarshaller, which is looked up once per field.
+ */
+@SupportedAnnotationTypes(MarshallerProcessor.ANNOTATION)
+public class MarshallerProcessor extends AbstractProcessor {
+    static final String ANNOTATION = "net.openhft.chronicle.wire.GenerateMarshaller";
+    static final String SUFFIX = "$$WireMarshaller";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    error(element, "@GenerateMarshaller can only be used on a class");
+                    continue;
+                }
+                TypeElement type = (TypeElement) element;
+                try {
+                    generate(type);
+                } catch (IOException e) {
+                    error(type, "Unable to write marshaller " + e);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private void generate(TypeElement type) throws IOException {
+        if (type.getModifiers().contains(Modifier.PRIVATE)) {
+            error(type, "@GenerateMarshaller classes cannot be private");
+            return;
+        }
+        if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+            error(type, "@GenerateMarshaller classes must be static or top level");
+            return;
+        }
+
+        Elements elements = processingEnv.getElementUtils();
+        String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(type).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + SUFFIX;
+        String className = type.getQualifiedName().toString();
+
+        Map<String, VariableElement> fieldMap = new LinkedHashMap<>();
+        getAllField(type, fieldMap);
+        FieldModel[] fields = new FieldModel[fieldMap.size()];
+        boolean isLeaf = true;
+        int i = 0;
+        for (VariableElement field : fieldMap.values()) {
+            FieldModel fm = new FieldModel(i, field, kindOf(field.asType()), isAccessible(field, packageName));
+            fields[i++] = fm;
+            if (!isLeaf(field.asType()))
+                isLeaf = false;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        if (!packageName.isEmpty())
+            sb.append("package ").append(packageName).append(";\n\n");
+        sb.append("import net.openhft.chronicle.wire.*;\n\n")
+                .append("import static net.openhft.chronicle.core.UnsafeMemory.UNSAFE;\n\n")
+                .append("/**\n")
+                .append(" * Generated by ").append(MarshallerProcessor.class.getName()).append(" for ").append(className).append("\n")
+                .append(" */\n")
+                .append("@SuppressWarnings(\"unchecked\")\n")
+                .append("public final class ").append(simpleName).append(" extends WireMarshaller<").append(className).append("> {\n");
+        for (FieldModel fm : fields) {
+            if (fm.kind == Kind.OTHER) {
+                sb.append("    private static final FieldAccess FIELD").append(fm.index).append(" = fieldAccess(")
+                        .append(className).append(".class, \"").append(fm.name).append("\");\n");
+                continue;
+            }
+            sb.append("    private static final WireKey KEY").append(fm.index).append(" = () -> \"").append(fm.name).append("\";\n");
+            if (!fm.direct)
+                sb.append("    private static final long OFFSET").append(fm.index).append(" = fieldOffset(")
+                        .append(className).append(".class, \"").append(fm.name).append("\");\n");
+        }
+        sb.append('\n')
+                .append("    public ").append(simpleName).append("() {\n")
+                .append("        super(").append(className).append(".class, ").append(isLeaf).append(");\n")
+                .append("    }\n\n");
+
+        sb.append("    @Override\n")
+                .append("    public void writeMarshallable(").append(className).append(" t, WireOut out) {\n");
+        for (FieldModel fm : fields)
+            appendWrite(sb, fm);
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n")
+                .append("    public void writeMarshallable(").append(className).append(" t, WireOut out, ")
+                .append(className).append(" previous, boolean copy) {\n");
+        for (FieldModel fm : fields)
+            appendWriteDelta(sb, fm);
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n")
+                .append("    public void readMarshallable(").append(className).append(" t, WireIn in, boolean overwrite) {\n")
+                .append("        ValueIn read;\n");
+        for (FieldModel fm : fields)
+            appendRead(sb, fm);
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n")
+                .append("    public boolean isEqual(Object o1, Object o2) {\n")
+                .append("        ").append(className).append(" t1 = (").append(className).append(") o1;\n")
+                .append("        ").append(className).append(" t2 = (").append(className).append(") o2;\n");
+        for (FieldModel fm : fields) {
+            sb.append("        if (!(").append(sameValue(fm, "t1", "t2")).append("))\n")
+                    .append("            return false;\n");
+        }
+        sb.append("        return true;\n")
+                .append("    }\n")
+                .append("}\n");
+
+        String generatedName = packageName.isEmpty() ? simpleName : packageName + '.' + simpleName;
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(generatedName, type);
+        try (Writer writer = file.openWriter()) {
+            writer.write(sb.toString());
+        }
+    }
+
+    // parent fields first, a field hiding a parent field keeps its position, as in WireMarshaller.getAllField
+    private void getAllField(TypeElement type, Map<String, VariableElement> map) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() == TypeKind.DECLARED)
+            getAllField((TypeElement) ((DeclaredType) superclass).asElement(), map);
+        for (Element element : type.getEnclosedElements()) {
+            if (element.getKind() != ElementKind.FIELD)
+                continue;
+            Set<Modifier> modifiers = element.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT))
+                continue;
+            map.put(element.getSimpleName().toString(), (VariableElement) element);
+        }
+    }
+
+    private boolean isAccessible(VariableElement field, String packageName) {
+        Set<Modifier> modifiers = field.getModifiers();
+        // a final field can't be assigned outside a constructor.
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL))
+            return false;
+        TypeElement declaring = (TypeElement) field.getEnclosingElement();
+        String declaringPackage = processingEnv.getElementUtils().getPackageOf(declaring).getQualifiedName().toString();
+        return declaringPackage.equals(packageName)
+                || (modifiers.contains(Modifier.PUBLIC) && declaring.getModifiers().contains(Modifier.PUBLIC));
+    }
+
+    // the same rule as WireMarshaller.of, so the generated and reflective marshallers write the same leaf()
+    private boolean isLeaf(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY)
+            return false;
+        if (type.getKind() != TypeKind.DECLARED)
+            return true;
+        return !isAssignable(type, "net.openhft.chronicle.wire.WireMarshaller")
+                && !isAssignable(type, "java.util.Collection")
+                && !isAssignable(type, "java.util.Map");
+    }
+
+    private boolean isAssignable(TypeMirror type, String className) {
+        TypeElement element = processingEnv.getElementUtils().getTypeElement(className);
+        if (element == null)
+            return false;
+        Types types = processingEnv.getTypeUtils();
+        return types.isAssignable(types.erasure(type), types.erasure(element.asType()));
+    }
+
+    private static Kind kindOf(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return Kind.BOOLEAN;
+            case BYTE:
+                return Kind.BYTE;
+            case SHORT:
+                return Kind.SHORT;
+            case CHAR:
+                return Kind.CHAR;
+            case INT:
+                return Kind.INT;
+            case FLOAT:
+                return Kind.FLOAT;
+            case LONG:
+                return Kind.LONG;
+            case DOUBLE:
+                return Kind.DOUBLE;
+            case DECLARED:
+                switch (type.toString()) {
+                    case "java.lang.String":
+                        return Kind.STRING;
+                    case "java.lang.StringBuilder":
+                        return Kind.STRING_BUILDER;
+                }
+                // fall through
+            default:
+                return Kind.OTHER;
+        }
+    }
+
+    private static String get(FieldModel fm, String obj) {
+        if (fm.direct)
+            return obj + "." + fm.name;
+        String cast = fm.kind.unsafeType.equals("Object") ? "(" + fm.kind.javaType + ") " : "";
+        return cast + "UNSAFE.get" + fm.kind.unsafeType + "(" + obj + ", OFFSET" + fm.index + ")";
+    }
+
+    private static String set(FieldModel fm, String obj, String value) {
+        if (fm.direct)
+            return obj + "." + fm.name + " = " + value;
+        return "UNSAFE.put" + fm.kind.unsafeType + "(" + obj + ", OFFSET" + fm.index + ", " + value + ")";
+    }
+
+    private static void appendWrite(StringBuilder sb, FieldModel fm) {
+        if (fm.kind == Kind.OTHER) {
+            sb.append("        writeField(FIELD").append(fm.index).append(", t, out);\n");
+            return;
+        }
+        sb.append("        ").append(writeValue(fm, "t", null)).append(";\n");
+    }
+
+    private static String writeValue(FieldModel fm, String obj, String previous) {
+        String write = "out.write(KEY" + fm.index + ")";
+        switch (fm.kind) {
+            case CHAR:
+                return write + ".text(Wires.acquireStringBuilder().append(" + get(fm, obj) + "))";
+            case INT:
+            case LONG:
+                return write + "." + fm.kind.writeMethod + "(" + get(fm, obj)
+                        + (previous == null ? "" : ", " + get(fm, previous)) + ")";
+            default:
+                return write + "." + fm.kind.writeMethod + "(" + get(fm, obj) + ")";
+        }
+    }
+
+    private static void appendWriteDelta(StringBuilder sb, FieldModel fm) {
+        if (fm.kind == Kind.OTHER) {
+            sb.append("        writeField(FIELD").append(fm.index).append(", t, out, previous, copy);\n");
+            return;
+        }
+        sb.append("        if (!(").append(sameValue(fm, "t", "previous")).append(")) {\n")
+                .append("            ").append(writeValue(fm, "t", "previous")).append(";\n")
+                .append("            if (copy)\n")
+                .append("                ").append(set(fm, "previous", get(fm, "t"))).append(";\n")
+                .append("        }\n");
+    }
+
+    private static void appendRead(StringBuilder sb, FieldModel fm) {
+        if (fm.kind == Kind.OTHER) {
+            sb.append("        readField(FIELD").append(fm.index).append(", t, in, overwrite);\n");
+            return;
+        }
+        sb.append("        read = in.read(KEY").append(fm.index).append(");\n")
+                .append("        if (overwrite || !(read instanceof DefaultValueIn))");
+        switch (fm.kind) {
+            case CHAR:
+                sb.append("\n            ").append(set(fm, "t", "read.text().charAt(0)")).append(";\n");
+                break;
+            case INT:
+            case LONG:
+                sb.append("\n            ").append(set(fm, "t", "overwrite ? read." + fm.kind.writeMethod + "() : read."
+                        + fm.kind.writeMethod + "(" + get(fm, "t") + ")")).append(";\n");
+                break;
+            case STRING_BUILDER:
+                sb.append(" {\n")
+                        .append("            StringBuilder sb = ").append(get(fm, "t")).append(";\n")
+                        .append("            if (sb == null)\n")
+                        .append("                ").append(set(fm, "t", "sb = new StringBuilder()")).append(";\n")
+                        .append("            if (read.textTo(sb) == null)\n")
+                        .append("                ").append(set(fm, "t", "null")).append(";\n")
+                        .append("        }\n");
+                break;
+            default:
+                sb.append("\n            ").append(set(fm, "t", "read." + fm.kind.readMethod + "()")).append(";\n");
+                break;
+        }
+    }
+
+    private static String sameValue(FieldModel fm, String a, String b) {
+        switch (fm.kind) {
+            case STRING:
+                return "java.util.Objects.equals(" + get(fm, a) + ", " + get(fm, b) + ")";
+            case STRING_BUILDER:
+                return "net.openhft.chronicle.core.util.StringUtils.isEqual(" + get(fm, a) + ", " + get(fm, b) + ")";
+            case OTHER:
+                return "isFieldEqual(FIELD" + fm.index + ", " + a + ", " + b + ")";
+            default:
+                return get(fm, a) + " == " + get(fm, b);
+        }
+    }
+
+    enum Kind {
+        BOOLEAN("boolean", "Boolean", "bool", "bool"),
+        BYTE("byte", "Byte", "int8", "int8"),
+        SHORT("short", "Short", "int16", "int16"),
+        CHAR("char", "Char", "text", "text"),
+        INT("int", "Int", "int32", "int32"),
+        FLOAT("float", "Float", "float32", "float32"),
+        LONG("long", "Long", "int64", "int64"),
+        DOUBLE("double", "Double", "float64", "float64"),
+        STRING("String", "Object", "text", "text"),
+        STRING_BUILDER("StringBuilder", "Object", "text", "textTo"),
+        OTHER("Object", "Object", null, null);
+
+        final String javaType;
+        final String unsafeType;
+        final String writeMethod;
+        final String readMethod;
+
+        Kind(String javaType, String unsafeType, String writeMethod, String readMethod) {
+            this.javaType = javaType;
+            this.unsafeType = unsafeType;
+            this.writeMethod = writeMethod;
+            this.readMethod = readMethod;
+        }
+    }
+
+    static class FieldModel {
+        final int index;
+        final String name;
+        final Kind kind;
+        final boolean direct;
+
+        FieldModel(int index, VariableElement field, Kind kind, boolean direct) {
+            this.index = index;
+            this.name = field.getSimpleName().toString();
+            this.kind = kind;
+            this.direct = direct;
+        }
+    }
+}
@@ -61,6 +61,8 @@ public abstract class AbstractWire implements Wire {
     private boolean notCompleteIsNotPresent;
     private ObjectOutput objectOutput;
     private ObjectInput objectInput;
+    @Nullable
+    private ObjectPool objectPool;
 
     public AbstractWire(@NotNull Bytes bytes, boolean use8bit) {
         this.bytes = bytes;
@@ -421,4 +423,15 @@ public abstract class AbstractWire implements Wire {
             objectInput = new WireObjectInput(this);
         return objectInput;
     }
+
+    @Override
+    public void objectPool(@Nullable ObjectPool objectPool) {
+        this.objectPool = objectPool;
+    }
+
+    @Nullable
+    @Override
+    public ObjectPool objectPool() {
+        return objectPool;
+    }
 }
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+import static net.openhft.chronicle.wire.BinaryWireCode.*;
+
+/**
+ * The base class of generated WireView implementations.
+ * <p>
+ * The first getter called after bind() finds the offset of every field in one pass over the field
+ * names, skipping the values. The next document bound is only indexed again if a field isn't at
+ * the same offset as before, or the field before it no longer ends there, or any field was
+ * missing, or the document length has changed. A document in which values before a field change
+ * length, but the field and the one before it still appear at the same offsets, is not detected,
+ * so bind a document of another layout to another view.
+ * <p>
+ * Fields are matched by name, and values read without a string dictionary, so a document written
+ * with field numbers or a string or field dictionary can't be read, and an IORuntimeException is
+ * thrown.
+ */
+public abstract class AbstractWireView implements WireView {
+    @NotNull
+    private final String[] names;
+    // the field code and name as a BinaryWire writes it, for each field of the view.
+    @NotNull
+    private final byte[][] headers;
+    // the offset of each field relative to the start of the document, or -1 if not found.
+    @NotNull
+    private final long[] offsets;
+    // the offset of the field before each field, or -1 if it is the first.
+    @NotNull
+    private final long[] previous;
+    @Nullable
+    private Bytes bytes;
+    @Nullable
+    private BinaryWire wire;
+    private long start, limit, length = -1;
+    private boolean checked, missing;
+    private long savedPosition, savedLimit;
+
+    protected AbstractWireView(@NotNull String... names) {
+        this.names = names;
+        headers = new byte[names.length][];
+        for (int i = 0; i < names.length; i++)
+            headers[i] = header(names[i]);
+        offsets = new long[names.length];
+        previous = new long[names.length];
+    }
+
+    @NotNull
+    static byte[] header(@NotNull String name) {
+        @NotNull Bytes bytes = Bytes.elasticByteBuffer();
+        try {
+            new BinaryWire(bytes).write(() -> name);
+            @NotNull byte[] header = new byte[(int) bytes.readRemaining()];
+            bytes.read(header);
+            return header;
+        } finally {
+            bytes.release();
+        }
+    }
+
+    @Override
+    public void bind(@NotNull Bytes bytes) {
+        if (this.bytes != bytes) {
+            this.bytes = bytes;
+            this.wire = new BinaryWire(bytes);
+            this.length = -1;
+        }
+        this.start = bytes.readPosition();
+        this.limit = bytes.readLimit();
+        this.checked = false;
+    }
+
+    /**
+     * Position the bytes at the value of a field, call {@link #restore()} after reading it.
+     *
+     * @return the ValueIn to read the field with, or null if the document doesn't have it.
+     */
+    @Nullable
+    protected ValueIn read(int field) {
+        if (bytes == null)
+            throw new IllegalStateException("Not bound to a document");
+        if (!checked) {
+            if (!isLayoutUnchanged())
+                index();
+            checked = true;
+        }
+        long offset = offsets[field];
+        if (offset < 0)
+            return null;
+        long valuePosition = start + offset + headers[field].length;
+        if (valuePosition < limit) {
+            int code = bytes.readUnsignedByte(valuePosition);
+            if (code == ANCHOR || code == UPDATED_ALIAS)
+                throw new IORuntimeException("The value of " + names[field] + " was written with a string dictionary, which a WireView can't read");
+        }
+        savedPosition = bytes.readPosition();
+        savedLimit = bytes.readLimit();
+        bytes.readLimit(limit);
+        bytes.readPosition(start + offset + headers[field].length);
+        return wire.getValueIn();
+    }
+
+    protected void restore() {
+        bytes.readLimit(savedLimit);
+        bytes.readPosition(savedPosition);
+    }
+
+    private boolean isLayoutUnchanged() {
+        if (missing || limit - start != length)
+            return false;
+        for (int i = 0; i < headers.length; i++)
+            if (!matches(start + offsets[i], headers[i]))
+                return false;
+        long position = bytes.readPosition();
+        long readLimit = bytes.readLimit();
+        try {
+            bytes.readLimit(limit);
+            for (int i = 0; i < headers.length; i++) {
+                if (previous[i] < 0)
+                    continue;
+                // the field before must still end where this one starts.
+                bytes.readPosition(start + previous[i]);
+                if (!skipField())
+                    return false;
+                ((BinaryWire.BinaryValueIn) wire.getValueIn()).consumeNext();
+                wire.consumePadding();
+                if (bytes.readPosition() != start + offsets[i])
+                    return false;
+            }
+            return true;
+        } finally {
+            bytes.readLimit(readLimit);
+            bytes.readPosition(position);
+        }
+    }
+
+    private boolean matches(long position, @NotNull byte[] header) {
+        if (position + header.length > limit)
+            return false;
+        for (int i = 0; i < header.length; i++)
+            if (bytes.readByte(position + i) != header[i])
+                return false;
+        return true;
+    }
+
+    private void index() {
+        Arrays.fill(offsets, -1);
+        Arrays.fill(previous, -1);
+        long position = bytes.readPosition();
+        long readLimit = bytes.readLimit();
+        try {
+            bytes.readLimit(limit);
+            bytes.readPosition(start);
+            int found = 0;
+            long previousPosition = -1;
+            wire.consumePadding();
+            while (found < headers.length && bytes.readRemaining() > 0) {
+                long fieldPosition = bytes.readPosition();
+                for (int i = 0; i < headers.length; i++) {
+                    if (offsets[i] < 0 && matches(fieldPosition, headers[i])) {
+                        offsets[i] = fieldPosition - start;
+                        previous[i] = previousPosition < 0 ? -1 : previousPosition - start;
+                        found++;
+                        break;
+                    }
+                }
+                if (!skipField())
+                    break;
+                previousPosition = fieldPosition;
+                ((BinaryWire.BinaryValueIn) wire.getValueIn()).consumeNext();
+                wire.consumePadding();
+            }
+            missing = found < headers.length;
+            length = limit - start;
+        } finally {
+            bytes.readLimit(readLimit);
+            bytes.readPosition(position);
+        }
+    }
+
+    private boolean skipField() {
+        int code = bytes.readUnsignedByte();
+        if (code >= FIELD_NAME0 && code <= FIELD_NAME31) {
+            bytes.readSkip(code & 0x1F);
+            return true;
+        }
+        switch (code) {
+            case FIELD_NAME_ANY:
+                bytes.readSkip(bytes.readStopBit());
+                return true;
+            case FIELD_NUMBER:
+            case FIELD_ANCHOR:
+                throw new IORuntimeException("Fields written as numbers can't be matched by name in a WireView");
+            default:
+                // not a field, so there is nothing more to index.
+                return false;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.util.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static net.openhft.chronicle.wire.BinaryWireCode.*;
+
+/**
+ * The order the fields of a class were last seen in a BinaryWire, so they can be read in turn
+ * rather than searched for by name with BinaryWire.read(WireKey).
+ * <p>
+ * The encoded name of each field is compared to the one learnt before its value is read. A field
+ * number is compared by the name the reading wire assigned it, as another wire may number the same
+ * names differently. If any differs, or a field thought missing could still follow, the layout has
+ * drifted and the position is reset so the fields can be read by name as before.
+ */
+final class BinaryReadPlan {
+    static final boolean ENABLED = !Boolean.getBoolean("WireMarshaller.disableReadPlan");
+    // how many reads in a row must miss before the order is learnt again.
+    static final int RELEARN_AFTER = 8;
+    // a layout which can't be read with a plan, e.g. numbered fields not assigned a name.
+    static final BinaryReadPlan NONE = new BinaryReadPlan(new byte[0][], new String[0], new int[0], new int[0]);
+
+    // the field code and name bytes of each field in wire order, or null for a field number.
+    @NotNull
+    private final byte[][] headers;
+    // the name each field number was assigned, or null for a field name.
+    @NotNull
+    private final String[] numberedNames;
+    // the index of the FieldAccess for each field, or -1 for a field the class doesn't have.
+    @NotNull
+    private final int[] order;
+    // the index of each FieldAccess which wasn't on the wire.
+    @NotNull
+    private final int[] missing;
+
+    private BinaryReadPlan(@NotNull byte[][] headers, @NotNull String[] numberedNames, @NotNull int[] order, @NotNull int[] missing) {
+        this.headers = headers;
+        this.numberedNames = numberedNames;
+        this.order = order;
+        this.missing = missing;
+    }
+
+    /**
+     * Scan the fields from the current position without reading their values. The position is
+     * unchanged.
+     */
+    @NotNull
+    static BinaryReadPlan learn(@NotNull BinaryWire wire, @NotNull WireMarshaller.FieldAccess[] fields) {
+        Bytes<?> bytes = wire.bytes();
+        long start = bytes.readPosition();
+        try {
+            @NotNull List<byte[]> headers = new ArrayList<>();
+            @NotNull List<String> numberedNames = new ArrayList<>();
+            @NotNull int[] order = new int[fields.length];
+            @NotNull boolean[] seen = new boolean[fields.length];
+            StringBuilder sb = new StringBuilder();
+            wire.consumePadding();
+            while (bytes.readRemaining() > 0) {
+                long position = bytes.readPosition();
+                int code = bytes.readUnsignedByte();
+                sb.setLength(0);
+                @Nullable String numberedName = null;
+                if (code >= FIELD_NAME0 && code <= FIELD_NAME31) {
+                    for (int i = code & 0x1F; i > 0; i--)
+                        sb.append((char) bytes.readUnsignedByte());
+                } else if (code == FIELD_NAME_ANY) {
+                    bytes.read8bit(sb);
+                } else if (code == FIELD_NUMBER) {
+                    // only a number assigned to a name by a FIELD_ANCHOR.
+                    numberedName = wire.fieldAnchored(bytes.readStopBit());
+                    if (numberedName == null)
+                        return NONE;
+                    sb.append(numberedName);
+                } else {
+                    return NONE;
+                }
+                @Nullable byte[] header = null;
+                if (numberedName == null) {
+                    header = new byte[(int) (bytes.readPosition() - position)];
+                    for (int i = 0; i < header.length; i++)
+                        header[i] = bytes.readByte(position + i);
+                }
+
+                int index = -1;
+                for (int i = 0; i < fields.length; i++) {
+                    if (StringUtils.isEqual(fields[i].key.name(), sb)) {
+                        // a repeated field is read by name.
+                        if (seen[i])
+                            return NONE;
+                        seen[i] = true;
+                        index = i;
+                        break;
+                    }
+                }
+                if (headers.size() == order.length)
+                    order = Arrays.copyOf(order, order.length * 2 + 1);
+                order[headers.size()] = index;
+                headers.add(header);
+                numberedNames.add(numberedName);
+
+                ((BinaryWire.BinaryValueIn) wire.getValueIn()).consumeNext();
+                wire.consumePadding();
+            }
+
+            @NotNull int[] missing = new int[fields.length];
+            int count = 0;
+            for (int i = 0; i < fields.length; i++)
+                if (!seen[i])
+                    missing[count++] = i;
+            // as with read(WireKey), fields after the last one needed are left unread unless one was missing.
+            int steps = headers.size();
+            if (count == 0)
+                while (steps > 0 && order[steps - 1] < 0)
+                    steps--;
+            return new BinaryReadPlan(headers.subList(0, steps).toArray(new byte[0][]),
+                    numberedNames.subList(0, steps).toArray(new String[0]),
+                    Arrays.copyOf(order, steps),
+                    Arrays.copyOf(missing, count));
+
+        } catch (RuntimeException e) {
+            // a value consumeNext() can't skip.
+            return NONE;
+
+        } finally {
+            bytes.readPosition(start);
+        }
+    }
+
+    /**
+     * @return true if the fields were read, or false if the layout has drifted and the position
+     * has been reset to where it was.
+     */
+    boolean read(Object o, @NotNull BinaryWire wire, @NotNull WireMarshaller.FieldAccess[] fields, boolean overwrite) throws IllegalAccessException {
+        if (this == NONE)
+            return false;
+        Bytes<?> bytes = wire.bytes();
+        long start = bytes.readPosition();
+        ValueIn in = wire.getValueIn();
+        for (int i = 0; i < headers.length; i++) {
+            wire.consumePadding();
+            if (!readHeader(wire, bytes, i)) {
+                bytes.readPosition(start);
+                return false;
+            }
+            int index = order[i];
+            if (index < 0)
+                ((BinaryWire.BinaryValueIn) in).consumeNext();
+            else
+                fields[index].readValue(o, in, overwrite);
+        }
+        if (missing.length > 0) {
+            // a field this plan thinks is missing might have been added.
+            wire.consumePadding();
+            if (bytes.readRemaining() > 0) {
+                bytes.readPosition(start);
+                return false;
+            }
+        }
+        // as BinaryWire.read(WireKey) would for a field not found.
+        for (int index : missing) {
+            WireMarshaller.FieldAccess field = fields[index];
+            field.readValue(o, wire.defaultValueIn(field.key), overwrite);
+        }
+        return true;
+    }
+
+    // reads the header of field i if it matches the one learnt.
+    private boolean readHeader(@NotNull BinaryWire wire, @NotNull Bytes<?> bytes, int i) {
+        byte[] header = headers[i];
+        if (header != null) {
+            if (!matches(bytes, header))
+                return false;
+            bytes.readSkip(header.length);
+            return true;
+        }
+        if (bytes.readRemaining() < 1 || bytes.readUnsignedByte(bytes.readPosition()) != FIELD_NUMBER)
+            return false;
+        bytes.readSkip(1);
+        return numberedNames[i].equals(wire.fieldAnchored(bytes.readStopBit()));
+    }
+
+    private static boolean matches(@NotNull Bytes<?> bytes, @NotNull byte[] header) {
+        if (bytes.readRemaining() < header.length)
+            return false;
+        long position = bytes.readPosition();
+        for (int i = 0; i < header.length; i++)
+            if (bytes.readByte(position + i) != header[i])
+                return false;
+        return true;
+    }
+}
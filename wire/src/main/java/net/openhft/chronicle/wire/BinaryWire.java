@@ -34,17 +34,17 @@ import org.jetbrains.annotations.Nullable;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.nio.BufferUnderflowException;
 import java.nio.charset.StandardCharsets;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.ZonedDateTime;
+import java.time.*;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.*;
 
+import static net.openhft.chronicle.core.UnsafeMemory.UNSAFE;
 import static net.openhft.chronicle.core.util.ReadResolvable.readResolve;
 import static net.openhft.chronicle.wire.BinaryWire.AnyCodeMatch.ANY_CODE_MATCH;
 import static net.openhft.chronicle.wire.BinaryWireCode.*;
@@ -56,6 +56,12 @@ public class BinaryWire extends AbstractWire implements Wire {
     private static final int END_OF_BYTES = -1;
     private static final UTF8StringInterner UTF8 = new UTF8StringInterner(4096);
     private static final Bit8StringInterner BIT8 = new Bit8StringInterner(1024);
+    // the same scales as the FIXED1 to FIXED6 codes are read with.
+    private static final double[] FIXED_SCALES = {1, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6};
+    private static final long SHORT_ARRAY_OFFSET = UNSAFE.arrayBaseOffset(short[].class);
+    private static final long INT_ARRAY_OFFSET = UNSAFE.arrayBaseOffset(int[].class);
+    private static final long FLOAT_ARRAY_OFFSET = UNSAFE.arrayBaseOffset(float[].class);
+    private static final long DOUBLE_ARRAY_OFFSET = UNSAFE.arrayBaseOffset(double[].class);
 
     private final FixedBinaryValueOut fixedValueOut = new FixedBinaryValueOut();
     @NotNull
@@ -68,6 +74,37 @@ public class BinaryWire extends AbstractWire implements Wire {
     private final ReadDocumentContext readContext = new ReadDocumentContext(this);
     DefaultValueIn defaultValueIn;
     private String compression;
+    @Nullable
+    private StringDictionary stringDictionary;
+    @Nullable
+    private StringDictionary fieldDictionary;
+    private int fixedPointDecimals;
+    private boolean epochTime;
+    private boolean stopBitIntegers;
+    private boolean compactBigNumbers;
+    @Nullable
+    private DocumentCompression documentCompression;
+    @Nullable
+    private TypeIds typeIds;
+    private final ClassNameCache classNameCache = new ClassNameCache();
+    // the last values decoded, so a repeated date, time or zone isn't created again.
+    private long lastEpochDay;
+    @Nullable
+    private LocalDate lastDate;
+    private long lastNanoOfDay;
+    @Nullable
+    private LocalTime lastTime;
+    @Nullable
+    private ZoneId lastZone;
+    private final StringBuilder zoneText = new StringBuilder();
+    // and the last big numbers which fitted in a long.
+    private long lastBigLong;
+    @Nullable
+    private BigInteger lastBigInteger;
+    private long lastUnscaled;
+    private int lastScale;
+    @Nullable
+    private BigDecimal lastBigDecimal;
 
     public BinaryWire(Bytes bytes) {
         this(bytes, false, false, false, Integer.MAX_VALUE, "binary");
@@ -96,12 +133,197 @@ public class BinaryWire extends AbstractWire implements Wire {
         bytes.clear();
         valueIn.resetState();
         valueOut.resetState();
+        // the numbers assigned so far refer to what was written before.
+        if (stringDictionary != null)
+            stringDictionary.clear();
+        if (fieldDictionary != null)
+            fieldDictionary.clear();
     }
 
     public boolean fieldLess() {
         return fieldLess;
     }
 
+    /**
+     * Write repeated text as a reference to the first time it was written on this wire. The first
+     * time a string is written it is assigned a number with an ANCHOR, and after that only the
+     * number is written with an UPDATED_ALIAS. Once <code>capacity</code> strings have been
+     * assigned numbers, the number of a string which hasn't been used recently is reused.
+     * <p>
+     * Both the writer and the reader must have the dictionary enabled, and the reader must read
+     * everything written in order. The capacity only needs to be set for the writer.
+     *
+     * @param capacity the most strings to hold, or 0 to stop using a dictionary.
+     * @return this
+     * @throws IllegalStateException if this wire compresses documents.
+     */
+    @NotNull
+    public BinaryWire stringDictionary(int capacity) {
+        if (capacity > 0)
+            checkNotCompressingDocuments("a string dictionary");
+        stringDictionary = capacity > 0 ? new StringDictionary(capacity) : null;
+        return this;
+    }
+
+    /**
+     * Write field names as numbers assigned the first time each name is written on this wire,
+     * giving the size of numeric fields without defining numeric WireKeys. The first time a name is
+     * written it is assigned a number with a FIELD_ANCHOR, and after that only the FIELD_NUMBER is
+     * written. Once <code>capacity</code> names have been assigned numbers, the number of a name
+     * which hasn't been used recently is reused.
+     * <p>
+     * Any BinaryWire can read these fields, provided it reads everything written in order, and
+     * copyTo() writes the names. This has no effect if the wire was created with numericFields.
+     *
+     * @param capacity the most field names to hold, or 0 to write names in full.
+     * @return this
+     * @throws IllegalStateException if this wire compresses documents.
+     */
+    @NotNull
+    public BinaryWire fieldDictionary(int capacity) {
+        if (capacity > 0)
+            checkNotCompressingDocuments("a field dictionary");
+        fieldDictionary = capacity > 0 ? new StringDictionary(capacity) : null;
+        return this;
+    }
+
+    /**
+     * Write a double which has no more than <code>maxDecimals</code> decimal places, as a stop bit
+     * encoded number with a FIXED1 to FIXED6 code, when this is shorter than a float. e.g. 1.2345
+     * is written in 3 bytes rather than 9. The value read is exactly the double written.
+     * <p>
+     * This only applies to float64 values which are not written as fixed width floats.
+     *
+     * @param maxDecimals up to 6 decimal places, or 0 to always write a float.
+     * @return this
+     */
+    @NotNull
+    public BinaryWire fixedPoint(int maxDecimals) {
+        if (maxDecimals < 0 || maxDecimals >= FIXED_SCALES.length)
+            throw new IllegalArgumentException("maxDecimals must be between 0 and " + (FIXED_SCALES.length - 1));
+        fixedPointDecimals = maxDecimals;
+        return this;
+    }
+
+    /**
+     * Write java.time values as numbers rather than text. A LocalDate is written as its epoch day,
+     * a LocalTime as its nano of day, and a ZonedDateTime as both, its offset in seconds and its
+     * zone id. The zone id is written as text, so it is written as a number if the string
+     * dictionary is enabled.
+     * <p>
+     * Any BinaryWire can read both these and values written as text. A date, time or zone which is
+     * the same as the last one read is not created again.
+     *
+     * @param epochTime true to write the numeric form.
+     * @return this
+     */
+    @NotNull
+    public BinaryWire epochTime(boolean epochTime) {
+        this.epochTime = epochTime;
+        return this;
+    }
+
+    /**
+     * Write an integer as a stop bit encoded number with a STOP_BIT code, when this is shorter than
+     * the INT8 to INT64 codes. e.g. 1,000,000 is written in 4 bytes rather than 5. Any BinaryWire
+     * can read these.
+     * <p>
+     * This only applies to integers which are not written as fixed width.
+     *
+     * @param stopBitIntegers true to write the shorter of the two forms.
+     * @return this
+     */
+    @NotNull
+    public BinaryWire stopBitIntegers(boolean stopBitIntegers) {
+        this.stopBitIntegers = stopBitIntegers;
+        return this;
+    }
+
+    public boolean stopBitIntegers() {
+        return stopBitIntegers;
+    }
+
+    /**
+     * Write a BigInteger as a stop bit encoded number, and a BigDecimal as its scale and unscaled
+     * value, rather than as text with the class name as a type prefix. e.g. 1234.56 is written in 5
+     * bytes. A value which doesn't fit in a long is written as its bytes in two's complement.
+     * <p>
+     * Any BinaryWire can read these. A value which fits in a long and is the same as the last one
+     * read is not created again.
+     *
+     * @param compactBigNumbers true to write the binary form.
+     * @return this
+     */
+    @NotNull
+    public BinaryWire compactBigNumbers(boolean compactBigNumbers) {
+        this.compactBigNumbers = compactBigNumbers;
+        return this;
+    }
+
+    /**
+     * Compress the whole of each document written with writingDocument(), and uncompress each
+     * document read with readingDocument() or readDocument(), which read it from
+     * another wire over a direct buffer, which is reused. Documents are deflated, and a document
+     * which wouldn't be smaller is left as it is.
+     * <p>
+     * A dictionary of byte sequences which are likely to be in documents, such as a typical
+     * document, makes small documents much smaller. The reader must use the same dictionary as the
+     * writer. The string and field dictionaries can't be used as well, as each document is read
+     * with another wire.
+     *
+     * @param dictionary to preset the deflater with, or null for none.
+     * @return this
+     * @throws IllegalStateException if this wire has a string or field dictionary.
+     */
+    @NotNull
+    public BinaryWire compressDocuments(@Nullable byte[] dictionary) {
+        if (stringDictionary != null || fieldDictionary != null)
+            throw new IllegalStateException("Documents can't be compressed with a string or field dictionary");
+        documentCompression = new DocumentCompression(dictionary,
+                b -> new BinaryWire(b, false, numericFields, fieldLess, Integer.MAX_VALUE, "binary"));
+        writeContext.compression(documentCompression);
+        readContext.compression(documentCompression);
+        return this;
+    }
+
+    public boolean compressesDocuments() {
+        return documentCompression != null;
+    }
+
+    private void checkNotCompressingDocuments(String dictionary) {
+        if (documentCompression != null)
+            throw new IllegalStateException("Documents are compressed, so " + dictionary + " can't be used");
+    }
+
+    /**
+     * @return the wire to read the document at the read position with, which is another wire if
+     * the document is compressed.
+     */
+    @NotNull
+    WireIn documentWire() {
+        return documentCompression != null && documentCompression.isCompressed(bytes)
+                ? documentCompression.uncompress(this)
+                : this;
+    }
+
+    /**
+     * Write the type of a class registered with these TypeIds as a TYPE_ID code and its id,
+     * rather than its name. The reader must use TypeIds with the same classes registered.
+     *
+     * @param typeIds to write and read types with, or null to always write the name.
+     * @return this
+     */
+    @NotNull
+    public BinaryWire typeIds(@Nullable TypeIds typeIds) {
+        this.typeIds = typeIds;
+        return this;
+    }
+
+    @Nullable
+    public TypeIds typeIds() {
+        return typeIds;
+    }
+
     @NotNull
     @Override
     public DocumentContext writingDocument(boolean metaData) {
@@ -188,6 +410,10 @@ public class BinaryWire extends AbstractWire implements Wire {
                         bytes.readPosition(bytes.readLimit());
                         break outerSwitch;
 
+                    case TYPE_ID:
+                        wire.getValueOut().typePrefix(valueIn.typePrefix());
+                        break outerSwitch;
+
                     case I64_ARRAY:
                         bytes.readSkip(1);
                         long len2 = bytes.readLong();
@@ -211,6 +437,18 @@ public class BinaryWire extends AbstractWire implements Wire {
                         wire.write(sb);
                         break outerSwitch;
                     }
+                    case I16_ARRAY:
+                        wire.getValueOut().int16array(valueIn.int16array(null));
+                        break outerSwitch;
+                    case I32_ARRAY:
+                        wire.getValueOut().int32array(valueIn.int32array(null));
+                        break outerSwitch;
+                    case F32_ARRAY:
+                        wire.getValueOut().float32array(valueIn.float32array(null));
+                        break outerSwitch;
+                    case F64_ARRAY:
+                        wire.getValueOut().float64array(valueIn.float64array(null));
+                        break outerSwitch;
                     case ANCHOR:
                     case UPDATED_ALIAS: {
                         @Nullable final Object o = valueIn.object();
@@ -224,7 +462,7 @@ public class BinaryWire extends AbstractWire implements Wire {
             case BinaryWireHighCode.FLOAT:
                 bytes.readSkip(1);
                 try {
-                    Number d = readFloat0(peekCode);
+                    Number d = isBigNumber(peekCode) ? readBigNumber(peekCode) : readFloat0(peekCode);
                     wire.getValueOut().object(d);
                 } catch (Exception e) {
                     unknownCode(wire);
@@ -236,6 +474,8 @@ public class BinaryWire extends AbstractWire implements Wire {
                 try {
                     if (peekCode == INT64_0x) {
                         wire.getValueOut().int64_0x(bytes.readLong());
+                    } else if (isEpochTime(peekCode)) {
+                        copyEpochTime(wire.getValueOut(), readEpochTime(peekCode));
                     } else {
                         Number l = readInt0object(peekCode);
                         wire.getValueOut().object(l);
@@ -264,6 +504,17 @@ public class BinaryWire extends AbstractWire implements Wire {
         }
     }
 
+    private static void copyEpochTime(@NotNull ValueOut out, @NotNull Object value) {
+        if (value instanceof LocalTime)
+            out.time((LocalTime) value);
+        else if (value instanceof LocalDate)
+            out.date((LocalDate) value);
+        else if (value instanceof LocalDateTime)
+            out.dateTime((LocalDateTime) value);
+        else
+            out.zonedDateTime((ZonedDateTime) value);
+    }
+
     public void readWithLength(@NotNull WireOut wire, int len) {
         long lim = bytes.readLimit();
         try {
@@ -305,6 +556,10 @@ public class BinaryWire extends AbstractWire implements Wire {
                 return BracketType.MAP;
             case U8_ARRAY:
             case I64_ARRAY:
+            case I16_ARRAY:
+            case I32_ARRAY:
+            case F32_ARRAY:
+            case F64_ARRAY:
                 return BracketType.NONE;
             default:
                 return BracketType.SEQ;
@@ -364,6 +619,11 @@ public class BinaryWire extends AbstractWire implements Wire {
         }
         bytes.readPosition(position2);
 
+        return defaultValueIn(key);
+    }
+
+    @NotNull
+    DefaultValueIn defaultValueIn(@NotNull WireKey key) {
         if (defaultValueIn == null)
             defaultValueIn = new DefaultValueIn(this);
         defaultValueIn.wireKey = key;
@@ -442,10 +702,12 @@ public class BinaryWire extends AbstractWire implements Wire {
     @Nullable
     private <K> K readSpecialField(int peekCode, @NotNull Class<K> expectedClass) {
         switch (peekCode) {
-            case FIELD_NUMBER:
+            case FIELD_NUMBER: {
                 bytes.readSkip(1);
                 long fieldId = bytes.readStopBit();
-                return ObjectUtils.convertTo(expectedClass, fieldId);
+                @Nullable String name = fieldAnchored(fieldId);
+                return ObjectUtils.convertTo(expectedClass, name == null ? fieldId : name);
+            }
 
             case FIELD_NAME_ANY:
             case EVENT_NAME:
@@ -454,9 +716,11 @@ public class BinaryWire extends AbstractWire implements Wire {
                 bytes.read8bit(sb);
                 return ObjectUtils.convertTo(expectedClass, WireInternal.INTERNER.intern(sb));
 
-            case FIELD_ANCHOR:
+            case FIELD_ANCHOR: {
                 bytes.readSkip(1);
-                throw new UnsupportedOperationException();
+                StringBuilder anchored = readFieldAnchor(Wires.acquireStringBuilder());
+                return ObjectUtils.convertTo(expectedClass, WireInternal.INTERNER.intern(anchored));
+            }
 
             case EVENT_OBJECT:
                 bytes.readSkip(1);
@@ -483,6 +747,13 @@ public class BinaryWire extends AbstractWire implements Wire {
                     bytes.readSkip(bytes.readUnsignedInt());
                     break;
 
+                case TYPE_ID:
+                    if (!consumeType)
+                        return;
+                    bytes.readSkip(1);
+                    bytes.readStopBit();
+                    break;
+
                 case TYPE_PREFIX:
                     if (!consumeType)
                         return;
@@ -577,25 +848,35 @@ public class BinaryWire extends AbstractWire implements Wire {
 
             int ref = Maths.toUInt31(bytes.readStopBit());
             if (ref >= in.inField.length)
-                in.inField = Arrays.copyOf(in.inField, in.inField.length * 2);
+                in.inField = Arrays.copyOf(in.inField, Math.max(ref + 1, in.inField.length * 2));
             bytes.readUtf8(sb);
-            in.inField[ref] = sb.toString();
+            @Nullable String previous = in.inField[ref];
+            if (previous == null || !StringUtils.isEqual(previous, sb))
+                in.inField[ref] = sb.toString();
             return sb;
         } else {
             throw new UnsupportedOperationException();
         }
     }
 
-    @NotNull
-    protected StringBuilder readFieldNumber(@NotNull WireKey key, @NotNull StringBuilder sb, long fieldId) {
+    /**
+     * @return the name assigned to a field number by a FIELD_ANCHOR, or null if none has been read.
+     */
+    @Nullable
+    String fieldAnchored(long fieldId) {
         if (valueIn instanceof DeltaValueIn) {
             @NotNull DeltaValueIn in = (DeltaValueIn) valueIn;
-            if (fieldId >= 0 && fieldId < in.inField.length) {
-                String s = in.inField[(int) fieldId];
-                if (s != null)
-                    return sb.append(s);
-            }
+            if (fieldId >= 0 && fieldId < in.inField.length)
+                return in.inField[(int) fieldId];
         }
+        return null;
+    }
+
+    @NotNull
+    protected StringBuilder readFieldNumber(@NotNull WireKey key, @NotNull StringBuilder sb, long fieldId) {
+        @Nullable String s = fieldAnchored(fieldId);
+        if (s != null)
+            return sb.append(s);
 
         if (key == ANY_CODE_MATCH) {
             sb.append(fieldId);
@@ -626,10 +907,17 @@ public class BinaryWire extends AbstractWire implements Wire {
             }
 
             case TIME:
+                wire.getValueOut().time(valueIn.time());
+                break;
             case DATE:
+                wire.getValueOut().date(valueIn.date());
+                break;
             case DATE_TIME:
+                wire.getValueOut().dateTime(valueIn.dateTime());
+                break;
             case ZONED_DATE_TIME:
-                throw new UnsupportedOperationException();
+                wire.getValueOut().zonedDateTime(valueIn.zonedDateTime());
+                break;
 
             case TYPE_PREFIX: {
                 long readPosition = bytes.readPosition();
@@ -681,6 +969,12 @@ public class BinaryWire extends AbstractWire implements Wire {
             case FIELD_NUMBER: {
                 bytes.readSkip(1);
                 long code2 = bytes.readStopBit();
+                // a number assigned to a name is written as the name.
+                @Nullable String name = fieldAnchored(code2);
+                if (name != null) {
+                    wire.write(name);
+                    break;
+                }
                 wire.write(new WireKey() {
                     @NotNull
                     @Override
@@ -751,7 +1045,7 @@ public class BinaryWire extends AbstractWire implements Wire {
                 return bytes.readFloat();
             case FLOAT64:
                 return bytes.readDouble();
-/*            case FIXED1:
+            case FIXED1:
                 return bytes.readStopBit() / 1e1;
             case FIXED2:
                 return bytes.readStopBit() / 1e2;
@@ -762,7 +1056,7 @@ public class BinaryWire extends AbstractWire implements Wire {
             case FIXED5:
                 return bytes.readStopBit() / 1e5;
             case FIXED6:
-                return bytes.readStopBit() / 1e6;*/
+                return bytes.readStopBit() / 1e6;
         }
         throw new UnsupportedOperationException(stringForCode(code));
     }
@@ -779,7 +1073,7 @@ public class BinaryWire extends AbstractWire implements Wire {
                 return bytes.readFloat();
             case FLOAT64:
                 return bytes.readDouble();
-/*            case FIXED1:
+            case FIXED1:
                 return bytes.readStopBit() / 1e1;
             case FIXED2:
                 return bytes.readStopBit() / 1e2;
@@ -790,11 +1084,44 @@ public class BinaryWire extends AbstractWire implements Wire {
             case FIXED5:
                 return bytes.readStopBit() / 1e5;
             case FIXED6:
-                return bytes.readStopBit() / 1e6;*/
+                return bytes.readStopBit() / 1e6;
         }
         throw new UnsupportedOperationException(stringForCode(code));
     }
 
+    // negative numbers are written as their complement with an extra byte.
+    static int stopBitLength(long n) {
+        int extra = 0;
+        if (n < 0) {
+            n = ~n;
+            extra = 1;
+        }
+        int bits = 64 - Long.numberOfLeadingZeros(n);
+        return extra + Math.max(1, (bits + 6) / 7);
+    }
+
+    // the length writeNumber(long) uses without a STOP_BIT code.
+    static int intCodeLength(long l) {
+        if (l >= 0) {
+            if (l <= 127)
+                return 1;
+            if (l <= (1 << 8) - 1)
+                return 1 + 1;
+            if (l <= (1 << 16) - 1)
+                return 1 + 2;
+            if (l <= (1L << 32L) - 1L)
+                return 1 + 4;
+        } else {
+            if (l >= Byte.MIN_VALUE)
+                return 1 + 1;
+            if (l >= Short.MIN_VALUE)
+                return 1 + 2;
+            if (l >= Integer.MIN_VALUE)
+                return 1 + 4;
+        }
+        return (long) (float) l == l ? 1 + 4 : 1 + 8;
+    }
+
     long readInt0(int code) {
         if (isSmallInt(code))
             return code;
@@ -817,6 +1144,8 @@ public class BinaryWire extends AbstractWire implements Wire {
             case INT64:
             case INT64_0x:
                 return bytes.readLong();
+            case STOP_BIT:
+                return bytes.readStopBit();
         }
         throw new UnsupportedOperationException(stringForCode(code));
     }
@@ -843,6 +1172,8 @@ public class BinaryWire extends AbstractWire implements Wire {
             case INT64:
             case INT64_0x:
                 return bytes.readLong();
+            case STOP_BIT:
+                return bytes.readStopBit();
         }
         throw new UnsupportedOperationException(stringForCode(code));
     }
@@ -953,7 +1284,10 @@ public class BinaryWire extends AbstractWire implements Wire {
 
     private void writeField(@NotNull CharSequence name) {
         int len = name.length();
-        if (len < 0x20) {
+        if (fieldDictionary != null && len > 0) {
+            writeFieldAnchored(fieldDictionary, name);
+
+        } else if (len < 0x20) {
             writeField0(name, len);
 
         } else {
@@ -973,6 +1307,16 @@ public class BinaryWire extends AbstractWire implements Wire {
         bytes.append8bit(name);
     }
 
+    private void writeFieldAnchored(@NotNull StringDictionary dictionary, @NotNull CharSequence name) {
+        int id = dictionary.find(name);
+        if (id >= 0) {
+            writeField(id);
+        } else {
+            writeCode(FIELD_ANCHOR).writeStopBit(dictionary.add(name));
+            bytes.writeUtf8(name);
+        }
+    }
+
     private void writeField(int code) {
         writeCode(FIELD_NUMBER);
         bytes.writeStopBit(code);
@@ -982,6 +1326,227 @@ public class BinaryWire extends AbstractWire implements Wire {
         return bytes.writeByte((byte) code);
     }
 
+    // returns the position of the values, after the code and length.
+    private long writeArrayHeader(int code, int length, int valueSize, int arrayLength) {
+        if (length < 0 || length > arrayLength)
+            throw new IllegalArgumentException("length " + length + " is not between 0 and " + arrayLength);
+        writeCode(code).writeStopBit(length);
+        long position = bytes.writePosition();
+        bytes.writeSkip((long) length * valueSize);
+        return position;
+    }
+
+    // a mapped file is only contiguous within a chunk, so is copied a value at a time.
+    private boolean isContiguous() {
+        return bytes.bytesStore() instanceof NativeBytesStore && !(bytes instanceof MappedBytes);
+    }
+
+    // copy the memory of an array if the bytes are contiguous, otherwise the caller copies each value.
+    private boolean copyToBytes(@NotNull Object array, long arrayOffset, long position, long length) {
+        if (!isContiguous())
+            return false;
+        UNSAFE.copyMemory(array, arrayOffset, null, bytes.address(position), length);
+        return true;
+    }
+
+    private boolean copyFromBytes(long position, @NotNull Object array, long arrayOffset, long length) {
+        if (!isContiguous())
+            return false;
+        UNSAFE.copyMemory(null, bytes.address(position), array, arrayOffset, length);
+        return true;
+    }
+
+    // returns the number of values, or -1 if the value isn't a typed array of this code.
+    private int readArrayHeader(int code) {
+        consumePadding();
+        if (peekCode() != code)
+            return -1;
+        bytes.readSkip(1);
+        return Maths.toUInt31(bytes.readStopBit());
+    }
+
+    // returns the position of the values, having checked they can all be read.
+    private long readArrayValues(long length) {
+        long position = bytes.readPosition();
+        bytes.readSkip(length);
+        return position;
+    }
+
+    private boolean writeAliased(@NotNull CharSequence s) {
+        @Nullable StringDictionary dictionary = stringDictionary;
+        if (dictionary == null || !StringDictionary.isCandidate(s))
+            return false;
+        int id = dictionary.find(s);
+        if (id >= 0) {
+            writeCode(UPDATED_ALIAS).writeStopBit(id);
+        } else {
+            writeCode(ANCHOR).writeStopBit(dictionary.add(s));
+            bytes.writeUtf8(s);
+        }
+        return true;
+    }
+
+    @NotNull
+    private LocalDate readEpochDay() {
+        long epochDay = bytes.readStopBit();
+        @Nullable LocalDate date = lastDate;
+        if (date == null || lastEpochDay != epochDay) {
+            lastDate = date = LocalDate.ofEpochDay(epochDay);
+            lastEpochDay = epochDay;
+        }
+        return date;
+    }
+
+    @NotNull
+    private LocalTime readNanoOfDay() {
+        long nanoOfDay = bytes.readStopBit();
+        @Nullable LocalTime time = lastTime;
+        if (time == null || lastNanoOfDay != nanoOfDay) {
+            lastTime = time = LocalTime.ofNanoOfDay(nanoOfDay);
+            lastNanoOfDay = nanoOfDay;
+        }
+        return time;
+    }
+
+    @NotNull
+    private ZonedDateTime readEpochZonedDateTime() {
+        @NotNull LocalDateTime dateTime = LocalDateTime.of(readEpochDay(), readNanoOfDay());
+        @NotNull ZoneOffset offset = ZoneOffset.ofTotalSeconds((int) bytes.readStopBit());
+        if (readText(readCode(), zoneText) == null)
+            throw new IORuntimeException("Expected a zone id");
+        @Nullable ZoneId zone = lastZone;
+        if (zone == null || !StringUtils.isEqual(zone.getId(), zoneText))
+            lastZone = zone = ZoneId.of(zoneText.toString());
+        // the offset is only a preference, in case the rules for the zone have changed.
+        return ZonedDateTime.ofLocal(dateTime, zone, offset);
+    }
+
+    // the code has been read.
+    @NotNull
+    private Object readEpochTime(int code) {
+        switch (code) {
+            case NANO_OF_DAY:
+                return readNanoOfDay();
+            case EPOCH_DAY:
+                return readEpochDay();
+            case EPOCH_DATE_TIME:
+                return LocalDateTime.of(readEpochDay(), readNanoOfDay());
+            case EPOCH_ZONED_DATE_TIME:
+                return readEpochZonedDateTime();
+            default:
+                throw new IllegalArgumentException(stringForCode(code));
+        }
+    }
+
+    private static boolean isEpochTime(int code) {
+        return code >= NANO_OF_DAY && code <= EPOCH_ZONED_DATE_TIME;
+    }
+
+    // the code has been read.
+    @NotNull
+    private Number readBigNumber(int code) {
+        switch (code) {
+            case BIG_INTEGER:
+                return readBigInteger(bytes.readStopBit());
+            case BIG_INTEGER_BYTES:
+                return new BigInteger(readBigBytes());
+            case BIG_DECIMAL: {
+                int scale = (int) bytes.readStopBit();
+                return readBigDecimal(bytes.readStopBit(), scale);
+            }
+            case BIG_DECIMAL_BYTES: {
+                int scale = (int) bytes.readStopBit();
+                return new BigDecimal(new BigInteger(readBigBytes()), scale);
+            }
+            default:
+                throw new IllegalArgumentException(stringForCode(code));
+        }
+    }
+
+    @NotNull
+    private BigInteger readBigInteger(long value) {
+        @Nullable BigInteger bigInteger = lastBigInteger;
+        if (bigInteger == null || lastBigLong != value) {
+            lastBigInteger = bigInteger = BigInteger.valueOf(value);
+            lastBigLong = value;
+        }
+        return bigInteger;
+    }
+
+    @NotNull
+    private BigDecimal readBigDecimal(long unscaled, int scale) {
+        @Nullable BigDecimal bigDecimal = lastBigDecimal;
+        if (bigDecimal == null || lastUnscaled != unscaled || lastScale != scale) {
+            lastBigDecimal = bigDecimal = BigDecimal.valueOf(unscaled, scale);
+            lastUnscaled = unscaled;
+            lastScale = scale;
+        }
+        return bigDecimal;
+    }
+
+    @NotNull
+    private byte[] readBigBytes() {
+        int length = Maths.toUInt31(bytes.readStopBit());
+        if (length > bytes.readRemaining())
+            throw new IORuntimeException("Expected " + length + " bytes of a big number, only " + bytes.readRemaining() + " remaining");
+        @NotNull byte[] value = new byte[length];
+        bytes.read(value);
+        return value;
+    }
+
+    private void writeBigBytes(@NotNull byte[] value) {
+        bytes.writeStopBit(value.length).write(value);
+    }
+
+    private static boolean isBigNumber(int code) {
+        return code >= BIG_INTEGER && code <= BIG_DECIMAL_BYTES;
+    }
+
+    // the class named after a TYPE_PREFIX or TYPE_LITERAL code.
+    @NotNull
+    private Class readClassName() throws ClassNotFoundException {
+        return classNameCache.read(bytes, classLookup());
+    }
+
+    // the class with the id after a TYPE_ID code.
+    @NotNull
+    private Class readTypeId() {
+        long id = bytes.readStopBit();
+        @Nullable TypeIds ids = typeIds;
+        @Nullable Class clazz = ids == null ? null : ids.classFor(id);
+        if (clazz == null)
+            throw new IORuntimeException("No class registered for type id " + id);
+        return clazz;
+    }
+
+    // the compressions which can be written and read from one Bytes to another, without a byte[].
+    static boolean isDirectCompression(@NotNull CharSequence compression) {
+        return StringUtils.isEqual("lzw", compression)
+                || StringUtils.isEqual("gzip", compression)
+                || StringUtils.isEqual("binary", compression);
+    }
+
+    @NotNull
+    private <ACS extends Appendable & CharSequence> ACS readAliased(int code, @NotNull ACS sb) {
+        @Nullable StringDictionary dictionary = stringDictionary;
+        if (dictionary == null)
+            throw new IORuntimeException("Read an alias, but this wire has no string dictionary");
+        int id = Maths.toUInt31(bytes.readStopBit());
+        @NotNull StringBuilder text;
+        if (code == ANCHOR) {
+            text = dictionary.acquire(id);
+            bytes.readUtf8(text);
+        } else {
+            text = dictionary.get(id);
+        }
+        AppendableUtil.setLength(sb, 0);
+        if (sb instanceof StringBuilder)
+            ((StringBuilder) sb).append(text);
+        else
+            ((Bytes) sb).appendUtf8(text);
+        return sb;
+    }
+
     @Nullable
     <ACS extends Appendable & CharSequence> ACS readText(int code, @NotNull ACS sb) {
         if (code <= 127) {
@@ -1001,6 +1566,9 @@ public class BinaryWire extends AbstractWire implements Wire {
                             throw new IllegalArgumentException("Expected a StringBuilder");
                         }
                         return sb;
+                    case ANCHOR:
+                    case UPDATED_ALIAS:
+                        return readAliased(code, sb);
                 }
             case BinaryWireHighCode.SPECIAL:
                 switch (code) {
@@ -1025,14 +1593,26 @@ public class BinaryWire extends AbstractWire implements Wire {
                     case EVENT_OBJECT:
                         valueIn.text((StringBuilder) sb);
                         return sb;
+                    case TYPE_PREFIX:
+                        return valueIn.readCompressedText(sb);
                     default:
                         return null;
                 }
 
             case BinaryWireHighCode.FLOAT:
+                if (isBigNumber(code)) {
+                    AppendableUtil.setLength(sb, 0);
+                    AppendableUtil.append(sb, readBigNumber(code).toString());
+                    return sb;
+                }
                 AppendableUtil.append(sb, readFloat(code));
                 return sb;
             case BinaryWireHighCode.INT:
+                if (isEpochTime(code)) {
+                    AppendableUtil.setLength(sb, 0);
+                    AppendableUtil.append(sb, readEpochTime(code).toString());
+                    return sb;
+                }
                 AppendableUtil.append(sb, readInt(code));
                 return sb;
             case BinaryWireHighCode.STR0:
@@ -1109,6 +1689,21 @@ public class BinaryWire extends AbstractWire implements Wire {
             if (s == null) {
                 nu11();
 
+            } else if (writeAliased(s)) {
+                return BinaryWire.this;
+
+            } else if (s instanceof TextView && ((TextView) s).bytesStore() != null) {
+                // already UTF-8 so the bytes are copied as they are.
+                @NotNull TextView view = (TextView) s;
+                int len = view.byteLength();
+                if (len < 0x20) {
+                    bytes.writeUnsignedByte(STRING_0 + len);
+                } else {
+                    writeCode(STRING_ANY);
+                    bytes.writeStopBit(len);
+                }
+                bytes.write(view.bytesStore(), view.offset(), len);
+
             } else {
                 int len = s.length();
                 if (len < 0x20) {
@@ -1128,6 +1723,9 @@ public class BinaryWire extends AbstractWire implements Wire {
             if (s == null) {
                 writeCode(NULL);
 
+            } else if (writeAliased(s)) {
+                return BinaryWire.this;
+
             } else {
                 int len = s.length();
                 if (len < 0x20)
@@ -1247,6 +1845,23 @@ public class BinaryWire extends AbstractWire implements Wire {
             return BinaryWire.this;
         }
 
+        @Override
+        public WireOut compress(String compression, @Nullable Bytes uncompressedBytes) {
+            if (uncompressedBytes == null || uncompressedBytes.readRemaining() < SMALL_MESSAGE
+                    || !isDirectCompression(compression))
+                return ValueOut.super.compress(compression, uncompressedBytes);
+
+            // compress straight into this wire, and set the length after.
+            typePrefix(compression);
+            writeCode(BYTES_LENGTH32);
+            long position = bytes.writePosition();
+            bytes.writeInt(0);
+            writeCode(U8_ARRAY);
+            Compression.compress(compression, uncompressedBytes, bytes);
+            bytes.writeOrderedInt(position, Maths.toInt32(bytes.writePosition() - position - 4, "Compressed length %,d out of 32-bit int range."));
+            return BinaryWire.this;
+        }
+
         @NotNull
         @Override
         public WireOut bytes(String type, @NotNull byte[] fromBytes) {
@@ -1371,6 +1986,46 @@ public class BinaryWire extends AbstractWire implements Wire {
             return BinaryWire.this;
         }
 
+        @NotNull
+        @Override
+        public WireOut int16array(@NotNull short[] values, int length) {
+            long position = writeArrayHeader(I16_ARRAY, length, 2, values.length);
+            if (!copyToBytes(values, SHORT_ARRAY_OFFSET, position, length * 2L))
+                for (int i = 0; i < length; i++)
+                    bytes.writeShort(position + i * 2L, values[i]);
+            return BinaryWire.this;
+        }
+
+        @NotNull
+        @Override
+        public WireOut int32array(@NotNull int[] values, int length) {
+            long position = writeArrayHeader(I32_ARRAY, length, 4, values.length);
+            if (!copyToBytes(values, INT_ARRAY_OFFSET, position, length * 4L))
+                for (int i = 0; i < length; i++)
+                    bytes.writeInt(position + i * 4L, values[i]);
+            return BinaryWire.this;
+        }
+
+        @NotNull
+        @Override
+        public WireOut float32array(@NotNull float[] values, int length) {
+            long position = writeArrayHeader(F32_ARRAY, length, 4, values.length);
+            if (!copyToBytes(values, FLOAT_ARRAY_OFFSET, position, length * 4L))
+                for (int i = 0; i < length; i++)
+                    bytes.writeFloat(position + i * 4L, values[i]);
+            return BinaryWire.this;
+        }
+
+        @NotNull
+        @Override
+        public WireOut float64array(@NotNull double[] values, int length) {
+            long position = writeArrayHeader(F64_ARRAY, length, 8, values.length);
+            if (!copyToBytes(values, DOUBLE_ARRAY_OFFSET, position, length * 8L))
+                for (int i = 0; i < length; i++)
+                    bytes.writeDouble(position + i * 8L, values[i]);
+            return BinaryWire.this;
+        }
+
         @NotNull
         @Override
         public WireOut float32(float f) {
@@ -1398,13 +2053,23 @@ public class BinaryWire extends AbstractWire implements Wire {
         @NotNull
         @Override
         public WireOut time(@NotNull LocalTime localTime) {
-            writeCode(TIME).writeUtf8(localTime.toString());
+            if (epochTime)
+                writeCode(NANO_OF_DAY).writeStopBit(localTime.toNanoOfDay());
+            else
+                writeCode(TIME).writeUtf8(localTime.toString());
             return BinaryWire.this;
         }
 
         @NotNull
         @Override
         public WireOut zonedDateTime(@NotNull ZonedDateTime zonedDateTime) {
+            if (epochTime) {
+                writeCode(EPOCH_ZONED_DATE_TIME)
+                        .writeStopBit(zonedDateTime.toLocalDate().toEpochDay())
+                        .writeStopBit(zonedDateTime.toLocalTime().toNanoOfDay())
+                        .writeStopBit(zonedDateTime.getOffset().getTotalSeconds());
+                return text(zonedDateTime.getZone().getId());
+            }
             writeCode(ZONED_DATE_TIME).writeUtf8(zonedDateTime.toString());
             return BinaryWire.this;
         }
@@ -1412,14 +2077,23 @@ public class BinaryWire extends AbstractWire implements Wire {
         @NotNull
         @Override
         public WireOut date(@NotNull LocalDate localDate) {
-            writeCode(DATE).writeUtf8(localDate.toString());
+            if (epochTime)
+                writeCode(EPOCH_DAY).writeStopBit(localDate.toEpochDay());
+            else
+                writeCode(DATE).writeUtf8(localDate.toString());
             return BinaryWire.this;
         }
 
         @NotNull
         @Override
         public WireOut dateTime(@NotNull LocalDateTime localDateTime) {
-            writeCode(DATE_TIME).writeUtf8(localDateTime.toString());
+            if (epochTime) {
+                writeCode(EPOCH_DATE_TIME)
+                        .writeStopBit(localDateTime.toLocalDate().toEpochDay())
+                        .writeStopBit(localDateTime.toLocalTime().toNanoOfDay());
+            } else {
+                writeCode(DATE_TIME).writeUtf8(localDateTime.toString());
+            }
             return BinaryWire.this;
         }
 
@@ -1430,6 +2104,17 @@ public class BinaryWire extends AbstractWire implements Wire {
             return this;
         }
 
+        @NotNull
+        @Override
+        public ValueOut typePrefix(Class type) {
+            @Nullable TypeIds ids = typeIds;
+            int id = ids == null || type == null ? -1 : ids.idFor(type);
+            if (id < 0)
+                return ValueOut.super.typePrefix(type);
+            writeCode(TYPE_ID).writeStopBit(id);
+            return this;
+        }
+
         @NotNull
         @Override
         public WireOut typeLiteral(@NotNull CharSequence type) {
@@ -1462,6 +2147,35 @@ public class BinaryWire extends AbstractWire implements Wire {
             return BinaryWire.this;
         }
 
+        @NotNull
+        @Override
+        public WireOut bigInteger(@Nullable BigInteger value) {
+            if (value == null || !compactBigNumbers)
+                return ValueOut.super.bigInteger(value);
+            if (value.bitLength() < Long.SIZE) {
+                writeCode(BIG_INTEGER).writeStopBit(value.longValue());
+            } else {
+                writeCode(BIG_INTEGER_BYTES);
+                writeBigBytes(value.toByteArray());
+            }
+            return BinaryWire.this;
+        }
+
+        @NotNull
+        @Override
+        public WireOut bigDecimal(@Nullable BigDecimal value) {
+            if (value == null || !compactBigNumbers)
+                return ValueOut.super.bigDecimal(value);
+            @NotNull BigInteger unscaled = value.unscaledValue();
+            if (unscaled.bitLength() < Long.SIZE) {
+                writeCode(BIG_DECIMAL).writeStopBit(value.scale()).writeStopBit(unscaled.longValue());
+            } else {
+                writeCode(BIG_DECIMAL_BYTES).writeStopBit(value.scale());
+                writeBigBytes(unscaled.toByteArray());
+            }
+            return BinaryWire.this;
+        }
+
         @NotNull
         @Override
         public WireOut int32forBinding(int value) {
@@ -1584,6 +2298,11 @@ public class BinaryWire extends AbstractWire implements Wire {
                 return;
             }
 
+            if (stopBitIntegers && 1 + stopBitLength(l) < intCodeLength(l)) {
+                writeCode(STOP_BIT).writeStopBit(l);
+                return;
+            }
+
             if (l >= 0) {
 
                 if (l <= (1 << 8) - 1) {
@@ -1638,6 +2357,9 @@ public class BinaryWire extends AbstractWire implements Wire {
 
             boolean canOnlyBeRepresentedAsFloatingPoint = ((long) l) != l;
 
+            if (canOnlyBeRepresentedAsFloatingPoint && fixedPointDecimals > 0 && writeFixedPoint(l))
+                return;
+
             if (l >= 0 && l <= 127 && !canOnlyBeRepresentedAsFloatingPoint) {
                 // used when the value is written directly into the code byte
                 bytes.writeUnsignedByte((int) l);
@@ -1736,6 +2458,22 @@ public class BinaryWire extends AbstractWire implements Wire {
             return BinaryWire.this;
         }
 
+        private boolean writeFixedPoint(double d) {
+            int floatLength = (double) (float) d == d ? 1 + 4 : 1 + 8;
+            for (int decimals = 1; decimals <= fixedPointDecimals; decimals++) {
+                double scale = FIXED_SCALES[decimals];
+                long scaled = Math.round(d * scale);
+                // read back the same way to be sure the value is exact.
+                if (scaled / scale == d) {
+                    if (1 + stopBitLength(scaled) >= floatLength)
+                        return false;
+                    writeCode(FIXED1 - 1 + decimals).writeStopBit(scaled);
+                    return true;
+                }
+            }
+            return false;
+        }
+
         @NotNull
         @Override
         public WireOut float32(float f) {
@@ -1753,6 +2491,7 @@ public class BinaryWire extends AbstractWire implements Wire {
 
     protected class BinaryValueIn implements ValueIn {
         final ValueInStack stack = new ValueInStack();
+        private final StringBuilder compressionType = new StringBuilder();
 
         @Override
         public void resetState() {
@@ -1796,6 +2535,12 @@ public class BinaryWire extends AbstractWire implements Wire {
                 case STRING_ANY:
                     s.accept(bytes.readUtf8());
                     break;
+
+                case ANCHOR:
+                case UPDATED_ALIAS: {
+                    s.accept(WireInternal.INTERNER.intern(readAliased(code, WireInternal.acquireStringBuilder())));
+                    break;
+                }
                 default:
                     if (code >= STRING_0 && code <= STRING_31) {
                         StringBuilder sb = WireInternal.acquireStringBuilder();
@@ -1809,6 +2554,62 @@ public class BinaryWire extends AbstractWire implements Wire {
             return BinaryWire.this;
         }
 
+        @Nullable
+        @Override
+        public short[] int16array(@Nullable short[] using) {
+            int length = readArrayHeader(I16_ARRAY);
+            if (length < 0)
+                return ValueIn.super.int16array(using);
+            @NotNull short[] array = using != null && using.length == length ? using : new short[length];
+            long position = readArrayValues(length * 2L);
+            if (!copyFromBytes(position, array, SHORT_ARRAY_OFFSET, length * 2L))
+                for (int i = 0; i < length; i++)
+                    array[i] = bytes.readShort(position + i * 2L);
+            return array;
+        }
+
+        @Nullable
+        @Override
+        public int[] int32array(@Nullable int[] using) {
+            int length = readArrayHeader(I32_ARRAY);
+            if (length < 0)
+                return ValueIn.super.int32array(using);
+            @NotNull int[] array = using != null && using.length == length ? using : new int[length];
+            long position = readArrayValues(length * 4L);
+            if (!copyFromBytes(position, array, INT_ARRAY_OFFSET, length * 4L))
+                for (int i = 0; i < length; i++)
+                    array[i] = bytes.readInt(position + i * 4L);
+            return array;
+        }
+
+        @Nullable
+        @Override
+        public float[] float32array(@Nullable float[] using) {
+            int length = readArrayHeader(F32_ARRAY);
+            if (length < 0)
+                return ValueIn.super.float32array(using);
+            @NotNull float[] array = using != null && using.length == length ? using : new float[length];
+            long position = readArrayValues(length * 4L);
+            if (!copyFromBytes(position, array, FLOAT_ARRAY_OFFSET, length * 4L))
+                for (int i = 0; i < length; i++)
+                    array[i] = bytes.readFloat(position + i * 4L);
+            return array;
+        }
+
+        @Nullable
+        @Override
+        public double[] float64array(@Nullable double[] using) {
+            int length = readArrayHeader(F64_ARRAY);
+            if (length < 0)
+                return ValueIn.super.float64array(using);
+            @NotNull double[] array = using != null && using.length == length ? using : new double[length];
+            long position = readArrayValues(length * 8L);
+            if (!copyFromBytes(position, array, DOUBLE_ARRAY_OFFSET, length * 8L))
+                for (int i = 0; i < length; i++)
+                    array[i] = bytes.readDouble(position + i * 8L);
+            return array;
+        }
+
         private boolean isText(int code) {
             return code == STRING_ANY ||
                     (code >= STRING_0 && code <= STRING_31);
@@ -1831,6 +2632,33 @@ public class BinaryWire extends AbstractWire implements Wire {
             }
         }
 
+        // plain UTF-8 text is viewed in place, anything else is copied.
+        @Nullable
+        @Override
+        public TextView textView(@NotNull TextView using) {
+            if (bytes.readRemaining() < 1)
+                return ValueIn.super.textView(using);
+            long position = bytes.readPosition();
+            int code = bytes.readUnsignedByte();
+            if (code == NULL)
+                return null;
+            long length;
+            if (code >= STRING_0 && code <= STRING_31) {
+                length = code & 0b11111;
+            } else if (code == STRING_ANY) {
+                length = bytes.readStopBit();
+                if (length == -1L)
+                    return null;
+            } else {
+                bytes.readPosition(position);
+                return ValueIn.super.textView(using);
+            }
+            int len = Maths.toUInt31(length);
+            long start = bytes.readPosition();
+            bytes.readSkip(len);
+            return using.view(bytes.bytesStore(), start, len);
+        }
+
         @Nullable
         @Override
         public Bytes textTo(@NotNull Bytes bytes) {
@@ -1876,6 +2704,8 @@ public class BinaryWire extends AbstractWire implements Wire {
 
                 case TYPE_PREFIX: {
                     StringBuilder sb = WireInternal.acquireStringBuilder();
+                    if (readCompressedText(sb) != null)
+                        return sb.toString();
                     if (bytes.readUtf8(sb)) {
                         @Nullable byte[] bytes = Compression.uncompress(sb, this, ValueIn::bytes);
                         if (bytes != null)
@@ -1903,12 +2733,8 @@ public class BinaryWire extends AbstractWire implements Wire {
             if (code == TYPE_PREFIX) {
                 StringBuilder sb = WireInternal.acquireStringBuilder();
                 if (bytes.readUtf8(sb)) {
-                    long length2 = readLength();
-                    int code2 = readCode();
-                    if (code2 != U8_ARRAY)
-                        cantRead(code);
                     toBytes.clear();
-                    bytes.readWithLength(length2 - 1, b -> Compression.uncompress(sb, b, toBytes));
+                    uncompress(sb, toBytes);
                     return wireIn();
                 } else {
                     throw new AssertionError();
@@ -1921,6 +2747,39 @@ public class BinaryWire extends AbstractWire implements Wire {
             return wireIn();
         }
 
+        // uncompress the bytes after a compression type prefix, appending them to toBytes.
+        void uncompress(@NotNull CharSequence compression, @NotNull BytesOut toBytes) {
+            long length = readLength();
+            int code = readCode();
+            if (code != U8_ARRAY)
+                cantRead(code);
+            bytes.readWithLength(length - 1, b -> Compression.uncompress(compression, b, toBytes));
+        }
+
+        /**
+         * Read text written compressed after the TYPE_PREFIX code. Bytes are uncompressed into
+         * directly, and a StringBuilder is decoded from a thread local direct Bytes.
+         *
+         * @return sb, or null if the type prefix isn't a compression, leaving it to be read.
+         */
+        @Nullable
+        <ACS extends Appendable & CharSequence> ACS readCompressedText(@NotNull ACS sb) {
+            long position = bytes.readPosition();
+            if (!bytes.readUtf8(compressionType) || !isDirectCompression(compressionType)) {
+                bytes.readPosition(position);
+                return null;
+            }
+            AppendableUtil.setLength(sb, 0);
+            if (sb instanceof Bytes) {
+                uncompress(compressionType, (Bytes) sb);
+            } else {
+                @NotNull Bytes uncompressed = Wires.acquireAnotherBytes();
+                uncompress(compressionType, uncompressed);
+                uncompressed.parseUtf8(sb, StopCharTesters.ALL);
+            }
+            return sb;
+        }
+
         @NotNull
         @Override
         public WireIn bytesLiteral(@NotNull BytesOut toBytes) {
@@ -1989,6 +2848,14 @@ public class BinaryWire extends AbstractWire implements Wire {
                 case TYPE_PREFIX: {
                     StringBuilder sb = WireInternal.acquireStringBuilder();
                     bytes.readUtf8(sb);
+                    // uncompressed into a buffer of this thread's, so only valid until the next
+                    // compressed value is read with bytesStore(). bytes(BytesOut) copies it to the caller's own.
+                    if (isDirectCompression(sb)) {
+                        @NotNull Bytes<?> toBytes = WireInternal.UNCOMPRESSED_TL.get();
+                        toBytes.clear();
+                        uncompress(sb, toBytes);
+                        return toBytes;
+                    }
                     @Nullable byte[] bytes = Compression.uncompress(sb, this, ValueIn::bytes);
                     if (bytes != null)
                         return BytesStore.wrap(bytes);
@@ -2118,6 +2985,11 @@ public class BinaryWire extends AbstractWire implements Wire {
                     bytes.readSkip(len);
                     return readLength();
 
+                case TYPE_ID:
+                    bytes.readSkip(1);
+                    bytes.readStopBit();
+                    return readLength();
+
                 default:
                     return ANY_CODE_MATCH.code();
             }
@@ -2126,12 +2998,8 @@ public class BinaryWire extends AbstractWire implements Wire {
         @NotNull
         @Override
         public WireIn skipValue() {
-            final long length = readLength();
-            if (length < 0)
-                object();
-            else
-                bytes.readSkip(length);
-
+            consumePadding();
+            consumeNext();
             return BinaryWire.this;
         }
 
@@ -2273,6 +3141,9 @@ public class BinaryWire extends AbstractWire implements Wire {
             if (code == TIME) {
                 setLocalTime.accept(t, readLocalTime());
 
+            } else if (code == NANO_OF_DAY) {
+                setLocalTime.accept(t, readNanoOfDay());
+
             } else {
                 cantRead(code);
             }
@@ -2295,6 +3166,9 @@ public class BinaryWire extends AbstractWire implements Wire {
                 bytes.readUtf8(sb);
                 tZonedDateTime.accept(t, ZonedDateTime.parse(sb));
 
+            } else if (code == EPOCH_ZONED_DATE_TIME) {
+                tZonedDateTime.accept(t, readEpochZonedDateTime());
+
             } else {
                 cantRead(code);
             }
@@ -2311,12 +3185,75 @@ public class BinaryWire extends AbstractWire implements Wire {
                 bytes.readUtf8(sb);
                 tLocalDate.accept(t, LocalDate.parse(sb));
 
+            } else if (code == EPOCH_DAY) {
+                tLocalDate.accept(t, readEpochDay());
+
             } else {
                 cantRead(code);
             }
             return BinaryWire.this;
         }
 
+        @Nullable
+        @Override
+        public BigInteger bigInteger() {
+            consumePadding();
+            int code = peekCode();
+            if (!isBigNumber(code))
+                return ValueIn.super.bigInteger();
+            bytes.readSkip(1);
+            @NotNull Number number = readBigNumber(code);
+            return number instanceof BigInteger ? (BigInteger) number : ((BigDecimal) number).toBigInteger();
+        }
+
+        @Nullable
+        @Override
+        public BigDecimal bigDecimal() {
+            consumePadding();
+            int code = peekCode();
+            if (!isBigNumber(code))
+                return ValueIn.super.bigDecimal();
+            bytes.readSkip(1);
+            @NotNull Number number = readBigNumber(code);
+            return number instanceof BigDecimal ? (BigDecimal) number : new BigDecimal((BigInteger) number);
+        }
+
+        @Override
+        public LocalDate date() {
+            consumePadding();
+            if (peekCode() != EPOCH_DAY)
+                return ValueIn.super.date();
+            bytes.readSkip(1);
+            return readEpochDay();
+        }
+
+        @Override
+        public LocalTime time() {
+            consumePadding();
+            if (peekCode() != NANO_OF_DAY)
+                return ValueIn.super.time();
+            bytes.readSkip(1);
+            return readNanoOfDay();
+        }
+
+        @Override
+        public LocalDateTime dateTime() {
+            consumePadding();
+            if (peekCode() != EPOCH_DATE_TIME)
+                return ValueIn.super.dateTime();
+            bytes.readSkip(1);
+            return LocalDateTime.of(readEpochDay(), readNanoOfDay());
+        }
+
+        @Override
+        public ZonedDateTime zonedDateTime() {
+            consumePadding();
+            if (peekCode() != EPOCH_ZONED_DATE_TIME)
+                return ValueIn.super.zonedDateTime();
+            bytes.readSkip(1);
+            return readEpochZonedDateTime();
+        }
+
         @Override
         public boolean hasNext() {
             return bytes.readRemaining() > 0;
@@ -2464,7 +3401,7 @@ public class BinaryWire extends AbstractWire implements Wire {
         @Override
         public boolean isTyped() {
             int code = peekCode();
-            return code == TYPE_PREFIX;
+            return code == TYPE_PREFIX || code == TYPE_ID;
         }
 
         @Nullable
@@ -2476,6 +3413,9 @@ public class BinaryWire extends AbstractWire implements Wire {
                     case TYPE_PREFIX:
                         return typedMarshallable0();
 
+                    case TYPE_ID:
+                        return readTypedMarshallable(readTypeId());
+
                     case NULL:
                         return null;
 
@@ -2496,25 +3436,30 @@ public class BinaryWire extends AbstractWire implements Wire {
 
         @Nullable
         protected <T> T typedMarshallable0() {
-            StringBuilder sb = WireInternal.acquireStringBuilder();
-            bytes.readUtf8(sb);
             // its possible that the object that you are allocating may not have a
             // default constructor
             final Class clazz;
             try {
-                clazz = classLookup().forName(sb);
+                clazz = readClassName();
             } catch (ClassNotFoundException e) {
                 throw new IORuntimeException(e);
             }
+            return readTypedMarshallable(clazz);
+        }
 
+        @Nullable
+        private <T> T readTypedMarshallable(@NotNull Class clazz) {
             if (Demarshallable.class.isAssignableFrom(clazz)) {
                 return (T) demarshallable(clazz);
             }
             if (!Marshallable.class.isAssignableFrom(clazz) && !Demarshallable.class.isAssignableFrom(clazz))
                 throw new IllegalStateException("its not possible to Marshallable and object that" +
-                        " is not of type Marshallable, type=" + sb);
+                        " is not of type Marshallable, type=" + clazz.getName());
 
-            ReadMarshallable m = ObjectUtils.newInstance((Class<ReadMarshallable>) clazz);
+            @Nullable ObjectPool pool = objectPool();
+            @Nullable ReadMarshallable m = pool == null ? null : (ReadMarshallable) pool.poll(clazz);
+            if (m == null)
+                m = ObjectUtils.newInstance((Class<ReadMarshallable>) clazz);
 
             marshallable(m, true);
             return readResolve(m);
@@ -2530,16 +3475,16 @@ public class BinaryWire extends AbstractWire implements Wire {
 
         @Override
         public Class typePrefix() {
-            StringBuilder sb = WireInternal.acquireStringBuilder();
             int code = peekCode();
-            if (code == TYPE_PREFIX) {
+            if (code == TYPE_ID) {
                 bytes.readSkip(1);
-                bytes.readUtf8(sb);
-            } else {
-                return null;
+                return readTypeId();
             }
+            if (code != TYPE_PREFIX)
+                return null;
+            bytes.readSkip(1);
             try {
-                return classLookup().forName(sb);
+                return readClassName();
             } catch (ClassNotFoundException e) {
                 return null;
             }
@@ -2553,6 +3498,10 @@ public class BinaryWire extends AbstractWire implements Wire {
             if (code == TYPE_PREFIX) {
                 bytes.readUtf8(sb);
 
+            } else if (code == TYPE_ID) {
+                sb.setLength(0);
+                sb.append(classLookup().nameFor(readTypeId()));
+
             } else if (code == NULL) {
                 sb.setLength(0);
                 sb.append("!null");
@@ -2582,12 +3531,10 @@ public class BinaryWire extends AbstractWire implements Wire {
         @Nullable
         @Override
         public <T> Class<T> typeLiteral() {
-            StringBuilder sb = WireInternal.acquireStringBuilder();
             int code = readCode();
             if (code == TYPE_LITERAL) {
-                bytes.readUtf8(sb);
                 try {
-                    return classLookup().forName(sb);
+                    return readClassName();
                 } catch (ClassNotFoundException e) {
                     throw new IORuntimeException(e);
                 }
@@ -2875,8 +3822,22 @@ public class BinaryWire extends AbstractWire implements Wire {
 
                         case ANCHOR:
                         case UPDATED_ALIAS:
+                            if (stringDictionary != null)
+                                return text();
                             return typedMarshallable();
 
+                        case TYPE_ID:
+                            return object(null, typePrefix());
+
+                        case I16_ARRAY:
+                            return int16array(using instanceof short[] ? (short[]) using : null);
+                        case I32_ARRAY:
+                            return int32array(using instanceof int[] ? (int[]) using : null);
+                        case F32_ARRAY:
+                            return float32array(using instanceof float[] ? (float[]) using : null);
+                        case F64_ARRAY:
+                            return float64array(using instanceof double[] ? (double[]) using : null);
+
                     }
                     break;
                 case BinaryWireHighCode.SPECIAL:
@@ -2894,11 +3855,9 @@ public class BinaryWire extends AbstractWire implements Wire {
                             return text();
                         case TYPE_PREFIX: {
                             readCode();
-                            StringBuilder sb = WireInternal.acquireStringBuilder();
-                            bytes.readUtf8(sb);
                             final Class clazz2;
                             try {
-                                clazz2 = classLookup().forName(sb);
+                                clazz2 = readClassName();
                             } catch (ClassNotFoundException e) {
                                 throw new IORuntimeException(e);
                             }
@@ -2933,18 +3892,27 @@ public class BinaryWire extends AbstractWire implements Wire {
 
                 case BinaryWireHighCode.FLOAT:
                     bytes.readSkip(1);
+                    if (isBigNumber(code))
+                        return readBigNumber(code);
                     return readFloat0bject(code);
 
                 case BinaryWireHighCode.INT:
                     bytes.readSkip(1);
                     if (code == UUID)
                         return new java.util.UUID(bytes.readLong(), bytes.readLong());
+                    if (isEpochTime(code))
+                        return readEpochTime(code);
                     return readInt0object(code);
             }
             // assume it a String
             return text();
         }
 
+        /**
+         * Skip the next value. Nested marshallables, sequences and maps are always written with a
+         * length, and every other value has a fixed size or a length, so this is a jump of the
+         * position without decoding or allocating, except for codes it doesn't know.
+         */
         void consumeNext() {
             int code = peekCode();
             if ((code & 0x80) == 0) {
@@ -2960,6 +3928,37 @@ public class BinaryWire extends AbstractWire implements Wire {
                             long length = readLength();
                             bytes.readSkip(length);
                             return;
+                        case I64_ARRAY:
+                            bytes.readSkip(1);
+                            long capacity = bytes.readLong();
+                            // the used count and the values.
+                            bytes.readSkip(8 + capacity * 8);
+                            return;
+                        case I16_ARRAY:
+                        case I32_ARRAY:
+                        case F32_ARRAY:
+                        case F64_ARRAY: {
+                            bytes.readSkip(1);
+                            long values = bytes.readStopBit();
+                            bytes.readSkip(values * (code == I16_ARRAY ? 2 : code == F64_ARRAY ? 8 : 4));
+                            return;
+                        }
+                        case TYPE_ID:
+                            // skip the type and then the value.
+                            bytes.readSkip(1);
+                            bytes.readStopBit();
+                            consumePadding();
+                            consumeNext();
+                            return;
+                        case ANCHOR:
+                        case UPDATED_ALIAS:
+                            // an anchor still has to be added to the dictionary.
+                            if (stringDictionary != null) {
+                                bytes.readSkip(1);
+                                readAliased(code, WireInternal.acquireStringBuilder());
+                                return;
+                            }
+                            break;
                     }
                     break;
                 case BinaryWireHighCode.SPECIAL:
@@ -2970,33 +3969,109 @@ public class BinaryWire extends AbstractWire implements Wire {
                             bytes.readSkip(1);
                             return;
                         case STRING_ANY:
-                            text();
+                        case TIME:
+                        case DATE:
+                        case DATE_TIME:
+                        case ZONED_DATE_TIME:
+                        case TYPE_LITERAL: {
+                            bytes.readSkip(1);
+                            long len = bytes.readStopBit();
+                            if (len > 0)
+                                bytes.readSkip(len);
                             return;
+                        }
                         case TYPE_PREFIX: {
-                            readCode();
-                            StringBuilder sb = WireInternal.acquireStringBuilder();
-                            bytes.readUtf8(sb);
-                            final Class clazz2;
-                            try {
-                                clazz2 = classLookup().forName(sb);
-                            } catch (ClassNotFoundException e) {
-                                throw new IORuntimeException(e);
-                            }
-                            object(null, clazz2);
+                            // skip the type and then the value, rather than deserialize it.
+                            bytes.readSkip(1);
+                            bytes.readSkip(bytes.readStopBit());
+                            consumePadding();
+                            consumeNext();
                             return;
                         }
                     }
                     break;
 
                 case BinaryWireHighCode.FLOAT:
+                    switch (code) {
+                        case FLOAT32:
+                            bytes.readSkip(1 + 4);
+                            return;
+                        case FLOAT64:
+                            bytes.readSkip(1 + 8);
+                            return;
+                        case BIG_DECIMAL:
+                            bytes.readSkip(1);
+                            bytes.readStopBit();
+                            bytes.readStopBit();
+                            return;
+                        case BIG_DECIMAL_BYTES:
+                            bytes.readSkip(1);
+                            bytes.readStopBit();
+                            bytes.readSkip(bytes.readStopBit());
+                            return;
+                        case BIG_INTEGER:
+                            bytes.readSkip(1);
+                            bytes.readStopBit();
+                            return;
+                        case BIG_INTEGER_BYTES:
+                            bytes.readSkip(1);
+                            bytes.readSkip(bytes.readStopBit());
+                            return;
+                    }
                     bytes.readSkip(1);
                     readFloat0bject(code);
                     return;
 
                 case BinaryWireHighCode.INT:
+                    switch (code) {
+                        case UINT8:
+                        case INT8:
+                        case PLUS_INT8:
+                            bytes.readSkip(1 + 1);
+                            return;
+                        case UINT16:
+                        case INT16:
+                        case PLUS_INT16:
+                            bytes.readSkip(1 + 2);
+                            return;
+                        case UINT32:
+                        case INT32:
+                            bytes.readSkip(1 + 4);
+                            return;
+                        case INT64:
+                        case INT64_0x:
+                            bytes.readSkip(1 + 8);
+                            return;
+                        case UUID:
+                            bytes.readSkip(1 + 16);
+                            return;
+                        case STOP_BIT:
+                        case NANO_OF_DAY:
+                        case EPOCH_DAY:
+                            bytes.readSkip(1);
+                            bytes.readStopBit();
+                            return;
+                        case EPOCH_DATE_TIME:
+                            bytes.readSkip(1);
+                            bytes.readStopBit();
+                            bytes.readStopBit();
+                            return;
+                        case EPOCH_ZONED_DATE_TIME:
+                            bytes.readSkip(1);
+                            bytes.readStopBit();
+                            bytes.readStopBit();
+                            bytes.readStopBit();
+                            consumeNext();
+                            return;
+                    }
                     bytes.readSkip(1);
                     readInt0object(code);
                     return;
+
+                case BinaryWireHighCode.STR0:
+                case BinaryWireHighCode.STR1:
+                    bytes.readSkip(1 + (code & 0x1f));
+                    return;
             }
             // assume it a String
             text();
@@ -31,8 +31,13 @@ public enum BinaryWireCode {
     public static final int BYTES_LENGTH16 = 0x81;
     // sequence of length 0 - 2^32-1
     public static final int BYTES_LENGTH32 = 0x82;
-    // sequence of length 0 - 255
-//        public static final int BYTES_LENGTH64 = 0x83;
+    // a stop bit encoded id registered with TypeIds, in place of a TYPE_PREFIX and class name
+    public static final int TYPE_ID = 0x83;
+    // a stop bit encoded length, and that many float or double values
+    public static final int F32_ARRAY = 0x84;
+    public static final int F64_ARRAY = 0x85;
+    // the stop bit encoded length of the rest of the document, then the rest of the document deflated
+    public static final int DEFLATED = 0x86;
 
     public static final int FIELD_ANCHOR = 0x87;
     public static final int ANCHOR = 0x88;
@@ -40,21 +45,29 @@ public enum BinaryWireCode {
 
     // an array of unsigned bytes
     public static final int U8_ARRAY = 0x8A;
-    //        public static final int U16_ARRAY = 0x8B;
-//        public static final int I32_ARRAY = 0x8C;
+    // a stop bit encoded length, and that many short or int values
+    public static final int I16_ARRAY = 0x8B;
+    public static final int I32_ARRAY = 0x8C;
     public static final int I64_ARRAY = 0x8D;
     public static final int PADDING32 = 0x8E;
     public static final int PADDING = 0x8F;
 
     public static final int FLOAT32 = 0x90;
     public static final int FLOAT64 = 0x91;
-//        public static final int FIXED1 = 0x92;
-//        public static final int FIXED2 = 0x93;
-//        public static final int FIXED3 = 0x94;
-//        public static final int FIXED4 = 0x95;
-//        public static final int FIXED5 = 0x96;
-//        public static final int FIXED6 = 0x97;
-    // 0x9A - 0x9F
+    // a stop bit encoded value with 1 to 6 decimal places
+    public static final int FIXED1 = 0x92;
+    public static final int FIXED2 = 0x93;
+    public static final int FIXED3 = 0x94;
+    public static final int FIXED4 = 0x95;
+    public static final int FIXED5 = 0x96;
+    public static final int FIXED6 = 0x97;
+    // a stop bit encoded value, or a stop bit encoded length and that many bytes in two's complement
+    public static final int BIG_INTEGER = 0x98;
+    public static final int BIG_INTEGER_BYTES = 0x99;
+    // as BIG_INTEGER and BIG_INTEGER_BYTES for the unscaled value, after the stop bit encoded scale
+    public static final int BIG_DECIMAL = 0x9A;
+    public static final int BIG_DECIMAL_BYTES = 0x9B;
+    // 0x9C - 0x9F
 
     public static final int UUID = 0xA0;
     public static final int UINT8 = 0xA1;
@@ -66,12 +79,14 @@ public enum BinaryWireCode {
     public static final int INT64 = 0xA7;
     public static final int PLUS_INT8 = 0xA8;
     public static final int PLUS_INT16 = 0xA9;
-    //    public static final int FIXED_6 = 0xA9;
-//    public static final int FIXED_5 = 0xAA;
-//    public static final int FIXED_4 = 0xAB;
-//    public static final int FIXED_3 = 0xAC;
-//    public static final int FIXED_2 = 0xAD;
-//    public static final int FIXED_1 = 0xAE;
+    // java.time values as a stop bit encoded nano of day, epoch day, or both
+    public static final int NANO_OF_DAY = 0xAA;
+    public static final int EPOCH_DAY = 0xAB;
+    public static final int EPOCH_DATE_TIME = 0xAC;
+    // as EPOCH_DATE_TIME, then the offset seconds and the zone id as text
+    public static final int EPOCH_ZONED_DATE_TIME = 0xAD;
+    // a stop bit encoded signed integer
+    public static final int STOP_BIT = 0xAE;
     public static final int INT64_0x = 0xAF;
 
     public static final int FALSE = 0xB0;
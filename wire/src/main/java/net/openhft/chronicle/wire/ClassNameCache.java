@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.pool.ClassLookup;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Resolves the class names a BinaryWire reads after a TYPE_PREFIX or TYPE_LITERAL code, matching
+ * the UTF-8 bytes in place against the names read before, so a repeated name or alias is found
+ * without being copied to a StringBuilder and looked up again.
+ * <p>
+ * Each name is held in the slot for its hash, replacing the name which was there. The classes are
+ * those of one ClassLookup, and are dropped if the wire's ClassLookup changes.
+ */
+final class ClassNameCache {
+    private static final int SLOTS = 64;
+    // longer names are rare, and are always looked up.
+    private static final int MAX_LENGTH = 256;
+
+    @NotNull
+    private final byte[][] names = new byte[SLOTS][];
+    @NotNull
+    private final Class[] classes = new Class[SLOTS];
+    @Nullable
+    private ClassLookup classLookup;
+
+    /**
+     * Read a stop bit length and that many bytes of UTF-8 name, and return the class named.
+     */
+    @NotNull
+    Class read(@NotNull Bytes bytes, @NotNull ClassLookup classLookup) throws ClassNotFoundException {
+        if (classLookup != this.classLookup)
+            clear(classLookup);
+        long start = bytes.readPosition();
+        long length = bytes.readStopBit();
+        long offset = bytes.readPosition();
+        if (length < 0 || length > MAX_LENGTH || length > bytes.readRemaining()) {
+            bytes.readPosition(start);
+            return forName(bytes, classLookup);
+        }
+
+        int len = (int) length;
+        int slot = FrozenWireParser.slot(FrozenWireParser.hash(bytes, offset, len), 1, SLOTS - 1);
+        @Nullable byte[] name = names[slot];
+        if (name != null && name.length == len && FrozenWireParser.isEqual(bytes, offset, name)) {
+            bytes.readSkip(len);
+            return classes[slot];
+        }
+
+        bytes.readPosition(start);
+        @NotNull Class clazz = forName(bytes, classLookup);
+        @NotNull byte[] copy = new byte[len];
+        for (int i = 0; i < len; i++)
+            copy[i] = bytes.readByte(offset + i);
+        names[slot] = copy;
+        classes[slot] = clazz;
+        return clazz;
+    }
+
+    @NotNull
+    private static Class forName(@NotNull Bytes bytes, @NotNull ClassLookup classLookup) throws ClassNotFoundException {
+        StringBuilder sb = WireInternal.acquireStringBuilder();
+        bytes.readUtf8(sb);
+        return classLookup.forName(sb);
+    }
+
+    private void clear(@NotNull ClassLookup classLookup) {
+        for (int i = 0; i < SLOTS; i++) {
+            names[i] = null;
+            classes[i] = null;
+        }
+        this.classLookup = classLookup;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.Maths;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Function;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static net.openhft.chronicle.wire.BinaryWireCode.DEFLATED;
+
+/**
+ * Compresses the whole of each document written with a WriteDocumentContext, and uncompresses it
+ * for a ReadDocumentContext into a direct buffer which is read with a wire of its own.
+ * <p>
+ * A compressed document is a DEFLATED code, the stop bit encoded length of the document
+ * uncompressed, and the document deflated. A document which wouldn't be any smaller is left as it
+ * is. The deflater, the inflater and the buffers are reused, so once the buffers are large enough,
+ * no garbage is created.
+ * <p>
+ * The deflater can be preset with a dictionary of bytes likely to appear in documents, such as a
+ * typical document, which makes a short document much smaller. The reader must use the same
+ * dictionary as the writer.
+ */
+final class DocumentCompression {
+    private final Deflater deflater = new Deflater();
+    private final Inflater inflater = new Inflater();
+    @Nullable
+    private final byte[] dictionary;
+    @NotNull
+    private final Bytes<?> uncompressed = Bytes.allocateElasticDirect();
+    @NotNull
+    private final Wire uncompressedWire;
+    @NotNull
+    private byte[] input = new byte[256];
+    @NotNull
+    private byte[] output = new byte[256];
+
+    DocumentCompression(@Nullable byte[] dictionary, @NotNull Function<Bytes, Wire> wireType) {
+        this.dictionary = dictionary == null ? null : dictionary.clone();
+        this.uncompressedWire = wireType.apply(uncompressed);
+    }
+
+    /**
+     * Compress the document from <code>start</code> to the write position in place, if this makes
+     * it smaller.
+     */
+    void compress(@NotNull Bytes<?> bytes, long start) {
+        int length = Maths.toInt32(bytes.writePosition() - start);
+        if (input.length < length)
+            input = new byte[Math.max(length, input.length * 2)];
+        long readPosition = bytes.readPosition();
+        bytes.readPosition(start);
+        bytes.read(input, 0, length);
+        bytes.readPosition(readPosition);
+
+        deflater.reset();
+        if (dictionary != null)
+            deflater.setDictionary(dictionary);
+        deflater.setInput(input, 0, length);
+        deflater.finish();
+        // stop once it is no smaller than the document as it is.
+        int limit = length - 1 - BinaryWire.stopBitLength(length);
+        if (output.length < limit)
+            output = new byte[Math.max(limit, output.length * 2)];
+        int compressed = 0;
+        while (!deflater.finished() && compressed < limit)
+            compressed += deflater.deflate(output, compressed, limit - compressed);
+        if (!deflater.finished())
+            return;
+
+        bytes.writePosition(start);
+        bytes.writeUnsignedByte(DEFLATED);
+        bytes.writeStopBit(length);
+        bytes.write(output, 0, compressed);
+    }
+
+    boolean isCompressed(@NotNull Bytes<?> bytes) {
+        return bytes.readRemaining() > 0 && bytes.peekUnsignedByte() == DEFLATED;
+    }
+
+    /**
+     * Uncompress the rest of the document, to be read with the class lookup, type ids and object
+     * pool of the wire it is in.
+     *
+     * @return a wire over the document uncompressed, which is reused for the next document.
+     */
+    @NotNull
+    Wire uncompress(@NotNull AbstractWire wire) {
+        @NotNull Bytes<?> bytes = wire.bytes();
+        bytes.readSkip(1);
+        int length = Maths.toUInt31(bytes.readStopBit());
+        int compressed = Maths.toInt32(bytes.readRemaining());
+        if (input.length < compressed)
+            input = new byte[Math.max(compressed, input.length * 2)];
+        bytes.read(input, 0, compressed);
+        if (output.length < length)
+            output = new byte[Math.max(length, output.length * 2)];
+
+        inflater.reset();
+        inflater.setInput(input, 0, compressed);
+        try {
+            int read = 0;
+            while (read < length) {
+                int n = inflater.inflate(output, read, length - read);
+                if (n > 0) {
+                    read += n;
+
+                } else if (inflater.needsDictionary()) {
+                    if (dictionary == null)
+                        throw new IORuntimeException("A dictionary is needed to uncompress this document");
+                    inflater.setDictionary(dictionary);
+
+                } else if (inflater.finished() || inflater.needsInput()) {
+                    throw new IORuntimeException("Document uncompressed to " + read + " bytes, expected " + length);
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new IORuntimeException(e);
+        }
+
+        uncompressedWire.clear();
+        uncompressed.write(output, 0, length);
+        uncompressedWire.classLookup(wire.classLookup());
+        uncompressedWire.objectPool(wire.objectPool());
+        if (wire instanceof BinaryWire && uncompressedWire instanceof BinaryWire)
+            ((BinaryWire) uncompressedWire).typeIds(((BinaryWire) wire).typeIds());
+        return uncompressedWire;
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.util.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+import static net.openhft.chronicle.wire.BinaryWireCode.*;
+
+/**
+ * An immutable parser built from the keys registered with a VanillaWireParser.
+ * <p>
+ * Names are held in an open addressed table, using a multiplier chosen so each name has its own
+ * slot where possible, and codes in a table of int so no Integer is created to look them up. For a
+ * BinaryWire, a field or event name is matched against the table in place, without copying it to a
+ * StringBuilder first.
+ */
+public class FrozenWireParser<O> implements WireParser<O> {
+    private static final int[] MULTIPLIERS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F, 0x165667B1, 0x61C88647};
+
+    private final WireParselet<O> defaultConsumer;
+
+    private final int multiplier;
+    private final int nameMask;
+    @NotNull
+    private final String[] names;
+    @NotNull
+    private final byte[][] nameBytes;
+    @NotNull
+    private final WireParselet<O>[] namedConsumers;
+
+    private final int codeMask;
+    @NotNull
+    private final int[] codes;
+    @NotNull
+    private final String[] codeNames;
+    @NotNull
+    private final WireParselet<O>[] numberedConsumers;
+
+    FrozenWireParser(WireParselet<O> defaultConsumer,
+                     @NotNull Map<CharSequence, WireParselet<O>> namedConsumer,
+                     @NotNull Map<Integer, WireParselet<O>> numberedConsumer,
+                     @NotNull Map<Integer, String> numberedNames) {
+        this.defaultConsumer = defaultConsumer;
+
+        @NotNull String[] keys = new String[namedConsumer.size()];
+        int k = 0;
+        for (CharSequence name : namedConsumer.keySet())
+            keys[k++] = name.toString();
+
+        // look for a multiplier which gives every name a slot of its own, otherwise probe.
+        int capacity = tableSize(keys.length);
+        int found = 0;
+        search:
+        for (int size = capacity; size <= capacity * 8; size <<= 1) {
+            for (int m : MULTIPLIERS) {
+                if (isPerfect(keys, m, size - 1)) {
+                    capacity = size;
+                    found = m;
+                    break search;
+                }
+            }
+        }
+        this.multiplier = found == 0 ? MULTIPLIERS[0] : found;
+        this.nameMask = capacity - 1;
+        this.names = new String[capacity];
+        this.nameBytes = new byte[capacity][];
+        this.namedConsumers = new WireParselet[capacity];
+        for (@NotNull String key : keys) {
+            int slot = slot(hash(key), multiplier, nameMask);
+            while (names[slot] != null)
+                slot = (slot + 1) & nameMask;
+            names[slot] = key;
+            nameBytes[slot] = toBytes(key);
+            namedConsumers[slot] = namedConsumer.get(key);
+        }
+
+        int codeCapacity = tableSize(numberedConsumer.size());
+        this.codeMask = codeCapacity - 1;
+        this.codes = new int[codeCapacity];
+        this.codeNames = new String[codeCapacity];
+        this.numberedConsumers = new WireParselet[codeCapacity];
+        for (@NotNull Map.Entry<Integer, WireParselet<O>> entry : numberedConsumer.entrySet()) {
+            int code = entry.getKey();
+            int slot = slot(code, MULTIPLIERS[0], codeMask);
+            while (numberedConsumers[slot] != null)
+                slot = (slot + 1) & codeMask;
+            codes[slot] = code;
+            codeNames[slot] = numberedNames.get(code);
+            numberedConsumers[slot] = entry.getValue();
+        }
+    }
+
+    private static int tableSize(int entries) {
+        int size = 4;
+        while (size < entries * 2)
+            size <<= 1;
+        return size;
+    }
+
+    private static boolean isPerfect(@NotNull String[] keys, int multiplier, int mask) {
+        @NotNull boolean[] used = new boolean[mask + 1];
+        for (@NotNull String key : keys) {
+            int slot = slot(hash(key), multiplier, mask);
+            if (used[slot])
+                return false;
+            used[slot] = true;
+        }
+        return true;
+    }
+
+    static int slot(int hash, int multiplier, int mask) {
+        int h = hash * multiplier;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    // the same hash as String.hashCode() for the 8-bit names a BinaryWire writes.
+    static int hash(@NotNull CharSequence cs) {
+        int h = 0;
+        for (int i = 0; i < cs.length(); i++)
+            h = 31 * h + cs.charAt(i);
+        return h;
+    }
+
+    static int hash(@NotNull Bytes bytes, long offset, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++)
+            h = 31 * h + bytes.readUnsignedByte(offset + i);
+        return h;
+    }
+
+    @Nullable
+    private static byte[] toBytes(@NotNull String name) {
+        @NotNull byte[] bytes = new byte[name.length()];
+        for (int i = 0; i < name.length(); i++) {
+            char ch = name.charAt(i);
+            // can't be written as an 8-bit field name, so never matched in place.
+            if (ch > 0xFF)
+                return null;
+            bytes[i] = (byte) ch;
+        }
+        return bytes;
+    }
+
+    @Override
+    public WireParselet<O> getDefaultConsumer() {
+        return defaultConsumer;
+    }
+
+    @Override
+    public void parseOne(@NotNull WireIn wireIn, O out) {
+        if (wireIn instanceof BinaryWire && parseOneBinary((BinaryWire) wireIn, out))
+            return;
+        WireParser.super.parseOne(wireIn, out);
+    }
+
+    private boolean parseOneBinary(@NotNull BinaryWire wire, O out) {
+        wire.consumePadding();
+        Bytes<?> bytes = wire.bytes();
+        if (bytes.readRemaining() < 1)
+            return false;
+        int code = bytes.peekUnsignedByte();
+        if (code >= FIELD_NAME0 && code <= FIELD_NAME31) {
+            int length = code & 0x1F;
+            if (bytes.readRemaining() < length + 1)
+                return false;
+            return acceptName(wire, bytes.readPosition() + 1, length, out);
+        }
+        if (code == EVENT_NAME || code == FIELD_NAME_ANY) {
+            // as written by write8bit, a stop bit length then a byte per char.
+            long position = bytes.readPosition();
+            bytes.readSkip(1);
+            long length = bytes.readStopBit();
+            if (length < 0 || length > bytes.readRemaining()
+                    || !acceptName(wire, bytes.readPosition(), (int) length, out)) {
+                bytes.readPosition(position);
+                return false;
+            }
+            return true;
+        }
+        if (code == FIELD_NUMBER) {
+            long position = bytes.readPosition();
+            bytes.readSkip(1);
+            long number = bytes.readStopBit();
+            // a number a FIELD_ANCHOR assigned to a name is looked up by that name.
+            int slot = number == (int) number && wire.fieldAnchored(number) == null ? findCode((int) number) : -1;
+            if (slot < 0) {
+                bytes.readPosition(position);
+                return false;
+            }
+            String name = codeNames[slot];
+            numberedConsumers[slot].accept(name == null ? Long.toString(number) : name, wire.getValueIn(), out);
+            return true;
+        }
+        return false;
+    }
+
+    // if the name at offset is registered, read past it and pass its value to the consumer.
+    private boolean acceptName(@NotNull BinaryWire wire, long offset, int length, O out) {
+        @NotNull Bytes<?> bytes = wire.bytes();
+        int slot = findName(bytes, offset, length);
+        if (slot < 0)
+            return false;
+        bytes.readPosition(offset + length);
+        namedConsumers[slot].accept(names[slot], wire.getValueIn(), out);
+        return true;
+    }
+
+    private int findName(@NotNull Bytes bytes, long offset, int length) {
+        int slot = slot(hash(bytes, offset, length), multiplier, nameMask);
+        for (; names[slot] != null; slot = (slot + 1) & nameMask) {
+            byte[] name = nameBytes[slot];
+            if (name != null && name.length == length && isEqual(bytes, offset, name))
+                return slot;
+        }
+        return -1;
+    }
+
+    static boolean isEqual(@NotNull Bytes bytes, long offset, @NotNull byte[] name) {
+        for (int i = 0; i < name.length; i++)
+            if (bytes.readByte(offset + i) != name[i])
+                return false;
+        return true;
+    }
+
+    private int findCode(int code) {
+        for (int slot = slot(code, MULTIPLIERS[0], codeMask); numberedConsumers[slot] != null; slot = (slot + 1) & codeMask)
+            if (codes[slot] == code)
+                return slot;
+        return -1;
+    }
+
+    @Nullable
+    @Override
+    public WireParselet<O> lookup(@NotNull CharSequence name) {
+        for (int slot = slot(hash(name), multiplier, nameMask); names[slot] != null; slot = (slot + 1) & nameMask)
+            if (StringUtils.isEqual(names[slot], name))
+                return namedConsumers[slot];
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public WireParselet<O> lookup(int number) {
+        int slot = findCode(number);
+        return slot < 0 ? null : numberedConsumers[slot];
+    }
+
+    @NotNull
+    @Override
+    public VanillaWireParser<O> register(WireKey key, WireParselet<O> valueInConsumer) {
+        throw new UnsupportedOperationException("This parser is frozen, register with a VanillaWireParser");
+    }
+}
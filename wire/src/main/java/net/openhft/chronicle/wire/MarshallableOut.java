@@ -114,6 +114,9 @@ public interface MarshallableOut {
 
     /**
      * Proxy an interface so each message called is written to a file for replay.
+     * <p>
+     * The proxy can be called by any thread. See {@link MethodWriterBuilder#useProxy(boolean)} for a
+     * generated writer which doesn't create garbage, but can only be used by one thread at a time.
      *
      * @param tClass     primary interface
      * @param additional any additional interfaces
@@ -40,17 +40,35 @@ public class MethodReader implements Closeable {
     private final MarshallableIn in;
     @NotNull
     private final WireParser<Void> wireParser;
+    private final boolean generated;
+    // rebuilt from wireParser on the next read after any registration.
+    @Nullable
+    private WireParser<Void> frozenParser;
     private boolean closeIn = false, closed;
 
     public MethodReader(MarshallableIn in, @NotNull Object... objects) {
+        this(MethodReaderGenerator.GENERATE, in, objects);
+    }
+
+    /**
+     * @param generate true to dispatch with a class generated by MethodReaderGenerator, if it can
+     *                 be, rather than reflection. The default is -DMethodReader.generate
+     */
+    public MethodReader(boolean generate, MarshallableIn in, @NotNull Object... objects) {
         this.in = in;
         @NotNull WireParselet defaultParselet = (s, v, $) ->
                 LOGGER.warn("Unknown message " + s + ' ' + v.text());
         if (objects[0] instanceof WireParselet)
             defaultParselet = (WireParselet) objects[0];
-        wireParser = WireParser.wireParser(defaultParselet);
+        @Nullable WireParser<Void> generated = generate ? MethodReaderGenerator.newInstance(defaultParselet, objects) : null;
+        this.generated = generated != null;
+        wireParser = generated != null ? generated : WireParser.wireParser(defaultParselet);
 
         @NotNull Set<String> methodsHandled = new HashSet<>();
+        // the generated parser calls these methods itself.
+        if (generated != null)
+            for (@NotNull Method m : MethodReaderGenerator.methodsFor(objects))
+                methodsHandled.add(m.getName());
         for (@NotNull Object o : objects) {
             for (@NotNull Method m : o.getClass().getMethods()) {
                 if (Modifier.isStatic(m.getModifiers()))
@@ -81,13 +99,27 @@ public class MethodReader implements Closeable {
             }
         }
         if (wireParser.lookup("history") == null) {
-            wireParser.register(() -> "history", (s, v, $) -> {
+            register(() -> "history", (s, v, $) -> {
                 v.marshallable(MessageHistory.get());
             });
         }
     }
 
-    static void logMessage(@NotNull CharSequence s, @NotNull ValueIn v) {
+    private void register(@NotNull WireKey key, @NotNull WireParselet<Void> parselet) {
+        wireParser.register(key, parselet);
+        frozenParser = null;
+    }
+
+    @NotNull
+    private WireParser<Void> parser() {
+        WireParser<Void> parser = frozenParser;
+        if (parser == null)
+            // the generated parser dispatches with its own switch.
+            frozenParser = parser = generated ? wireParser : wireParser.freeze();
+        return parser;
+    }
+
+    public static void logMessage(@NotNull CharSequence s, @NotNull ValueIn v) {
         @NotNull String name = s.toString();
         String rest;
 
@@ -114,7 +146,7 @@ public class MethodReader implements Closeable {
         m.setAccessible(true); // turn of security check to make a little faster
         if (msgClass.isInterface() || !ReadMarshallable.class.isAssignableFrom(msgClass)) {
             @NotNull Object[] argArr = {null};
-            wireParser.register(m::getName, (s, v, $) -> {
+            register(m::getName, (s, v, $) -> {
                 try {
                     if (Jvm.isDebug())
                         logMessage(s, v);
@@ -138,7 +170,7 @@ public class MethodReader implements Closeable {
                 }
             }
             @NotNull ReadMarshallable[] argArr = {arg};
-            wireParser.register(m::getName, (s, v, $) -> {
+            register(m::getName, (s, v, $) -> {
                 try {
                     if (Jvm.isDebug())
                         logMessage(s, v);
@@ -161,7 +193,7 @@ public class MethodReader implements Closeable {
                 a[i++] = v.object(clazz);
             }
         };
-        wireParser.register(m::getName, (s, v, $) -> {
+        register(m::getName, (s, v, $) -> {
             try {
                 if (Jvm.isDebug())
                     logMessage(s, v);
@@ -184,7 +216,7 @@ public class MethodReader implements Closeable {
         try (DocumentContext context = in.readingDocument()) {
             if (!context.isData())
                 return false;
-            wireParser.accept(context.wire(), null);
+            parser().accept(context.wire(), null);
         }
         return true;
     }
@@ -0,0 +1,346 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.OS;
+import net.openhft.compiler.CompilerUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Generates a WireParser for a MethodReader which switches on the hash code of the event name and
+ * calls the methods directly, rather than looking up a lambda in a TreeMap and using Method.invoke.
+ * <p>
+ * ReadMarshallable arguments are reused, as they are for a MethodReader. Events the generated code
+ * doesn't handle are passed to the parselets registered as usual.
+ * <p>
+ * Enable with -DMethodReader.generate=true, as this compiles a class at runtime. If the class
+ * cannot be generated, reflection is used.
+ */
+public enum MethodReaderGenerator {
+    ;
+    static final boolean GENERATE = Boolean.getBoolean("MethodReader.generate");
+
+    /**
+     * @return a parser with the dispatch generated, or null if the objects' classes are not all public.
+     */
+    @Nullable
+    public static VanillaWireParser<Void> newInstance(@NotNull WireParselet<Void> defaultParselet, @NotNull Object... objects) {
+        try {
+            @Nullable List<Method> methods = methodsFor(objects);
+            if (methods == null || methods.isEmpty())
+                return null;
+            @NotNull Object[] args = new Object[methods.size()];
+            for (int i = 0; i < methods.size(); i++) {
+                Class<?>[] types = methods.get(i).getParameterTypes();
+                if (types.length == 1 && isReusable(types[0]))
+                    args[i] = newArg(types[0]);
+            }
+            Class<?> gClass = acquireClass(objects, methods);
+            Constructor<?> constructor = gClass.getConstructor(WireParselet.class, Object[].class, Object[].class);
+            return (VanillaWireParser<Void>) constructor.newInstance(defaultParselet, objects, args);
+
+        } catch (Exception | LinkageError e) {
+            Jvm.warn().on(MethodReaderGenerator.class, "Unable to generate a MethodReader, using reflection", e);
+            return null;
+        }
+    }
+
+    // the same methods as MethodReader registers, in the same order
+    @Nullable
+    static List<Method> methodsFor(@NotNull Object... objects) {
+        @NotNull List<Method> methods = new ArrayList<>();
+        @NotNull Set<String> methodsHandled = new HashSet<>();
+        for (@NotNull Object o : objects) {
+            if (o instanceof WireParselet)
+                continue;
+            if (!isPublic(o.getClass()))
+                return null;
+            for (@NotNull Method m : o.getClass().getMethods()) {
+                if (Modifier.isStatic(m.getModifiers()))
+                    continue;
+
+                try {
+                    Object.class.getMethod(m.getName(), m.getParameterTypes());
+                    continue;
+                } catch (NoSuchMethodException e) {
+                    // not an Object method.
+                }
+
+                if (!methodsHandled.add(m.getName()))
+                    continue;
+                // methods without arguments are not registered by MethodReader
+                if (m.getParameterCount() == 0)
+                    continue;
+                for (Class<?> type : m.getParameterTypes())
+                    if (!isPublic(type))
+                        return null;
+                methods.add(m);
+            }
+        }
+        return methods;
+    }
+
+    private static boolean isReusable(@NotNull Class<?> type) {
+        return !type.isInterface() && ReadMarshallable.class.isAssignableFrom(type);
+    }
+
+    @NotNull
+    private static Object newArg(@NotNull Class<?> type) throws InstantiationException {
+        try {
+            return type.newInstance();
+        } catch (Exception e) {
+            return OS.memory().allocateInstance(type);
+        }
+    }
+
+    private static boolean isPublic(Class<?> type) {
+        while (type.isArray())
+            type = type.getComponentType();
+        if (type.isPrimitive())
+            return true;
+        for (Class<?> c = type; c != null; c = c.getEnclosingClass())
+            if (!Modifier.isPublic(c.getModifiers()) || c.getCanonicalName() == null)
+                return false;
+        return true;
+    }
+
+    @NotNull
+    static synchronized Class<?> acquireClass(@NotNull Object[] objects, @NotNull List<Method> methods) throws ClassNotFoundException {
+        Class<?> primary = null;
+        for (@NotNull Object o : objects) {
+            if (!(o instanceof WireParselet)) {
+                primary = o.getClass();
+                break;
+            }
+        }
+        assert primary != null;
+        @NotNull String layout = layoutOf(objects, methods);
+        @NotNull String packageName = primary.getPackage() == null ? "" : primary.getPackage().getName();
+        @NotNull String simpleName = primary.getName().substring(packageName.isEmpty() ? 0 : packageName.length() + 1)
+                + "$MethodReader" + Integer.toHexString(layout.hashCode());
+        @NotNull String className = packageName.isEmpty() ? simpleName : packageName + '.' + simpleName;
+        ClassLoader classLoader = primary.getClassLoader();
+        Class<?> gClass;
+        try {
+            gClass = classLoader.loadClass(className);
+        } catch (ClassNotFoundException e) {
+            gClass = CompilerUtils.CACHED_COMPILER.loadFromJava(classLoader, className,
+                    generateSource(packageName, simpleName, objects, methods));
+        }
+        // the name is a hash, so check the class was generated for the same objects and methods.
+        try {
+            if (!layout.equals(gClass.getField("LAYOUT").get(null)))
+                throw new IllegalStateException(className + " was generated for another layout of objects and methods");
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(className + " is not a generated MethodReader", e);
+        }
+        return gClass;
+    }
+
+    /**
+     * @return the class of each object, or P for a parselet, in the order the generated code casts
+     * them, then the methods in the order their arguments are passed.
+     */
+    @NotNull
+    static String layoutOf(@NotNull Object[] objects, @NotNull List<Method> methods) {
+        @NotNull StringBuilder layout = new StringBuilder();
+        for (@NotNull Object o : objects)
+            layout.append(o instanceof WireParselet ? "P" : o.getClass().getName()).append(';');
+        layout.append('|');
+        for (@NotNull Method method : methods) {
+            layout.append(method.getDeclaringClass().getName()).append('.').append(method.getName()).append('(');
+            for (Class<?> type : method.getParameterTypes())
+                layout.append(type.getName()).append(',');
+            layout.append(");");
+        }
+        return layout.toString();
+    }
+
+    @NotNull
+    static String generateSource(@NotNull String packageName, @NotNull String simpleName,
+                                 @NotNull Object[] objects, @NotNull List<Method> methods) {
+        @NotNull StringBuilder fields = new StringBuilder();
+        @NotNull StringBuilder init = new StringBuilder();
+        @NotNull StringBuilder dispatch = new StringBuilder();
+        @NotNull Map<Integer, List<String>> cases = new TreeMap<>();
+        @NotNull Set<String> names = new HashSet<>();
+
+        for (int i = 0; i < objects.length; i++) {
+            if (objects[i] instanceof WireParselet)
+                continue;
+            @NotNull String type = objects[i].getClass().getCanonicalName();
+            fields.append("    private final ").append(type).append(" o").append(i).append(";\n");
+            init.append("        o").append(i).append(" = (").append(type).append(") objects[").append(i).append("];\n");
+        }
+
+        for (int m = 0; m < methods.size(); m++) {
+            @NotNull Method method = methods.get(m);
+            @NotNull String name = method.getName();
+            names.add(name);
+            cases.computeIfAbsent(name.hashCode(), k -> new ArrayList<>())
+                    .add("if (StringUtils.isEqual(sb, \"" + name + "\")) {\n" +
+                            "                    m" + m + "(sb, v);\n" +
+                            "                    return;\n" +
+                            "                }\n");
+
+            @NotNull String target = "o" + indexOf(objects, method);
+            Class<?>[] types = method.getParameterTypes();
+            @NotNull StringBuilder call = new StringBuilder();
+            @NotNull StringBuilder read = new StringBuilder();
+            @NotNull StringBuilder argsText = new StringBuilder();
+            call.append(target).append('.').append(name).append('(');
+            if (types.length == 1) {
+                @NotNull String arg = "m" + m + "a0";
+                String typeName = types[0].getCanonicalName();
+                fields.append("    private ").append(typeName).append(' ').append(arg).append(";\n");
+                if (isReusable(types[0])) {
+                    init.append("        ").append(arg).append(" = (").append(typeName).append(") args[").append(m).append("];\n");
+                    read.append("            v.marshallable(").append(arg).append(");\n");
+                } else {
+                    read.append("            ").append(arg).append(" = ").append(readArg(types[0])).append(";\n");
+                }
+                call.append(arg);
+                argsText.append(arg);
+            } else {
+                @NotNull StringBuilder readArgs = new StringBuilder();
+                for (int i = 0; i < types.length; i++) {
+                    @NotNull String arg = "m" + m + "a" + i;
+                    fields.append("    private ").append(types[i].getCanonicalName()).append(' ').append(arg).append(";\n");
+                    readArgs.append("        ").append(arg).append(" = ").append(readArg(types[i])).append(";\n");
+                    if (i > 0) {
+                        call.append(", ");
+                        argsText.append(" + \", \" + ");
+                    }
+                    call.append(arg);
+                    argsText.append(arg);
+                }
+                fields.append("    private static final BiConsumer<").append(simpleName).append(", ValueIn> ARGS").append(m)
+                        .append(" = ").append(simpleName).append("::readArgs").append(m).append(";\n");
+                read.append("            v.sequence(this, ARGS").append(m).append(");\n");
+                dispatch.append("    private void readArgs").append(m).append("(ValueIn v) {\n")
+                        .append(readArgs)
+                        .append("    }\n\n");
+            }
+            call.append(')');
+
+            dispatch.append("    private void m").append(m).append("(CharSequence s, ValueIn v) {\n")
+                    .append("        try {\n")
+                    .append("            if (Jvm.isDebug())\n")
+                    .append("                MethodReader.logMessage(s, v);\n\n")
+                    .append(read)
+                    .append("            ").append(call).append(";\n")
+                    .append("        } catch (Exception e) {\n")
+                    .append("            LOGGER.warn(\"Failure to dispatch message: ").append(name).append(" \" + ").append(argsText).append(", e);\n")
+                    .append("        }\n")
+                    .append("    }\n\n");
+        }
+        if (!names.contains("history")) {
+            cases.computeIfAbsent("history".hashCode(), k -> new ArrayList<>())
+                    .add("if (StringUtils.isEqual(sb, \"history\")) {\n" +
+                            "                    v.marshallable(MessageHistory.get());\n" +
+                            "                    return;\n" +
+                            "                }\n");
+        }
+
+        @NotNull StringBuilder sb = new StringBuilder();
+        if (!packageName.isEmpty())
+            sb.append("package ").append(packageName).append(";\n\n");
+        sb.append("import net.openhft.chronicle.core.Jvm;\n")
+                .append("import net.openhft.chronicle.core.util.StringUtils;\n")
+                .append("import net.openhft.chronicle.wire.*;\n")
+                .append("import org.slf4j.Logger;\n")
+                .append("import org.slf4j.LoggerFactory;\n\n")
+                .append("import java.util.function.BiConsumer;\n\n")
+                .append("public final class ").append(simpleName).append(" extends VanillaWireParser<Void> {\n")
+                .append("    private static final Logger LOGGER = LoggerFactory.getLogger(MethodReader.class);\n")
+                .append("    public static final String LAYOUT = \"").append(layoutOf(objects, methods)).append("\";\n")
+                .append(fields)
+                .append("    private final StringBuilder sb = new StringBuilder();\n")
+                .append("    private final StringBuilder textSb = new StringBuilder();\n\n")
+                .append("    public ").append(simpleName).append("(WireParselet defaultParselet, Object[] objects, Object[] args) {\n")
+                .append("        super(defaultParselet);\n")
+                .append(init)
+                .append("    }\n\n")
+                .append("    private static int hash(CharSequence cs) {\n")
+                .append("        int h = 0;\n")
+                .append("        for (int i = 0; i < cs.length(); i++)\n")
+                .append("            h = 31 * h + cs.charAt(i);\n")
+                .append("        return h;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public void parseOne(WireIn wireIn, Void out) {\n")
+                .append("        ValueIn v = wireIn.readEventName(sb);\n")
+                .append("        switch (hash(sb)) {\n");
+        for (@NotNull Map.Entry<Integer, List<String>> entry : cases.entrySet()) {
+            sb.append("            case ").append(entry.getKey()).append(":\n");
+            for (String test : entry.getValue())
+                sb.append("                ").append(test);
+            sb.append("                break;\n");
+        }
+        sb.append("        }\n")
+                .append("        WireParselet<Void> parselet = lookup(sb);\n")
+                .append("        if (parselet == null)\n")
+                .append("            parselet = getDefaultConsumer();\n")
+                .append("        parselet.accept(sb, v, out);\n")
+                .append("    }\n\n")
+                .append(dispatch)
+                .append("}\n");
+        return sb.toString();
+    }
+
+    private static int indexOf(@NotNull Object[] objects, @NotNull Method method) {
+        for (int i = 0; i < objects.length; i++) {
+            if (!(objects[i] instanceof WireParselet) && method.getDeclaringClass().isInstance(objects[i]))
+                return i;
+        }
+        throw new AssertionError();
+    }
+
+    // reads a value as ValueIn.object(type) would for the boxed primitive, without the boxing.
+    // Other arguments are read into a new object each call, as a method may keep them.
+    @NotNull
+    private static String readArg(@NotNull Class<?> type) {
+        switch (type.getName()) {
+            case "boolean":
+                return "v.bool()";
+            case "byte":
+                return "v.int8()";
+            case "short":
+                return "v.int16()";
+            case "char":
+                return "v.textTo(textSb).charAt(0)";
+            case "int":
+                return "v.int32()";
+            case "long":
+                return "v.int64()";
+            case "float":
+                return "v.float32()";
+            case "double":
+                return "v.float64()";
+            default:
+                @NotNull String typeName = type.getCanonicalName();
+                return "(" + typeName + ") v.object(" + typeName + ".class)";
+        }
+    }
+}
@@ -2,6 +2,7 @@ package net.openhft.chronicle.wire;
 
 import net.openhft.chronicle.core.io.Closeable;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
@@ -15,12 +16,15 @@ public class MethodWriterBuilder<T> implements Supplier<T> {
     private final List<Class> interfaces = new ArrayList<>();
     @NotNull
     private final MethodWriterInvocationHandler handler;
+    private final MarshallableOut out;
     private ClassLoader classLoader;
+    private boolean useProxy = !MethodWriterGenerator.GENERATE;
 
     public MethodWriterBuilder(MarshallableOut out, @NotNull Class<T> tClass) {
         interfaces.add(Closeable.class);
         interfaces.add(tClass);
         handler = new MethodWriterInvocationHandler(out);
+        this.out = out;
         classLoader = tClass.getClassLoader();
     }
 
@@ -48,9 +52,30 @@ public class MethodWriterBuilder<T> implements Supplier<T> {
         return this;
     }
 
+    /**
+     * A java.lang.reflect.Proxy is used by default, or unless -DMethodWriter.generate=true. It can
+     * be called by any thread, but creates an Object[] and boxes primitives on every call.
+     * <p>
+     * A generated class doesn't create garbage, but is not thread safe. It must only be used by one
+     * thread at a time, e.g. one writer per thread. The Proxy is still used if a class can't be
+     * generated.
+     *
+     * @param useProxy false to use a generated class instead of a Proxy.
+     */
+    @NotNull
+    public MethodWriterBuilder<T> useProxy(boolean useProxy) {
+        this.useProxy = useProxy;
+        return this;
+    }
+
     @NotNull
     @Override
     public T get() {
+        if (!useProxy) {
+            @Nullable T t = MethodWriterGenerator.newInstance(classLoader, interfaces, out, handler.recordHistory(), handler.closeable());
+            if (t != null)
+                return t;
+        }
         @NotNull Class[] interfacesArr = interfaces.toArray(new Class[interfaces.size()]);
         //noinspection unchecked
         return (T) Proxy.newProxyInstance(classLoader, interfacesArr, handler);
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.io.Closeable;
+import net.openhft.compiler.CompilerUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Generates a class implementing the method writer interfaces, to avoid the Object[], boxing and
+ * Method lookup of a Proxy on every call.
+ * <p>
+ * The messages written are the same as those written by MethodWriterInvocationHandler. Unlike the
+ * Proxy, a generated method writer is not thread safe. The arguments of a call are held in its
+ * fields while they are written, so it must only be used by one thread at a time.
+ */
+public enum MethodWriterGenerator {
+    ;
+    static final boolean GENERATE = Boolean.getBoolean("MethodWriter.generate");
+
+    /**
+     * @return a new generated method writer, or null if one couldn't be generated and a Proxy should be used.
+     */
+    @Nullable
+    public static <T> T newInstance(@NotNull ClassLoader classLoader, @NotNull List<Class> interfaces,
+                                    @NotNull MarshallableOut out, boolean recordHistory, @Nullable Closeable closeable) {
+        try {
+            Class<?> gClass = acquireClass(classLoader, interfaces);
+            if (gClass == null)
+                return null;
+            Constructor<?> constructor = gClass.getConstructor(MarshallableOut.class, boolean.class, Closeable.class);
+            return (T) constructor.newInstance(out, recordHistory, closeable);
+
+        } catch (Exception | LinkageError e) {
+            Jvm.debug().on(MethodWriterGenerator.class, e);
+            return null;
+        }
+    }
+
+    @Nullable
+    static synchronized Class<?> acquireClass(@NotNull ClassLoader classLoader, @NotNull List<Class> interfaces) throws ClassNotFoundException {
+        for (Class anInterface : interfaces) {
+            if (!anInterface.isInterface() || !isPublic(anInterface))
+                return null;
+        }
+        @NotNull Collection<Method> methods = methodsFor(interfaces);
+        for (@NotNull Method method : methods) {
+            if (!isPublic(method.getReturnType()))
+                return null;
+            for (Class<?> type : method.getParameterTypes())
+                if (!isPublic(type))
+                    return null;
+        }
+
+        // the first interface is always Closeable
+        Class primary = interfaces.get(1);
+        @NotNull String packageName = primary.getPackage() == null ? "" : primary.getPackage().getName();
+        @NotNull StringBuilder simpleName = new StringBuilder();
+        simpleName.append(primary.getName().substring(packageName.isEmpty() ? 0 : packageName.length() + 1))
+                .append("$MethodWriter");
+        if (interfaces.size() > 2) {
+            @NotNull StringBuilder names = new StringBuilder();
+            for (Class anInterface : interfaces)
+                names.append(anInterface.getName()).append(';');
+            simpleName.append(Integer.toHexString(names.toString().hashCode()));
+        }
+        @NotNull String className = packageName.isEmpty() ? simpleName.toString() : packageName + '.' + simpleName;
+        try {
+            return classLoader.loadClass(className);
+        } catch (ClassNotFoundException e) {
+            return CompilerUtils.CACHED_COMPILER.loadFromJava(classLoader, className,
+                    generateSource(packageName, simpleName.toString(), interfaces, methods));
+        }
+    }
+
+    // the methods the Proxy would pass to the handler, except close()
+    @NotNull
+    static Collection<Method> methodsFor(@NotNull List<Class> interfaces) {
+        @NotNull Map<String, Method> methods = new LinkedHashMap<>();
+        for (@NotNull Class anInterface : interfaces) {
+            for (@NotNull Method method : anInterface.getMethods()) {
+                if (Modifier.isStatic(method.getModifiers()))
+                    continue;
+                if (method.getDeclaringClass() == Closeable.class || method.getDeclaringClass() == java.io.Closeable.class
+                        || method.getDeclaringClass() == AutoCloseable.class)
+                    continue;
+                try {
+                    Object.class.getMethod(method.getName(), method.getParameterTypes());
+                    continue;
+                } catch (NoSuchMethodException e) {
+                    // not an Object method.
+                }
+                methods.putIfAbsent(method.getName() + Arrays.toString(method.getParameterTypes()), method);
+            }
+        }
+        return methods.values();
+    }
+
+    private static boolean isPublic(Class<?> type) {
+        while (type.isArray())
+            type = type.getComponentType();
+        if (type.isPrimitive())
+            return true;
+        for (Class<?> c = type; c != null; c = c.getEnclosingClass())
+            if (!Modifier.isPublic(c.getModifiers()) || c.getCanonicalName() == null)
+                return false;
+        return true;
+    }
+
+    @NotNull
+    static String generateSource(@NotNull String packageName, @NotNull String simpleName,
+                                 @NotNull List<Class> interfaces, @NotNull Collection<Method> methods) {
+        @NotNull StringBuilder fields = new StringBuilder();
+        @NotNull StringBuilder body = new StringBuilder();
+        int m = 0;
+        for (@NotNull Method method : methods) {
+            Class<?>[] types = method.getParameterTypes();
+            Class<?> returnType = method.getReturnType();
+            body.append("    @Override\n")
+                    .append("    public ").append(returnType.getCanonicalName()).append(' ').append(method.getName()).append('(');
+            for (int i = 0; i < types.length; i++) {
+                if (i > 0)
+                    body.append(", ");
+                body.append(types[i].getCanonicalName()).append(" a").append(i);
+            }
+            body.append(") {\n")
+                    .append("        try (DocumentContext dc = out.writingDocument()) {\n")
+                    .append("            ValueOut v = writeEventName(dc, \"").append(method.getName()).append("\");\n");
+            switch (types.length) {
+                case 0:
+                    body.append("            v.text(\"\");\n");
+                    break;
+                case 1:
+                    body.append("            ").append(writeArg("v", types[0], "a0")).append(";\n");
+                    break;
+                default:
+                    // copy the arguments to fields so the sequence writer doesn't capture anything.
+                    @NotNull StringBuilder writeArgs = new StringBuilder();
+                    fields.append("    private static final BiConsumer<").append(simpleName).append(", ValueOut> ARGS").append(m)
+                            .append(" = ").append(simpleName).append("::writeArgs").append(m).append(";\n");
+                    for (int i = 0; i < types.length; i++) {
+                        fields.append("    private ").append(types[i].getCanonicalName()).append(" m").append(m).append('a').append(i).append(";\n");
+                        body.append("            m").append(m).append('a').append(i).append(" = a").append(i).append(";\n");
+                        writeArgs.append("        ").append(writeArg("v", types[i], "m" + m + "a" + i)).append(";\n");
+                    }
+                    body.append("            v.sequence(this, ARGS").append(m).append(");\n");
+                    for (int i = 0; i < types.length; i++) {
+                        if (!types[i].isPrimitive())
+                            body.append("            m").append(m).append('a').append(i).append(" = null;\n");
+                    }
+                    body.append("        }\n");
+                    appendReturn(body, returnType);
+                    body.append("    }\n\n")
+                            .append("    private void writeArgs").append(m).append("(ValueOut v) {\n")
+                            .append(writeArgs)
+                            .append("    }\n\n");
+                    m++;
+                    continue;
+            }
+            body.append("        }\n");
+            appendReturn(body, returnType);
+            body.append("    }\n\n");
+            m++;
+        }
+
+        @NotNull StringBuilder sb = new StringBuilder();
+        if (!packageName.isEmpty())
+            sb.append("package ").append(packageName).append(";\n\n");
+        sb.append("import net.openhft.chronicle.wire.*;\n")
+                .append("import java.util.function.BiConsumer;\n\n")
+                .append("public final class ").append(simpleName).append(" implements ");
+        for (int i = 0; i < interfaces.size(); i++) {
+            if (i > 0)
+                sb.append(", ");
+            sb.append(interfaces.get(i).getCanonicalName());
+        }
+        sb.append(" {\n")
+                .append(fields)
+                .append("    private final MarshallableOut out;\n")
+                .append("    private final boolean recordHistory;\n")
+                .append("    private final net.openhft.chronicle.core.io.Closeable closeable;\n")
+                .append("    private final StringBuilder sb = new StringBuilder();\n\n")
+                .append("    public ").append(simpleName).append("(MarshallableOut out, boolean recordHistory, net.openhft.chronicle.core.io.Closeable closeable) {\n")
+                .append("        this.out = out;\n")
+                .append("        this.recordHistory = recordHistory;\n")
+                .append("        this.closeable = closeable;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public void close() {\n")
+                .append("        net.openhft.chronicle.core.io.Closeable.closeQuietly(closeable);\n")
+                .append("    }\n\n")
+                .append("    private ValueOut writeEventName(DocumentContext dc, String name) {\n")
+                .append("        Wire wire = dc.wire();\n")
+                .append("        if (recordHistory)\n")
+                .append("            wire.write(\"history\").marshallable(MessageHistory.get());\n")
+                .append("        return wire.writeEventName(name);\n")
+                .append("    }\n\n")
+                .append("    private CharSequence text(char ch) {\n")
+                .append("        sb.setLength(0);\n")
+                .append("        return sb.append(ch);\n")
+                .append("    }\n\n")
+                .append(body)
+                .append("}\n");
+        return sb.toString();
+    }
+
+    // writes the same as ValueOut.object(type, arg) for a boxed primitive, without the boxing
+    @NotNull
+    private static String writeArg(@NotNull String v, @NotNull Class<?> type, @NotNull String arg) {
+        switch (type.getName()) {
+            case "boolean":
+                return v + ".bool(" + arg + ")";
+            case "byte":
+                return v + ".fixedInt8(" + arg + ")";
+            case "short":
+                return v + ".fixedInt16(" + arg + ")";
+            case "char":
+                return v + ".text(text(" + arg + "))";
+            case "int":
+                return v + ".fixedInt32(" + arg + ")";
+            case "long":
+                return v + ".fixedInt64(" + arg + ")";
+            case "float":
+                return v + ".fixedFloat32(" + arg + ")";
+            case "double":
+                return v + ".fixedFloat64(" + arg + ")";
+            default:
+                return v + ".object(" + type.getCanonicalName() + ".class, " + arg + ")";
+        }
+    }
+
+    private static void appendReturn(@NotNull StringBuilder body, @NotNull Class<?> returnType) {
+        if (returnType == void.class)
+            return;
+        body.append("        return ");
+        if (returnType == boolean.class)
+            body.append("false");
+        else if (returnType == char.class)
+            body.append("(char) 0");
+        else if (returnType.isPrimitive())
+            body.append('(').append(returnType.getName()).append(") 0");
+        else
+            body.append("null");
+        body.append(";\n");
+    }
+}
@@ -85,7 +85,15 @@ public class MethodWriterInvocationHandler implements InvocationHandler {
         this.recordHistory = recordHistory;
     }
 
+    boolean recordHistory() {
+        return recordHistory;
+    }
+
     public void onClose(Closeable closeable) {
         this.closeable = closeable;
     }
+
+    Closeable closeable() {
+        return closeable;
+    }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A pool of objects to read into, so a stream of typed messages can be read without creating new
+ * objects once enough of each class has been given back.
+ * <p>
+ * When a wire has a pool, a typed marshallable, or a marshallable read without an object to read
+ * into, is taken from the pool if one of its class has been released. Once the object has been
+ * processed, give it back with release(). It is read with overwrite, so any field not in the
+ * message is set to its default as it would be for a new object. A class with its own
+ * readMarshallable must set every field to be recycled.
+ * <p>
+ * Only one thread should use a pool, and an object should be released once, after which it
+ * mustn't be used.
+ */
+public class ObjectPool {
+    private final int maxPerClass;
+    private final Map<Class, ArrayDeque<Object>> freeByClass = new IdentityHashMap<>();
+    // most streams read the same class again, so save looking it up.
+    @Nullable
+    private Class lastClass;
+    @Nullable
+    private ArrayDeque<Object> lastFree;
+
+    public ObjectPool() {
+        this(64);
+    }
+
+    /**
+     * @param maxPerClass the most objects of a class to hold, any more released are dropped.
+     */
+    public ObjectPool(int maxPerClass) {
+        if (maxPerClass < 1)
+            throw new IllegalArgumentException("maxPerClass must be at least 1");
+        this.maxPerClass = maxPerClass;
+    }
+
+    /**
+     * @return an object of exactly this class which has been released, or null if there isn't one.
+     */
+    @Nullable
+    public <T> T poll(@NotNull Class<T> clazz) {
+        return (T) free(clazz).pollLast();
+    }
+
+    /**
+     * Give back an object which has been processed, to be read into again.
+     *
+     * @param o to recycle, ignored if null.
+     */
+    public void release(@Nullable Object o) {
+        if (o == null)
+            return;
+        @NotNull ArrayDeque<Object> free = free(o.getClass());
+        if (free.size() < maxPerClass)
+            free.addLast(o);
+    }
+
+    /**
+     * @return the number of objects of this class waiting to be reused.
+     */
+    public int available(@NotNull Class clazz) {
+        @Nullable ArrayDeque<Object> free = freeByClass.get(clazz);
+        return free == null ? 0 : free.size();
+    }
+
+    public void clear() {
+        freeByClass.clear();
+        lastClass = null;
+        lastFree = null;
+    }
+
+    @NotNull
+    private ArrayDeque<Object> free(@NotNull Class clazz) {
+        if (clazz == lastClass)
+            return lastFree;
+        @Nullable ArrayDeque<Object> free = freeByClass.get(clazz);
+        if (free == null)
+            freeByClass.put(clazz, free = new ArrayDeque<>());
+        lastClass = clazz;
+        lastFree = free;
+        return free;
+    }
+}
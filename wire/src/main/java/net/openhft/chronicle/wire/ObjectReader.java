@@ -0,0 +1,98 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.core.ClassLocal;
+import net.openhft.chronicle.core.util.ObjectUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import static net.openhft.chronicle.core.util.ReadResolvable.readResolve;
+
+/**
+ * How ValueIn.object(using, clazz) reads a value once its class is known. The reader, and the
+ * SerializationStrategy it uses, are chosen once per class rather than on every call.
+ */
+@FunctionalInterface
+interface ObjectReader {
+    ClassLocal<ObjectReader> READERS = ClassLocal.withInitial(ObjectReader::forClass);
+
+    @Nullable
+    Object read(@NotNull ValueIn in, @Nullable Object using);
+
+    @NotNull
+    static ObjectReader forClass(@NotNull Class c) {
+        switch (c.getName()) {
+            case "[S":
+                return (in, using) -> in.int16array(using instanceof short[] ? (short[]) using : null);
+            case "[I":
+                return (in, using) -> in.int32array(using instanceof int[] ? (int[]) using : null);
+            case "[F":
+                return (in, using) -> in.float32array(using instanceof float[] ? (float[]) using : null);
+            case "[D":
+                return (in, using) -> in.float64array(using instanceof double[] ? (double[]) using : null);
+        }
+        SerializationStrategy strategy = Wires.CLASS_STRATEGY.get(c);
+        switch (strategy.bracketType()) {
+            case MAP:
+                return (in, using) -> readMarshallable(in, using, c, strategy);
+            case SEQ:
+                return (in, using) -> readSequence(in, using, c, strategy);
+            case NONE:
+                return (in, using) -> readScalar(in, using, c, strategy);
+            default:
+                // the brackets depend on what was written.
+                return (in, using) -> {
+                    switch (in.getBracketType()) {
+                        case MAP:
+                            return readMarshallable(in, using, c, c == Object.class ? SerializationStrategies.MAP : strategy);
+                        case SEQ:
+                            return readSequence(in, using, c, c == Object.class ? SerializationStrategies.LIST : strategy);
+                        case NONE:
+                            return readScalar(in, using, c, strategy);
+                        default:
+                            throw new AssertionError();
+                    }
+                };
+        }
+    }
+
+    @Nullable
+    static Object readMarshallable(@NotNull ValueIn in, @Nullable Object using, @NotNull Class c, @NotNull SerializationStrategy strategy) {
+        if (using == null && ReadMarshallable.class.isAssignableFrom(c)) {
+            @Nullable ObjectPool pool = in.wireIn().objectPool();
+            if (pool != null)
+                using = pool.poll(c);
+        }
+        if (using == null)
+            using = strategy.newInstance(c);
+        return in.marshallable(using, strategy) ? readResolve(using) : null;
+    }
+
+    @Nullable
+    static Object readSequence(@NotNull ValueIn in, @Nullable Object using, @NotNull Class c, @NotNull SerializationStrategy strategy) {
+        if (using == null)
+            using = strategy.newInstance(c);
+        return in.sequence(using, strategy) ? readResolve(using) : null;
+    }
+
+    @Nullable
+    static Object readScalar(@NotNull ValueIn in, @Nullable Object using, @NotNull Class c, @NotNull SerializationStrategy strategy) {
+        @Nullable Object o = strategy.readUsing(using, in);
+        return c.isInstance(o) ? o : ObjectUtils.convertTo(c, o);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.core.ClassLocal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * How ValueOut.object(Object) writes a value of a given class. The writer is chosen once per class,
+ * so writing a value is one lookup and one call, rather than a switch on the class name followed by
+ * a chain of instanceof tests.
+ */
+@FunctionalInterface
+interface ObjectWriter {
+    ClassLocal<ObjectWriter> WRITERS = ClassLocal.withInitial(ObjectWriter::forClass);
+
+    @NotNull
+    WireOut write(@NotNull ValueOut out, @NotNull Object value);
+
+    // in the same order as the exact matches and instanceof tests ValueOut.object used to make.
+    @NotNull
+    static ObjectWriter forClass(@NotNull Class<?> c) {
+        switch (c.getName()) {
+            case "[B":
+                return (out, v) -> out.typePrefix(byte[].class).bytes((byte[]) v);
+            case "[S":
+                return (out, v) -> out.typePrefix(short[].class).int16array((short[]) v);
+            case "[I":
+                return (out, v) -> out.typePrefix(int[].class).int32array((int[]) v);
+            case "[F":
+                return (out, v) -> out.typePrefix(float[].class).float32array((float[]) v);
+            case "[D":
+                return (out, v) -> out.typePrefix(double[].class).float64array((double[]) v);
+            case "[C":
+                return (out, v) -> out.typePrefix(char[].class).leaf(true).sequence((char[]) v, (a, o) -> {
+                    for (char ch : a) {
+                        StringBuilder sb = WireInternal.acquireStringBuilder();
+                        o.text(sb.append(ch));
+                    }
+                });
+            case "[J":
+                return (out, v) -> out.typePrefix(long[].class).leaf(true).sequence((long[]) v, (a, o) -> {
+                    for (long l : a)
+                        o.int64(l);
+                });
+            case "[Z":
+                return (out, v) -> out.typePrefix(boolean[].class).leaf(true).sequence((boolean[]) v, (a, o) -> {
+                    for (boolean b : a)
+                        o.bool(b);
+                });
+            case "java.lang.String":
+                return (out, v) -> out.text((String) v);
+            case "java.lang.Byte":
+                return (out, v) -> out.fixedInt8((Byte) v);
+            case "java.lang.Boolean":
+                return (out, v) -> out.bool((Boolean) v);
+            case "java.lang.Character":
+                return (out, v) -> out.text(v.toString());
+            case "java.lang.Class":
+                return (out, v) -> out.typeLiteral((Class) v);
+            case "java.lang.Short":
+                return (out, v) -> out.fixedInt16((Short) v);
+            case "java.lang.Integer":
+                return (out, v) -> out.fixedInt32((Integer) v);
+            case "java.lang.Long":
+                return (out, v) -> out.fixedInt64((Long) v);
+            case "java.lang.Double":
+                return (out, v) -> out.fixedFloat64((Double) v);
+            case "java.lang.Float":
+                return (out, v) -> out.fixedFloat32((Float) v);
+            case "java.time.LocalTime":
+                return (out, v) -> out.optionalTyped(LocalTime.class).time((LocalTime) v);
+            case "java.time.LocalDate":
+                return (out, v) -> out.optionalTyped(LocalDate.class).date((LocalDate) v);
+            case "java.time.LocalDateTime":
+                return (out, v) -> out.optionalTyped(LocalDateTime.class).dateTime((LocalDateTime) v);
+            case "java.time.ZonedDateTime":
+                return (out, v) -> out.optionalTyped(ZonedDateTime.class).zonedDateTime((ZonedDateTime) v);
+            case "java.util.UUID":
+                return (out, v) -> out.optionalTyped(UUID.class).uuid((UUID) v);
+            case "java.math.BigInteger":
+                return (out, v) -> out.bigInteger((BigInteger) v);
+            case "java.math.BigDecimal":
+                return (out, v) -> out.bigDecimal((BigDecimal) v);
+            case "java.io.File":
+                return (out, v) -> out.optionalTyped(c).text(v.toString());
+        }
+        if (WriteMarshallable.class.isAssignableFrom(c))
+            return (out, v) -> out.typedMarshallable((WriteMarshallable) v);
+        if (BytesStore.class.isAssignableFrom(c))
+            return (out, v) -> out.bytes((BytesStore) v);
+        if (CharSequence.class.isAssignableFrom(c))
+            return (out, v) -> out.text((CharSequence) v);
+        if (SortedMap.class.isAssignableFrom(c))
+            return (out, v) -> {
+                out.typePrefix(SortedMap.class);
+                return out.map((Map) v);
+            };
+        if (Map.class.isAssignableFrom(c))
+            return (out, v) -> out.map((Map) v);
+        if (Throwable.class.isAssignableFrom(c))
+            return (out, v) -> out.throwable((Throwable) v);
+        if (Enum.class.isAssignableFrom(c))
+            return ValueOut::typedScalar;
+        if (Collection.class.isAssignableFrom(c)) {
+            @Nullable Class prefix = SortedSet.class.isAssignableFrom(c) ? SortedSet.class
+                    : Set.class.isAssignableFrom(c) ? Set.class
+                    : null;
+            return (out, v) -> {
+                if (prefix != null)
+                    out.typePrefix(prefix);
+                return out.sequence(o -> ((Collection) v).forEach(o::object));
+            };
+        }
+        if (WireSerializedLambda.isSerializableLambda(c))
+            return (out, v) -> {
+                WireSerializedLambda.write(v, out);
+                return out.wireOut();
+            };
+        if (Object[].class.isAssignableFrom(c)) {
+            @NotNull Class type = c.getComponentType();
+            return (out, v) -> out.array(o -> Stream.of((Object[]) v).forEach(val -> o.object(type, val)), c);
+        }
+        if (Serializable.class.isAssignableFrom(c))
+            return (out, v) -> out.typedMarshallable((Serializable) v);
+        return (out, v) -> {
+            throw new IllegalStateException("type=" + c +
+                    " is unsupported, it must either be of type Marshallable, String or " +
+                    "AutoBoxed primitive Object");
+        };
+    }
+}
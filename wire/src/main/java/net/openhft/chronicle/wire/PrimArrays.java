@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Reads primitive arrays written as a sequence of values, for wires without typed arrays.
+ */
+enum PrimArrays {
+    ;
+
+    @Nullable
+    static short[] int16array(@NotNull ValueIn in, @Nullable short[] using) {
+        @NotNull short[][] array = {using == null ? new short[8] : using};
+        @NotNull int[] length = {0};
+        if (!in.sequence(array, (a, v) -> {
+            while (v.hasNextSequenceItem()) {
+                if (length[0] == a[0].length)
+                    a[0] = Arrays.copyOf(a[0], length[0] * 2 + 8);
+                a[0][length[0]++] = v.int16();
+            }
+        }))
+            return null;
+        return array[0].length == length[0] ? array[0] : Arrays.copyOf(array[0], length[0]);
+    }
+
+    @Nullable
+    static int[] int32array(@NotNull ValueIn in, @Nullable int[] using) {
+        @NotNull int[][] array = {using == null ? new int[8] : using};
+        @NotNull int[] length = {0};
+        if (!in.sequence(array, (a, v) -> {
+            while (v.hasNextSequenceItem()) {
+                if (length[0] == a[0].length)
+                    a[0] = Arrays.copyOf(a[0], length[0] * 2 + 8);
+                a[0][length[0]++] = v.int32();
+            }
+        }))
+            return null;
+        return array[0].length == length[0] ? array[0] : Arrays.copyOf(array[0], length[0]);
+    }
+
+    @Nullable
+    static float[] float32array(@NotNull ValueIn in, @Nullable float[] using) {
+        @NotNull float[][] array = {using == null ? new float[8] : using};
+        @NotNull int[] length = {0};
+        if (!in.sequence(array, (a, v) -> {
+            while (v.hasNextSequenceItem()) {
+                if (length[0] == a[0].length)
+                    a[0] = Arrays.copyOf(a[0], length[0] * 2 + 8);
+                a[0][length[0]++] = v.float32();
+            }
+        }))
+            return null;
+        return array[0].length == length[0] ? array[0] : Arrays.copyOf(array[0], length[0]);
+    }
+
+    @Nullable
+    static double[] float64array(@NotNull ValueIn in, @Nullable double[] using) {
+        @NotNull double[][] array = {using == null ? new double[8] : using};
+        @NotNull int[] length = {0};
+        if (!in.sequence(array, (a, v) -> {
+            while (v.hasNextSequenceItem()) {
+                if (length[0] == a[0].length)
+                    a[0] = Arrays.copyOf(a[0], length[0] * 2 + 8);
+                a[0][length[0]++] = v.float64();
+            }
+        }))
+            return null;
+        return array[0].length == length[0] ? array[0] : Arrays.copyOf(array[0], length[0]);
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Adds support for the fields of a library of primitive collections, so their elements are written
+ * and read with int32, int64 or float64 without being boxed.
+ * <p>
+ * Providers are found with a {@link java.util.ServiceLoader}, by listing them in
+ * META-INF/services/net.openhft.chronicle.wire.PrimitiveCollectionProvider. The first provider to
+ * support the declared type of a field is used for it.
+ */
+public interface PrimitiveCollectionProvider {
+    /**
+     * @param type the declared type of a field
+     * @return how to access a list of this type, or null if it is not a primitive list supported.
+     */
+    @Nullable
+    PrimitiveListAccess listAccess(@NotNull Class<?> type);
+
+    /**
+     * @param type the declared type of a field
+     * @return how to access a map of this type, or null if it is not a primitive map supported.
+     */
+    @Nullable
+    PrimitiveMapAccess mapAccess(@NotNull Class<?> type);
+}
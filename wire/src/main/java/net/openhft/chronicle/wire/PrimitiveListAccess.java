@@ -0,0 +1,70 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Accesses a list of long, int or double, for a {@link PrimitiveCollectionProvider}. Only the
+ * methods for the {@link #elementType()} need to be implemented.
+ *
+ * @param <L> the type of list
+ */
+public interface PrimitiveListAccess<L> {
+    /**
+     * @return long.class, int.class or double.class
+     */
+    @NotNull
+    Class<?> elementType();
+
+    @NotNull
+    L newInstance();
+
+    /**
+     * @return a copy of the list which doesn't share its elements.
+     */
+    @NotNull
+    L copyOf(@NotNull L list);
+
+    int size(@NotNull L list);
+
+    void clear(@NotNull L list);
+
+    default long getLong(@NotNull L list, int index) {
+        throw new UnsupportedOperationException();
+    }
+
+    default void addLong(@NotNull L list, long value) {
+        throw new UnsupportedOperationException();
+    }
+
+    default int getInt(@NotNull L list, int index) {
+        throw new UnsupportedOperationException();
+    }
+
+    default void addInt(@NotNull L list, int value) {
+        throw new UnsupportedOperationException();
+    }
+
+    default double getDouble(@NotNull L list, int index) {
+        throw new UnsupportedOperationException();
+    }
+
+    default void addDouble(@NotNull L list, double value) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Accesses a map of object keys to long, int or double values, for a
+ * {@link PrimitiveCollectionProvider}. Only the methods for the {@link #valueType()} need to be
+ * implemented.
+ *
+ * @param <M> the type of map
+ */
+public interface PrimitiveMapAccess<M> {
+    /**
+     * @return long.class, int.class or double.class
+     */
+    @NotNull
+    Class<?> valueType();
+
+    @NotNull
+    M newInstance();
+
+    /**
+     * @return a copy of the map which doesn't share its entries.
+     */
+    @NotNull
+    M copyOf(@NotNull M map);
+
+    void clear(@NotNull M map);
+
+    default <T> void forEachLong(@NotNull M map, T t, @NotNull LongEntryConsumer<T> consumer) {
+        throw new UnsupportedOperationException();
+    }
+
+    default void putLong(@NotNull M map, Object key, long value) {
+        throw new UnsupportedOperationException();
+    }
+
+    default <T> void forEachInt(@NotNull M map, T t, @NotNull IntEntryConsumer<T> consumer) {
+        throw new UnsupportedOperationException();
+    }
+
+    default void putInt(@NotNull M map, Object key, int value) {
+        throw new UnsupportedOperationException();
+    }
+
+    default <T> void forEachDouble(@NotNull M map, T t, @NotNull DoubleEntryConsumer<T> consumer) {
+        throw new UnsupportedOperationException();
+    }
+
+    default void putDouble(@NotNull M map, Object key, double value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @FunctionalInterface
+    interface LongEntryConsumer<T> {
+        void accept(T t, Object key, long value);
+    }
+
+    @FunctionalInterface
+    interface IntEntryConsumer<T> {
+        void accept(T t, Object key, int value);
+    }
+
+    @FunctionalInterface
+    interface DoubleEntryConsumer<T> {
+        void accept(T t, Object key, double value);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.util.ObjectUtils;
+import net.openhft.chronicle.core.util.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reads only some of the fields of a document into an object, skipping the values of the rest.
+ * <p>
+ * The document is walked once, and reading stops as soon as every selected field has been read.
+ * For a binary wire, a nested value is skipped using its length prefix, rather than being decoded.
+ * Fields are matched by name, or by position for a field-less wire, in which case the document must
+ * have been written by the same class.
+ * <p>
+ * A Projection holds the byte counts of the last read, so it should only be used by one thread at a time.
+ */
+public class Projection<T> {
+    @NotNull
+    private final Class<T> tClass;
+    @NotNull
+    private final WireMarshaller.FieldAccess[] fields;
+    @NotNull
+    private final boolean[] selected;
+    private final int selectedCount;
+    private final StringBuilder sb = new StringBuilder();
+    private long decodedBytes, skippedBytes;
+
+    public Projection(@NotNull Class<T> tClass, @NotNull WireKey... keys) {
+        this.tClass = tClass;
+        this.fields = WireMarshaller.WIRE_MARSHALLER_CL.get(tClass).fields();
+        this.selected = new boolean[fields.length];
+        int count = 0;
+        for (@NotNull WireKey key : keys) {
+            int index = indexOf(key.name());
+            if (index < 0)
+                throw new IllegalArgumentException("No field " + key.name() + " in " + tClass);
+            if (!selected[index]) {
+                selected[index] = true;
+                count++;
+            }
+        }
+        this.selectedCount = count;
+    }
+
+    private int indexOf(@NotNull CharSequence name) {
+        for (int i = 0; i < fields.length; i++)
+            if (StringUtils.isEqual(fields[i].key.name(), name))
+                return i;
+        return -1;
+    }
+
+    @NotNull
+    public Class<T> type() {
+        return tClass;
+    }
+
+    /**
+     * Read the selected fields of the document, leaving the other fields of the object unchanged.
+     *
+     * @param in    to read from
+     * @param using to read into, or null to create a new object.
+     * @return the object read into.
+     */
+    @NotNull
+    public T read(@NotNull WireIn in, @Nullable T using) {
+        if (using == null)
+            using = ObjectUtils.newInstance(tClass);
+        Bytes<?> bytes = in.bytes();
+        long start = bytes.readPosition();
+        long decoded = 0;
+        try {
+            int found = 0;
+            for (int position = 0; found < selectedCount && in.hasMore(); position++) {
+                @NotNull ValueIn valueIn = in.readEventName(sb);
+                // a field-less wire has no names, so use the order the fields are written in.
+                int index = sb.length() == 0 ? (position < fields.length ? position : -1) : indexOf(sb);
+                long valueStart = bytes.readPosition();
+                if (index >= 0 && selected[index]) {
+                    fields[index].readValue(using, valueIn, true);
+                    decoded += bytes.readPosition() - valueStart;
+                    found++;
+                } else {
+                    valueIn.skipValue();
+                }
+                if (in instanceof TextWire) {
+                    in.consumePadding();
+                    if (bytes.readRemaining() > 0 && bytes.peekUnsignedByte() == ',')
+                        bytes.readSkip(1);
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new AssertionError(e);
+        }
+        decodedBytes = decoded;
+        skippedBytes = bytes.readPosition() - start - decoded;
+        return using;
+    }
+
+    /**
+     * @return the bytes of the values decoded by the last read.
+     */
+    public long decodedBytes() {
+        return decodedBytes;
+    }
+
+    /**
+     * @return the bytes walked over by the last read without being decoded, including field names.
+     */
+    public long skippedBytes() {
+        return skippedBytes;
+    }
+}
@@ -106,6 +106,24 @@ public class RawWire extends AbstractWire implements Wire {
 
     }
 
+    /**
+     * Write a marshallable with a fixed layout instead of field by field.
+     *
+     * @return false if the object was not written.
+     */
+    protected boolean writeStruct(@NotNull Object object) {
+        return false;
+    }
+
+    /**
+     * Read a marshallable written by {@link #writeStruct(Object)}.
+     *
+     * @return false if the object was not read.
+     */
+    protected boolean readStruct(@NotNull Object object) {
+        return false;
+    }
+
     @Override
     public void copyTo(@NotNull WireOut wire) {
         if (wire instanceof RawWire) {
@@ -564,7 +582,8 @@ public class RawWire extends AbstractWire implements Wire {
             long position = bytes.writePosition();
             bytes.writeInt(0);
 
-            object.writeMarshallable(RawWire.this);
+            if (!writeStruct(object))
+                object.writeMarshallable(RawWire.this);
 
             int length = Maths.toInt32(bytes.writePosition() - position - 4, "Document length %,d out of 32-bit int range.");
             bytes.writeOrderedInt(position, length);
@@ -989,7 +1008,8 @@ public class RawWire extends AbstractWire implements Wire {
                 long limit2 = bytes.readPosition() + length;
                 bytes.readLimit(limit2);
                 try {
-                    strategy.readUsing(object, this);
+                    if (!readStruct(object))
+                        strategy.readUsing(object, this);
 
                 } finally {
                     bytes.readLimit(limit);
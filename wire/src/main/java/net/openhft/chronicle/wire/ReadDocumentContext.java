@@ -18,6 +18,7 @@ package net.openhft.chronicle.wire;
 
 import net.openhft.chronicle.bytes.Bytes;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import static net.openhft.chronicle.wire.Wires.lengthOf;
 
@@ -29,11 +30,20 @@ public class ReadDocumentContext implements DocumentContext {
     protected boolean present, notComplete;
     private boolean metaData;
     private long readPosition, readLimit;
+    @Nullable
+    private DocumentCompression compression;
+    // the wire for the document just read, if it was compressed.
+    @Nullable
+    private Wire uncompressedWire;
 
     public ReadDocumentContext(Wire wire) {
         this.wire = (AbstractWire) wire;
     }
 
+    void compression(@Nullable DocumentCompression compression) {
+        this.compression = compression;
+    }
+
     @Override
     public boolean isMetaData() {
         return metaData;
@@ -60,11 +70,12 @@ public class ReadDocumentContext implements DocumentContext {
 
     @Override
     public Wire wire() {
-        return wire;
+        return uncompressedWire == null ? wire : uncompressedWire;
     }
 
     @Override
     public void close() {
+        uncompressedWire = null;
         if (readLimit > 0 && wire != null) {
             @NotNull final Bytes<?> bytes = wire.bytes();
             bytes.readLimit(readLimit);
@@ -77,6 +88,7 @@ public class ReadDocumentContext implements DocumentContext {
        // assert wire.startUse();
         wire.getValueOut().resetState();
         readPosition = readLimit = -1;
+        uncompressedWire = null;
         @NotNull final Bytes<?> bytes = wire.bytes();
 
         present = false;
@@ -108,6 +120,9 @@ public class ReadDocumentContext implements DocumentContext {
 
         bytes.readLimit(readPosition);
         present = true;
+
+        if (compression != null && compression.isCompressed(bytes))
+            uncompressedWire = compression.uncompress(wire);
     }
 
     @Override
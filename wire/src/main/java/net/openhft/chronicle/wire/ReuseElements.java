@@ -0,0 +1,36 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import java.lang.annotation.*;
+
+/**
+ * Read a List or Map field into the elements it already holds, rather than clearing it and reading
+ * new ones, so a snapshot read again and again creates nothing once it has been read.
+ * <p>
+ * Element N of a list, or the value for a key of a map, is read into the existing element when
+ * that is a Marshallable of the declared element type, and the value read is not typed otherwise.
+ * A list is then trimmed to the number of elements read, and keys which weren't read are removed
+ * from a map. A Set is cleared as usual, as changing its elements would change their hash codes.
+ * <p>
+ * The elements are changed in place, so they shouldn't be held elsewhere expecting the old values.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface ReuseElements {
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.core.io.IORuntimeException;
+import net.openhft.chronicle.core.util.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * The strings written to, and read from, one wire, each assigned a number which can be written
+ * instead of the string.
+ * <p>
+ * The writer holds at most <code>capacity</code> strings. When full, a number is reused using the
+ * clock algorithm, so a string which has been written again since the clock last passed it is
+ * kept. The reader doesn't need to know the capacity or the policy, as every ANCHOR carries the
+ * number it replaces, and its strings are held in StringBuilders which are reused.
+ */
+final class StringDictionary {
+    // shorter strings are no larger written in full, longer strings are unlikely to repeat.
+    static final int MIN_LENGTH = 4;
+    static final int MAX_LENGTH = 128;
+
+    private final int capacity;
+    @NotNull
+    private final String[] keys;
+    @NotNull
+    private final int[] hashes;
+    @NotNull
+    private final int[] next;
+    @NotNull
+    private final boolean[] referenced;
+    @NotNull
+    private final int[] buckets;
+    private int size, hand;
+    private long evictions;
+
+    @NotNull
+    private StringBuilder[] values = new StringBuilder[16];
+
+    StringDictionary(int capacity) {
+        this.capacity = capacity;
+        this.keys = new String[capacity];
+        this.hashes = new int[capacity];
+        this.next = new int[capacity];
+        this.referenced = new boolean[capacity];
+        int tableSize = 16;
+        while (tableSize < capacity * 2)
+            tableSize <<= 1;
+        this.buckets = new int[tableSize];
+        Arrays.fill(buckets, -1);
+    }
+
+    static boolean isCandidate(@NotNull CharSequence s) {
+        int length = s.length();
+        return length >= MIN_LENGTH && length <= MAX_LENGTH;
+    }
+
+    /**
+     * @return the number of a string already written, or -1 if it hasn't been or was evicted.
+     */
+    int find(@NotNull CharSequence s) {
+        int hash = FrozenWireParser.hash(s);
+        for (int id = buckets[hash & (buckets.length - 1)]; id >= 0; id = next[id]) {
+            if (hashes[id] == hash && StringUtils.isEqual(keys[id], s)) {
+                referenced[id] = true;
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the number assigned to a string not found, which may be one reused.
+     */
+    int add(@NotNull CharSequence s) {
+        int id = size < capacity ? size++ : evict();
+        int hash = FrozenWireParser.hash(s);
+        int bucket = hash & (buckets.length - 1);
+        keys[id] = s.toString();
+        hashes[id] = hash;
+        referenced[id] = false;
+        next[id] = buckets[bucket];
+        buckets[bucket] = id;
+        return id;
+    }
+
+    private int evict() {
+        while (referenced[hand]) {
+            referenced[hand] = false;
+            hand = (hand + 1) % capacity;
+        }
+        int id = hand;
+        hand = (hand + 1) % capacity;
+        int bucket = hashes[id] & (buckets.length - 1);
+        if (buckets[bucket] == id) {
+            buckets[bucket] = next[id];
+        } else {
+            int prev = buckets[bucket];
+            while (next[prev] != id)
+                prev = next[prev];
+            next[prev] = next[id];
+        }
+        keys[id] = null;
+        evictions++;
+        return id;
+    }
+
+    /**
+     * Forget every string, as after clearing the wire nothing written before will be read.
+     */
+    void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(referenced, false);
+        Arrays.fill(buckets, -1);
+        size = 0;
+        hand = 0;
+        Arrays.fill(values, null);
+    }
+
+    /**
+     * @return the number of strings written which replaced another.
+     */
+    long evictions() {
+        return evictions;
+    }
+
+    /**
+     * @return the StringBuilder to read the string for a number into.
+     */
+    @NotNull
+    StringBuilder acquire(int id) {
+        if (id >= values.length)
+            values = Arrays.copyOf(values, Math.max(id + 1, values.length * 2));
+        @Nullable StringBuilder sb = values[id];
+        if (sb == null)
+            values[id] = sb = new StringBuilder();
+        sb.setLength(0);
+        return sb;
+    }
+
+    @NotNull
+    StringBuilder get(int id) {
+        @Nullable StringBuilder sb = id < values.length ? values[id] : null;
+        if (sb == null)
+            throw new IORuntimeException("No string read for alias " + id);
+        return sb;
+    }
+}
@@ -0,0 +1,457 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Field;
+
+import static net.openhft.chronicle.core.UnsafeMemory.UNSAFE;
+
+/**
+ * A field of a {@link StructLayout} at a fixed offset, which can be read or updated in place given
+ * the offset of the struct.
+ * <p>
+ * Text is held as a short length, or -1 for null, followed by up to MaxLength 8-bit characters.
+ * An array is held as an int length, or -1 for null, followed by up to MaxLength elements.
+ */
+public final class StructField {
+    private static final int BOOLEAN = 0, BYTE = 1, SHORT = 2, CHAR = 3, INT = 4, FLOAT = 5, LONG = 6, DOUBLE = 7,
+            ENUM = 8, TEXT = 9, BYTE_ARRAY = 10, INT_ARRAY = 11, LONG_ARRAY = 12, DOUBLE_ARRAY = 13;
+
+    @NotNull
+    private final Field field;
+    private final long fieldOffset;
+    private final int kind;
+    private final int offset;
+    private final int size;
+    // the most characters or elements of a slot.
+    private final int capacity;
+    @Nullable
+    private final Object[] enumConstants;
+
+    StructField(@NotNull Field field, int offset) {
+        this.field = field;
+        this.fieldOffset = UNSAFE.objectFieldOffset(field);
+        this.offset = offset;
+        Class<?> type = field.getType();
+        this.enumConstants = type.isEnum() ? type.getEnumConstants() : null;
+        MaxLength maxLength = field.getAnnotation(MaxLength.class);
+        this.capacity = maxLength == null ? 0 : maxLength.value();
+        if (type == boolean.class) {
+            kind = BOOLEAN;
+            size = 1;
+        } else if (type == byte.class) {
+            kind = BYTE;
+            size = 1;
+        } else if (type == short.class) {
+            kind = SHORT;
+            size = 2;
+        } else if (type == char.class) {
+            kind = CHAR;
+            size = 2;
+        } else if (type == int.class) {
+            kind = INT;
+            size = 4;
+        } else if (type == float.class) {
+            kind = FLOAT;
+            size = 4;
+        } else if (type == long.class) {
+            kind = LONG;
+            size = 8;
+        } else if (type == double.class) {
+            kind = DOUBLE;
+            size = 8;
+        } else if (type.isEnum()) {
+            kind = ENUM;
+            size = 4;
+        } else if (type == String.class || type == StringBuilder.class) {
+            kind = TEXT;
+            size = 2 + slotCapacity(Short.MAX_VALUE);
+        } else if (type == byte[].class) {
+            kind = BYTE_ARRAY;
+            size = 4 + slotCapacity(Integer.MAX_VALUE);
+        } else if (type == int[].class) {
+            kind = INT_ARRAY;
+            size = 4 + slotCapacity(Integer.MAX_VALUE / 4) * 4;
+        } else if (type == long[].class) {
+            kind = LONG_ARRAY;
+            size = 4 + slotCapacity(Integer.MAX_VALUE / 8) * 8;
+        } else if (type == double[].class) {
+            kind = DOUBLE_ARRAY;
+            size = 4 + slotCapacity(Integer.MAX_VALUE / 8) * 8;
+        } else {
+            throw new IllegalArgumentException("The field " + field + " doesn't have a fixed size");
+        }
+    }
+
+    private int slotCapacity(int max) {
+        if (capacity <= 0 || capacity > max)
+            throw new IllegalArgumentException("The field " + field + " needs a @MaxLength between 1 and " + max);
+        return capacity;
+    }
+
+    @NotNull
+    public String name() {
+        return field.getName();
+    }
+
+    /**
+     * @return the offset of this field from the start of the struct.
+     */
+    public int offset() {
+        return offset;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void checkKind(int expected) {
+        if (kind != expected)
+            throw new IllegalStateException("The field " + field + " is a " + field.getType().getSimpleName());
+    }
+
+    public boolean getBoolean(@NotNull BytesStore bytes, long base) {
+        checkKind(BOOLEAN);
+        return bytes.readByte(base + offset) != 0;
+    }
+
+    public void setBoolean(@NotNull BytesStore bytes, long base, boolean value) {
+        checkKind(BOOLEAN);
+        bytes.writeByte(base + offset, (byte) (value ? 1 : 0));
+    }
+
+    public byte getByte(@NotNull BytesStore bytes, long base) {
+        checkKind(BYTE);
+        return bytes.readByte(base + offset);
+    }
+
+    public void setByte(@NotNull BytesStore bytes, long base, byte value) {
+        checkKind(BYTE);
+        bytes.writeByte(base + offset, value);
+    }
+
+    public short getShort(@NotNull BytesStore bytes, long base) {
+        checkKind(SHORT);
+        return bytes.readShort(base + offset);
+    }
+
+    public void setShort(@NotNull BytesStore bytes, long base, short value) {
+        checkKind(SHORT);
+        bytes.writeShort(base + offset, value);
+    }
+
+    public char getChar(@NotNull BytesStore bytes, long base) {
+        checkKind(CHAR);
+        return (char) bytes.readShort(base + offset);
+    }
+
+    public void setChar(@NotNull BytesStore bytes, long base, char value) {
+        checkKind(CHAR);
+        bytes.writeShort(base + offset, (short) value);
+    }
+
+    public int getInt(@NotNull BytesStore bytes, long base) {
+        checkKind(INT);
+        return bytes.readInt(base + offset);
+    }
+
+    public void setInt(@NotNull BytesStore bytes, long base, int value) {
+        checkKind(INT);
+        bytes.writeInt(base + offset, value);
+    }
+
+    public float getFloat(@NotNull BytesStore bytes, long base) {
+        checkKind(FLOAT);
+        return bytes.readFloat(base + offset);
+    }
+
+    public void setFloat(@NotNull BytesStore bytes, long base, float value) {
+        checkKind(FLOAT);
+        bytes.writeFloat(base + offset, value);
+    }
+
+    public long getLong(@NotNull BytesStore bytes, long base) {
+        checkKind(LONG);
+        return bytes.readLong(base + offset);
+    }
+
+    public void setLong(@NotNull BytesStore bytes, long base, long value) {
+        checkKind(LONG);
+        bytes.writeLong(base + offset, value);
+    }
+
+    public double getDouble(@NotNull BytesStore bytes, long base) {
+        checkKind(DOUBLE);
+        return bytes.readDouble(base + offset);
+    }
+
+    public void setDouble(@NotNull BytesStore bytes, long base, double value) {
+        checkKind(DOUBLE);
+        bytes.writeDouble(base + offset, value);
+    }
+
+    /**
+     * @throws IORuntimeException if the ordinal read isn't one of the enum.
+     */
+    @Nullable
+    public <E extends Enum<E>> E getEnum(@NotNull BytesStore bytes, long base) {
+        checkKind(ENUM);
+        int ordinal = bytes.readInt(base + offset);
+        if (ordinal < 0)
+            return null;
+        if (ordinal >= enumConstants.length)
+            throw new IORuntimeException("The field " + field + " has an ordinal of " + ordinal + " but " + field.getType().getName() + " has " + enumConstants.length + " constants");
+        return (E) enumConstants[ordinal];
+    }
+
+    public void setEnum(@NotNull BytesStore bytes, long base, @Nullable Enum value) {
+        checkKind(ENUM);
+        bytes.writeInt(base + offset, value == null ? -1 : value.ordinal());
+    }
+
+    /**
+     * @return sb with the text appended, or null if the text is null.
+     * @throws IORuntimeException if the length read is more than the MaxLength of the field.
+     */
+    @Nullable
+    public StringBuilder getText(@NotNull BytesStore bytes, long base, @NotNull StringBuilder sb) {
+        checkKind(TEXT);
+        long pos = base + offset;
+        int length = bytes.readShort(pos);
+        if (length < 0)
+            return null;
+        checkLengthRead(length);
+        for (int i = 0; i < length; i++)
+            sb.append((char) bytes.readUnsignedByte(pos + 2 + i));
+        return sb;
+    }
+
+    /**
+     * Text is stored as one byte per character, so only ISO-8859-1 characters can be written.
+     *
+     * @throws IllegalArgumentException if the text is longer than the MaxLength of the field,
+     *                                  or has a character above 0xFF.
+     */
+    public void setText(@NotNull BytesStore bytes, long base, @Nullable CharSequence text) {
+        checkKind(TEXT);
+        long pos = base + offset;
+        if (text == null) {
+            bytes.writeShort(pos, (short) -1);
+            return;
+        }
+        int length = text.length();
+        if (length > capacity)
+            throw new IllegalArgumentException("The field " + field + " has a MaxLength of " + capacity + " but the text has " + length + " characters");
+        for (int i = 0; i < length; i++)
+            if (text.charAt(i) > 0xFF)
+                throw new IllegalArgumentException("The field " + field + " can only hold ISO-8859-1 text but has '" + text.charAt(i) + "' at " + i);
+        bytes.writeShort(pos, (short) length);
+        for (int i = 0; i < length; i++)
+            bytes.writeByte(pos + 2 + i, (byte) text.charAt(i));
+    }
+
+    /**
+     * @return the number of elements in an array field, or -1 if it is null.
+     */
+    public int getArrayLength(@NotNull BytesStore bytes, long base) {
+        if (kind < BYTE_ARRAY)
+            throw new IllegalStateException("The field " + field + " is not an array");
+        return bytes.readInt(base + offset);
+    }
+
+    void write(Object t, @NotNull BytesStore bytes, long base) {
+        long pos = base + offset;
+        switch (kind) {
+            case BOOLEAN:
+                bytes.writeByte(pos, (byte) (UNSAFE.getBoolean(t, fieldOffset) ? 1 : 0));
+                break;
+            case BYTE:
+                bytes.writeByte(pos, UNSAFE.getByte(t, fieldOffset));
+                break;
+            case SHORT:
+                bytes.writeShort(pos, UNSAFE.getShort(t, fieldOffset));
+                break;
+            case CHAR:
+                bytes.writeShort(pos, (short) UNSAFE.getChar(t, fieldOffset));
+                break;
+            case INT:
+                bytes.writeInt(pos, UNSAFE.getInt(t, fieldOffset));
+                break;
+            case FLOAT:
+                bytes.writeFloat(pos, UNSAFE.getFloat(t, fieldOffset));
+                break;
+            case LONG:
+                bytes.writeLong(pos, UNSAFE.getLong(t, fieldOffset));
+                break;
+            case DOUBLE:
+                bytes.writeDouble(pos, UNSAFE.getDouble(t, fieldOffset));
+                break;
+            case ENUM:
+                setEnum(bytes, base, (Enum) UNSAFE.getObject(t, fieldOffset));
+                break;
+            case TEXT:
+                setText(bytes, base, (CharSequence) UNSAFE.getObject(t, fieldOffset));
+                break;
+            default:
+                writeArray(UNSAFE.getObject(t, fieldOffset), bytes, pos);
+                break;
+        }
+    }
+
+    private void writeArray(@Nullable Object array, @NotNull BytesStore bytes, long pos) {
+        if (array == null) {
+            bytes.writeInt(pos, -1);
+            return;
+        }
+        int length = java.lang.reflect.Array.getLength(array);
+        if (length > capacity)
+            throw new IllegalArgumentException("The field " + field + " has a MaxLength of " + capacity + " but the array has " + length + " elements");
+        bytes.writeInt(pos, length);
+        long data = pos + 4;
+        switch (kind) {
+            case BYTE_ARRAY: {
+                @NotNull byte[] a = (byte[]) array;
+                for (int i = 0; i < length; i++)
+                    bytes.writeByte(data + i, a[i]);
+                break;
+            }
+            case INT_ARRAY: {
+                @NotNull int[] a = (int[]) array;
+                for (int i = 0; i < length; i++)
+                    bytes.writeInt(data + i * 4L, a[i]);
+                break;
+            }
+            case LONG_ARRAY: {
+                @NotNull long[] a = (long[]) array;
+                for (int i = 0; i < length; i++)
+                    bytes.writeLong(data + i * 8L, a[i]);
+                break;
+            }
+            case DOUBLE_ARRAY: {
+                @NotNull double[] a = (double[]) array;
+                for (int i = 0; i < length; i++)
+                    bytes.writeDouble(data + i * 8L, a[i]);
+                break;
+            }
+        }
+    }
+
+    void read(Object t, @NotNull BytesStore bytes, long base) {
+        long pos = base + offset;
+        switch (kind) {
+            case BOOLEAN:
+                UNSAFE.putBoolean(t, fieldOffset, bytes.readByte(pos) != 0);
+                break;
+            case BYTE:
+                UNSAFE.putByte(t, fieldOffset, bytes.readByte(pos));
+                break;
+            case SHORT:
+                UNSAFE.putShort(t, fieldOffset, bytes.readShort(pos));
+                break;
+            case CHAR:
+                UNSAFE.putChar(t, fieldOffset, (char) bytes.readShort(pos));
+                break;
+            case INT:
+                UNSAFE.putInt(t, fieldOffset, bytes.readInt(pos));
+                break;
+            case FLOAT:
+                UNSAFE.putFloat(t, fieldOffset, bytes.readFloat(pos));
+                break;
+            case LONG:
+                UNSAFE.putLong(t, fieldOffset, bytes.readLong(pos));
+                break;
+            case DOUBLE:
+                UNSAFE.putDouble(t, fieldOffset, bytes.readDouble(pos));
+                break;
+            case ENUM:
+                UNSAFE.putObject(t, fieldOffset, getEnum(bytes, base));
+                break;
+            case TEXT:
+                readText(t, bytes, base);
+                break;
+            default:
+                UNSAFE.putObject(t, fieldOffset, readArray(UNSAFE.getObject(t, fieldOffset), bytes, pos));
+                break;
+        }
+    }
+
+    private void readText(Object t, @NotNull BytesStore bytes, long base) {
+        if (field.getType() == StringBuilder.class) {
+            StringBuilder sb = (StringBuilder) UNSAFE.getObject(t, fieldOffset);
+            if (sb == null)
+                sb = new StringBuilder();
+            else
+                sb.setLength(0);
+            UNSAFE.putObject(t, fieldOffset, getText(bytes, base, sb));
+        } else {
+            StringBuilder sb = WireInternal.acquireStringBuilder();
+            @Nullable StringBuilder text = getText(bytes, base, sb);
+            UNSAFE.putObject(t, fieldOffset, text == null ? null : text.toString());
+        }
+    }
+
+    private void checkLengthRead(int length) {
+        if (length > capacity)
+            throw new IORuntimeException("The field " + field + " has a MaxLength of " + capacity + " but a length of " + length + " was read");
+    }
+
+    // reuses the array if it is the right length.
+    @Nullable
+    private Object readArray(@Nullable Object using, @NotNull BytesStore bytes, long pos) {
+        int length = bytes.readInt(pos);
+        if (length < 0)
+            return null;
+        checkLengthRead(length);
+        long data = pos + 4;
+        switch (kind) {
+            case BYTE_ARRAY: {
+                byte[] a = using != null && ((byte[]) using).length == length ? (byte[]) using : new byte[length];
+                for (int i = 0; i < length; i++)
+                    a[i] = bytes.readByte(data + i);
+                return a;
+            }
+            case INT_ARRAY: {
+                int[] a = using != null && ((int[]) using).length == length ? (int[]) using : new int[length];
+                for (int i = 0; i < length; i++)
+                    a[i] = bytes.readInt(data + i * 4L);
+                return a;
+            }
+            case LONG_ARRAY: {
+                long[] a = using != null && ((long[]) using).length == length ? (long[]) using : new long[length];
+                for (int i = 0; i < length; i++)
+                    a[i] = bytes.readLong(data + i * 8L);
+                return a;
+            }
+            default: {
+                double[] a = using != null && ((double[]) using).length == length ? (double[]) using : new double[length];
+                for (int i = 0; i < length; i++)
+                    a[i] = bytes.readDouble(data + i * 8L);
+                return a;
+            }
+        }
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return name() + "@" + offset + "[" + size + "]";
+    }
+}
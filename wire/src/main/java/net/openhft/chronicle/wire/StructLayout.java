@@ -0,0 +1,129 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A fixed byte layout for a registered class, used by {@link WireType#STRUCT}.
+ * <p>
+ * Every field is at a constant offset from the start of the struct, primitives first, largest
+ * first, then text and arrays in slots sized by their {@link MaxLength}. Any field can be read or
+ * updated in place with the {@link StructField} for it.
+ */
+public final class StructLayout<T> {
+    private static final Map<Class, StructLayout> LAYOUTS = new ConcurrentHashMap<>();
+
+    @NotNull
+    private final Class<T> tClass;
+    @NotNull
+    private final StructField[] fields;
+    @NotNull
+    private final Map<String, StructField> fieldMap = new HashMap<>();
+    private final int size;
+
+    private StructLayout(@NotNull Class<T> tClass) {
+        this.tClass = tClass;
+        @NotNull Map<String, Field> map = new LinkedHashMap<>();
+        WireMarshaller.getAllField(tClass, map);
+        @NotNull List<Field> ordered = new ArrayList<>(map.values());
+        // a stable sort so fields of the same size stay in declaration order.
+        ordered.sort(Comparator.comparingInt(StructLayout::alignment).reversed());
+
+        fields = new StructField[ordered.size()];
+        int offset = 0;
+        for (int i = 0; i < fields.length; i++) {
+            @NotNull StructField field = new StructField(ordered.get(i), offset);
+            fields[i] = field;
+            fieldMap.put(field.name(), field);
+            offset += field.size();
+        }
+        size = offset;
+    }
+
+    /**
+     * Register a class to be written with a fixed layout by a STRUCT wire.
+     *
+     * @throws IllegalArgumentException if a field has no fixed size
+     */
+    @NotNull
+    public static <T> StructLayout<T> register(@NotNull Class<T> tClass) {
+        return LAYOUTS.computeIfAbsent(tClass, StructLayout::new);
+    }
+
+    /**
+     * @return the layout of a registered class, or null if it hasn't been registered.
+     */
+    @Nullable
+    public static <T> StructLayout<T> lookup(@NotNull Class<T> tClass) {
+        return LAYOUTS.get(tClass);
+    }
+
+    // primitives by size descending, slots last.
+    private static int alignment(@NotNull Field field) {
+        Class<?> type = field.getType();
+        if (type == long.class || type == double.class)
+            return 8;
+        if (type == int.class || type == float.class || type.isEnum())
+            return 4;
+        if (type == short.class || type == char.class)
+            return 2;
+        if (type == byte.class || type == boolean.class)
+            return 1;
+        return 0;
+    }
+
+    @NotNull
+    public Class<T> type() {
+        return tClass;
+    }
+
+    /**
+     * @return the number of bytes every instance takes.
+     */
+    public int size() {
+        return size;
+    }
+
+    @NotNull
+    public StructField field(@NotNull String name) {
+        StructField field = fieldMap.get(name);
+        if (field == null)
+            throw new IllegalArgumentException("No field " + name + " in " + tClass);
+        return field;
+    }
+
+    @NotNull
+    public List<StructField> fields() {
+        return Collections.unmodifiableList(Arrays.asList(fields));
+    }
+
+    public void write(@NotNull T t, @NotNull BytesStore bytes, long base) {
+        for (@NotNull StructField field : fields)
+            field.write(t, bytes, base);
+    }
+
+    public void read(@NotNull T t, @NotNull BytesStore bytes, long base) {
+        for (@NotNull StructField field : fields)
+            field.read(t, bytes, base);
+    }
+}
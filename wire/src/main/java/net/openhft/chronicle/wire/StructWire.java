@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A RawWire which writes a marshallable of a class registered with {@link StructLayout} in its
+ * fixed layout, so any field can be found at a constant offset and updated in place. Other
+ * classes are written as a RawWire would.
+ * <pre>
+ * StructLayout&lt;Order&gt; layout = StructLayout.register(Order.class);
+ * wire.getValueOut().marshallable(order);
+ * ...
+ * long base = wire.structOffset();
+ * layout.field("price").setDouble(wire.bytes(), base, 1.25);
+ * </pre>
+ */
+public class StructWire extends RawWire {
+    public StructWire(Bytes bytes) {
+        super(bytes, true);
+    }
+
+    /**
+     * @return the offset of the struct the next getValueIn().marshallable() will read, i.e. after
+     * its length.
+     */
+    public long structOffset() {
+        return bytes.readPosition() + 4;
+    }
+
+    @Override
+    protected boolean writeStruct(@NotNull Object object) {
+        @Nullable StructLayout layout = StructLayout.lookup(object.getClass());
+        if (layout == null)
+            return false;
+        long position = bytes.writePosition();
+        bytes.writeSkip(layout.size());
+        // unused parts of text and array slots are written as zeros.
+        bytes.zeroOut(position, position + layout.size());
+        layout.write(object, bytes, position);
+        return true;
+    }
+
+    @Override
+    protected boolean readStruct(@NotNull Object object) {
+        @Nullable StructLayout layout = StructLayout.lookup(object.getClass());
+        if (layout == null)
+            return false;
+        if (bytes.readRemaining() < layout.size())
+            throw new IORuntimeException("A " + object.getClass().getName() + " needs " + layout.size() + " bytes but there are " + bytes.readRemaining());
+        layout.read(object, bytes, bytes.readPosition());
+        bytes.readSkip(layout.size());
+        return true;
+    }
+}
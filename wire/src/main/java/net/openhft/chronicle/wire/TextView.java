@@ -0,0 +1,189 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A reusable, read only view of the UTF-8 bytes of some text, read with
+ * {@link ValueIn#textView(TextView)}.
+ * <p>
+ * Where the wire holds the text as plain UTF-8, as a BinaryWire does, the view points into the
+ * document read, so the text is neither copied nor interned. Such a view is only valid until the
+ * document is released or the bytes are reused. Writing it to a BinaryWire copies the bytes as they
+ * are. Text which is ASCII is accessed in place. Other text is decoded to chars the first time they
+ * are needed.
+ */
+public class TextView implements CharSequence {
+    @Nullable
+    private BytesStore bytesStore;
+    private long offset;
+    private int byteLength;
+    // -1 until known, otherwise 1 if all the bytes are ASCII.
+    private int ascii = -1;
+    @Nullable
+    private StringBuilder chars;
+    @Nullable
+    private Bytes<?> buffer;
+
+    /**
+     * Views the bytes given, without copying them.
+     *
+     * @param bytesStore holding the UTF-8 encoded text
+     * @param offset     of the first byte
+     * @param byteLength the number of bytes
+     * @return this
+     */
+    @NotNull
+    public TextView view(@NotNull BytesStore bytesStore, long offset, int byteLength) {
+        this.bytesStore = bytesStore;
+        this.offset = offset;
+        this.byteLength = byteLength;
+        ascii = -1;
+        return this;
+    }
+
+    /**
+     * Copies the text of another view, so this one remains valid after the other's document is released.
+     *
+     * @return this
+     */
+    @NotNull
+    public TextView copyOf(@NotNull TextView view) {
+        if (view == this)
+            return this;
+        @NotNull Bytes<?> buffer = buffer();
+        if (view.bytesStore != null)
+            buffer.write(view.bytesStore, view.offset, view.byteLength);
+        return view(buffer, buffer.readPosition(), view.byteLength);
+    }
+
+    // an empty buffer of this view's own, for text which has to be copied.
+    @NotNull
+    Bytes<?> buffer() {
+        if (buffer == null)
+            buffer = Bytes.elasticByteBuffer();
+        else
+            buffer.clear();
+        return buffer;
+    }
+
+    @Nullable
+    public BytesStore bytesStore() {
+        return bytesStore;
+    }
+
+    public long offset() {
+        return offset;
+    }
+
+    public int byteLength() {
+        return byteLength;
+    }
+
+    /**
+     * @return whether the other view has the same text, comparing the bytes.
+     */
+    public boolean contentEquals(@NotNull TextView view) {
+        if (byteLength != view.byteLength)
+            return false;
+        for (int i = 0; i < byteLength; i++)
+            if (bytesStore.readByte(offset + i) != view.bytesStore.readByte(view.offset + i))
+                return false;
+        return true;
+    }
+
+    @Override
+    public int length() {
+        return isAscii() ? byteLength : chars().length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (isAscii()) {
+            if (index < 0 || index >= byteLength)
+                throw new StringIndexOutOfBoundsException(index);
+            return (char) bytesStore.readByte(offset + index);
+        }
+        return chars().charAt(index);
+    }
+
+    @NotNull
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        if (!isAscii())
+            return chars().toString();
+        @NotNull char[] chars = new char[byteLength];
+        for (int i = 0; i < byteLength; i++)
+            chars[i] = (char) bytesStore.readByte(offset + i);
+        return new String(chars);
+    }
+
+    private boolean isAscii() {
+        if (ascii < 0) {
+            ascii = 1;
+            for (int i = 0; i < byteLength; i++) {
+                if (bytesStore.readByte(offset + i) < 0) {
+                    ascii = 0;
+                    decode();
+                    break;
+                }
+            }
+        }
+        return ascii > 0;
+    }
+
+    @NotNull
+    private StringBuilder chars() {
+        assert chars != null;
+        return chars;
+    }
+
+    private void decode() {
+        if (chars == null)
+            chars = new StringBuilder(byteLength);
+        else
+            chars.setLength(0);
+        for (int i = 0; i < byteLength; ) {
+            int b = bytesStore.readUnsignedByte(offset + i++);
+            int codePoint;
+            if (b < 0x80) {
+                codePoint = b;
+            } else if (b < 0xE0) {
+                codePoint = (b & 0x1F) << 6 | continuation(i++);
+            } else if (b < 0xF0) {
+                codePoint = (b & 0x0F) << 12 | continuation(i++) << 6 | continuation(i++);
+            } else {
+                codePoint = (b & 0x07) << 18 | continuation(i++) << 12 | continuation(i++) << 6 | continuation(i++);
+            }
+            chars.appendCodePoint(codePoint);
+        }
+    }
+
+    private int continuation(int index) {
+        return index < byteLength ? bytesStore.readUnsignedByte(offset + index) & 0x3F : 0;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Numbers for classes, so a BinaryWire can write a type as a TYPE_ID code and a stop bit encoded
+ * number, rather than a TYPE_PREFIX code and the class name or alias. An id below 128 takes one
+ * byte, and below 16384 two bytes.
+ * <p>
+ * The writer and the reader must register the same classes with the same ids. A class without an
+ * id is written by name as usual. Register all the classes before the TypeIds is used, after which
+ * it can be shared between wires and threads.
+ */
+public class TypeIds {
+    private final Map<Class, Integer> idByClass = new IdentityHashMap<>();
+    @NotNull
+    private Class[] classById = new Class[16];
+
+    /**
+     * @param clazz to write as this id
+     * @param id    which is not negative, and not already used for another class.
+     * @return this
+     */
+    @NotNull
+    public TypeIds register(@NotNull Class clazz, int id) {
+        if (id < 0)
+            throw new IllegalArgumentException("id must not be negative, was " + id);
+        @Nullable Class previous = classFor(id);
+        if (previous != null && previous != clazz)
+            throw new IllegalArgumentException("id " + id + " is already used for " + previous.getName());
+        @Nullable Integer previousId = idByClass.get(clazz);
+        if (previousId != null && previousId != id)
+            throw new IllegalArgumentException(clazz.getName() + " already has the id " + previousId);
+        if (id >= classById.length)
+            classById = Arrays.copyOf(classById, Math.max(id + 1, classById.length * 2));
+        classById[id] = clazz;
+        idByClass.put(clazz, id);
+        return this;
+    }
+
+    /**
+     * @return the id of this class, or -1 if it doesn't have one.
+     */
+    public int idFor(@NotNull Class clazz) {
+        @Nullable Integer id = idByClass.get(clazz);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @return the class with this id, or null if there isn't one.
+     */
+    @Nullable
+    public Class classFor(long id) {
+        return id >= 0 && id < classById.length ? classById[(int) id] : null;
+    }
+}
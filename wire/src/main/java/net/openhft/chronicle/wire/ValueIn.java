@@ -26,6 +26,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.time.LocalDate;
@@ -35,8 +37,6 @@ import java.time.ZonedDateTime;
 import java.util.*;
 import java.util.function.*;
 
-import static net.openhft.chronicle.core.util.ReadResolvable.readResolve;
-
 /**
  * Read in data after reading a field.
  */
@@ -77,6 +77,21 @@ public interface ValueIn {
     @Nullable
     Bytes textTo(@NotNull Bytes bytes);
 
+    /**
+     * Reads text as a view of its UTF-8 bytes, without interning it or copying it to a
+     * StringBuilder where the wire allows. Otherwise the text is copied to the view's own buffer.
+     *
+     * @param using the view to reuse
+     * @return the view, or null if the text was null.
+     */
+    @Nullable
+    default TextView textView(@NotNull TextView using) {
+        @NotNull Bytes<?> buffer = using.buffer();
+        if (textTo(buffer) == null)
+            return null;
+        return using.view(buffer, buffer.readPosition(), (int) buffer.readRemaining());
+    }
+
     @NotNull
     @Deprecated
     default WireIn bytes(@NotNull Bytes toBytes) {
@@ -118,6 +133,50 @@ public interface ValueIn {
         bb.put(bytes());
     }
 
+    /**
+     * Read a typed array, or a sequence of values.
+     *
+     * @param using to read into if it has the same length, or null.
+     * @return the array read, or null if the value was null.
+     */
+    @Nullable
+    default short[] int16array(@Nullable short[] using) {
+        return PrimArrays.int16array(this, using);
+    }
+
+    /**
+     * Read a typed array, or a sequence of values.
+     *
+     * @param using to read into if it has the same length, or null.
+     * @return the array read, or null if the value was null.
+     */
+    @Nullable
+    default int[] int32array(@Nullable int[] using) {
+        return PrimArrays.int32array(this, using);
+    }
+
+    /**
+     * Read a typed array, or a sequence of values.
+     *
+     * @param using to read into if it has the same length, or null.
+     * @return the array read, or null if the value was null.
+     */
+    @Nullable
+    default float[] float32array(@Nullable float[] using) {
+        return PrimArrays.float32array(this, using);
+    }
+
+    /**
+     * Read a typed array, or a sequence of values.
+     *
+     * @param using to read into if it has the same length, or null.
+     * @return the array read, or null if the value was null.
+     */
+    @Nullable
+    default double[] float64array(@Nullable double[] using) {
+        return PrimArrays.float64array(this, using);
+    }
+
     @NotNull
     WireIn wireIn();
 
@@ -322,6 +381,25 @@ public interface ValueIn {
         return marshallable(object, SerializationStrategies.MARSHALLABLE);
     }
 
+    /**
+     * Read only the fields given of a nested marshallable, skipping the rest.
+     */
+    @Nullable
+    default <T> T project(@NotNull Class<T> tClass, @NotNull WireKey... keys) throws IORuntimeException {
+        return project(new Projection<>(tClass, keys), null);
+    }
+
+    /**
+     * Read the fields selected by a projection from a nested marshallable, skipping the rest.
+     *
+     * @return the object read into, or null if the value was null.
+     */
+    @Nullable
+    default <T> T project(@NotNull Projection<T> projection, @Nullable T using) throws IORuntimeException {
+        @NotNull T t = using == null ? ObjectUtils.newInstance(projection.type()) : using;
+        return marshallable(w -> projection.read(w, t)) ? t : null;
+    }
+
     /**
      * reads the map from the wire
      *
@@ -420,34 +498,7 @@ public interface ValueIn {
             clazz = clazz2;
         if (clazz == null)
             clazz = Object.class;
-        SerializationStrategy strategy = Wires.CLASS_STRATEGY.get(clazz);
-        BracketType brackets = strategy.bracketType();
-        if (brackets == BracketType.UNKNOWN)
-            brackets = getBracketType();
-
-        switch (brackets) {
-            case MAP:
-                if (clazz == Object.class)
-                    strategy = SerializationStrategies.MAP;
-                if (using == null)
-                    using = (E) strategy.newInstance(clazz);
-
-                return marshallable(using, strategy) ? readResolve(using) : null;
-            case SEQ:
-                if (clazz == Object.class)
-                    strategy = SerializationStrategies.LIST;
-                if (using == null)
-                    using = (E) strategy.newInstance(clazz);
-
-                return sequence(using, strategy) ? readResolve(using) : null;
-
-            case NONE:
-                @NotNull final E e = (E) strategy.readUsing(using, this);
-                return (E) ObjectUtils.convertTo(clazz, e);
-
-            default:
-                throw new AssertionError();
-        }
+        return (E) ObjectReader.READERS.get(clazz).read(this, using);
     }
 
     BracketType getBracketType();
@@ -473,4 +524,16 @@ public interface ValueIn {
     default UUID uuid() {
         return UUID.fromString(text());
     }
+
+    @Nullable
+    default BigInteger bigInteger() {
+        @Nullable String text = text();
+        return text == null ? null : new BigInteger(text);
+    }
+
+    @Nullable
+    default BigDecimal bigDecimal() {
+        @Nullable String text = text();
+        return text == null ? null : new BigDecimal(text);
+    }
 }
@@ -28,7 +28,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.Serializable;
-import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -161,6 +162,74 @@ public interface ValueOut {
     @NotNull
     WireOut int64array(long capacity, LongArrayValues values);
 
+    @NotNull
+    default WireOut int16array(@NotNull short[] values) {
+        return int16array(values, values.length);
+    }
+
+    /**
+     * Write the first <code>length</code> values, as a typed array where the wire supports one,
+     * otherwise as a sequence.
+     */
+    @NotNull
+    default WireOut int16array(@NotNull short[] values, int length) {
+        return leaf(true).sequence(values, (a, out) -> {
+            for (int i = 0; i < length; i++)
+                out.int16(a[i]);
+        });
+    }
+
+    @NotNull
+    default WireOut int32array(@NotNull int[] values) {
+        return int32array(values, values.length);
+    }
+
+    /**
+     * Write the first <code>length</code> values, as a typed array where the wire supports one,
+     * otherwise as a sequence.
+     */
+    @NotNull
+    default WireOut int32array(@NotNull int[] values, int length) {
+        return leaf(true).sequence(values, (a, out) -> {
+            for (int i = 0; i < length; i++)
+                out.int32(a[i]);
+        });
+    }
+
+    @NotNull
+    default WireOut float32array(@NotNull float[] values) {
+        return float32array(values, values.length);
+    }
+
+    /**
+     * Write the first <code>length</code> values, as a typed array where the wire supports one,
+     * otherwise as a sequence.
+     */
+    @NotNull
+    default WireOut float32array(@NotNull float[] values, int length) {
+        return leaf(true).sequence(values, (a, out) -> {
+            for (int i = 0; i < length; i++)
+                out.float32(a[i]);
+        });
+    }
+
+    @NotNull
+    default WireOut float64array(@NotNull double[] values) {
+        return float64array(values, values.length);
+    }
+
+    /**
+     * Write the first <code>length</code> values, as a typed array where the wire supports one,
+     * otherwise as a sequence.
+     */
+    @NotNull
+    default WireOut float64array(@NotNull double[] values, int length) {
+        return leaf(true).sequence(values, (a, out) -> {
+            for (int i = 0; i < length; i++)
+                out.float64(a[i]);
+        });
+    }
+
     @NotNull
     WireOut float32(float f);
 
@@ -202,6 +271,20 @@ public interface ValueOut {
     @NotNull
     WireOut uuid(UUID uuid);
 
+    @NotNull
+    default WireOut bigInteger(@Nullable BigInteger value) {
+        if (value == null)
+            return nu11();
+        return optionalTyped(BigInteger.class).text(value.toString());
+    }
+
+    @NotNull
+    default WireOut bigDecimal(@Nullable BigDecimal value) {
+        if (value == null)
+            return nu11();
+        return optionalTyped(BigDecimal.class).text(value.toString());
+    }
+
     @NotNull
     WireOut int32forBinding(int value);
 
@@ -379,97 +462,7 @@ public interface ValueOut {
     default WireOut object(@Nullable Object value) {
         if (value == null)
             return nu11();
-        // look for exact matches
-        switch (value.getClass().getName()) {
-            case "[B":
-                return typePrefix(byte[].class).bytes((byte[]) value);
-            case "[S":
-            case "[C":
-            case "[I":
-            case "[J":
-            case "[F":
-            case "[D":
-            case "[Z":
-                return typePrefix(value.getClass()).leaf(true).sequence(value, (v, out) -> {
-                    int len = Array.getLength(v);
-                    for (int i = 0; i < len; i++) {
-                        out.untypedObject(Array.get(v, i));
-                    }
-                });
-            case "java.lang.String":
-                return text((String) value);
-            case "java.lang.Byte":
-                return fixedInt8((byte) value);
-            case "java.lang.Boolean":
-                return bool((Boolean) value);
-            case "java.lang.Character":
-                return text(value.toString());
-            case "java.lang.Class":
-                return typeLiteral((Class) value);
-            case "java.lang.Short":
-                return fixedInt16((short) value);
-            case "java.lang.Integer":
-                return fixedInt32((int) value);
-            case "java.lang.Long":
-                return fixedInt64((long) value);
-            case "java.lang.Double":
-                return fixedFloat64((double) value);
-            case "java.lang.Float":
-                return fixedFloat32((float) value);
-            case "[java.lang.String;":
-                return array(v -> Stream.of((String[]) value).forEach(v::text), String[].class);
-            case "[java.lang.Object;":
-                return array(v -> Stream.of((Object[]) value).forEach(v::object), Object[].class);
-            case "java.time.LocalTime":
-                return optionalTyped(LocalTime.class).time((LocalTime) value);
-            case "java.time.LocalDate":
-                return optionalTyped(LocalDate.class).date((LocalDate) value);
-            case "java.time.LocalDateTime":
-                return optionalTyped(LocalDateTime.class).dateTime((LocalDateTime) value);
-            case "java.time.ZonedDateTime":
-                return optionalTyped(ZonedDateTime.class).zonedDateTime((ZonedDateTime) value);
-            case "java.util.UUID":
-                return optionalTyped(UUID.class).uuid((UUID) value);
-            case "java.math.BigInteger":
-            case "java.math.BigDecimal":
-            case "java.io.File":
-                return optionalTyped(value.getClass()).text(value.toString());
-        }
-        if (value instanceof WriteMarshallable)
-            return typedMarshallable((WriteMarshallable) value);
-        if (value instanceof BytesStore)
-            return bytes((BytesStore) value);
-        if (value instanceof CharSequence)
-            return text((CharSequence) value);
-        if (value instanceof Map) {
-            if (value instanceof SortedMap)
-                typePrefix(SortedMap.class);
-
-            return map((Map) value);
-        }
-        if (value instanceof Throwable)
-            return throwable((Throwable) value);
-        if (value instanceof Enum)
-            return typedScalar(value);
-        if (value instanceof Collection) {
-            if (value instanceof SortedSet)
-                typePrefix(SortedSet.class);
-            else if (value instanceof Set)
-                typePrefix(Set.class);
-            return sequence(v -> ((Collection) value).stream().forEach(v::object));
-        } else if (WireSerializedLambda.isSerializableLambda(value.getClass())) {
-            WireSerializedLambda.write(value, this);
-            return wireOut();
-        } else if (Object[].class.isAssignableFrom(value.getClass())) {
-            @NotNull Class type = (Class) value.getClass().getComponentType();
-            return array(v -> Stream.of((Object[]) value).forEach(val -> v.object(type, val)), value.getClass());
-        } else if (value instanceof Serializable) {
-            return typedMarshallable((Serializable) value);
-        } else {
-            throw new IllegalStateException("type=" + value.getClass() +
-                    " is unsupported, it must either be of type Marshallable, String or " +
-                    "AutoBoxed primitive Object");
-        }
+        return ObjectWriter.WRITERS.get(value.getClass()).write(this, value);
     }
 
     /**
@@ -28,6 +28,7 @@ import java.util.TreeMap;
 public class VanillaWireParser<O> implements WireParser<O> {
     private final Map<CharSequence, WireParselet<O>> namedConsumer = new TreeMap<>(CharSequenceComparator.INSTANCE);
     private final Map<Integer, WireParselet<O>> numberedConsumer = new HashMap<>();
+    private final Map<Integer, String> numberedNames = new HashMap<>();
     private final WireParselet<O> defaultConsumer;
 
     public VanillaWireParser(WireParselet<O> defaultConsumer) {
@@ -44,9 +45,19 @@ public class VanillaWireParser<O> implements WireParser<O> {
     public VanillaWireParser<O> register(@NotNull WireKey key, WireParselet<O> valueInConsumer) {
         namedConsumer.put(key.name(), valueInConsumer);
         numberedConsumer.put(key.code(), valueInConsumer);
+        numberedNames.put(key.code(), key.name().toString());
         return this;
     }
 
+    /**
+     * @return an immutable copy of the parselets registered so far, which looks up names and codes without a TreeMap or boxing.
+     */
+    @NotNull
+    @Override
+    public WireParser<O> freeze() {
+        return new FrozenWireParser<>(defaultConsumer, namedConsumer, numberedConsumer, numberedNames);
+    }
+
     @Override
     public WireParselet<O> lookup(CharSequence name) {
         return namedConsumer.get(name);
@@ -92,6 +92,23 @@ public interface WireIn extends WireCommon {
 
     ObjectInput objectInput();
 
+    /**
+     * Take the objects read from a pool, rather than always creating them.
+     * Wires which don't recycle objects ignore this, and objectPool() stays null.
+     *
+     * @param objectPool to recycle objects with, or null to create them.
+     */
+    default void objectPool(@Nullable ObjectPool objectPool) {
+    }
+
+    /**
+     * @return the pool objects read are taken from, or null if they are always created.
+     */
+    @Nullable
+    default ObjectPool objectPool() {
+        return null;
+    }
+
     /*
      * read and write comments.
      */
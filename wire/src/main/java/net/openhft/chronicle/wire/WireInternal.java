@@ -45,6 +45,8 @@ public enum WireInternal {
     static final ThreadLocal<Bytes> BYTES_TL = ThreadLocal.withInitial(Bytes::allocateElasticDirect);
     static final ThreadLocal<Wire> BINARY_WIRE_TL = ThreadLocal.withInitial(() -> new BinaryWire(Bytes.allocateElasticDirect()));
     static final ThreadLocal<Bytes> ABYTES_TL = ThreadLocal.withInitial(Bytes::allocateElasticDirect);
+    // the compressed values read with BinaryWire.bytesStore() are uncompressed into this.
+    static final ThreadLocal<Bytes> UNCOMPRESSED_TL = ThreadLocal.withInitial(Bytes::allocateElasticDirect);
     static final StackTraceElement[] NO_STE = {};
     private static final Field DETAILED_MESSAGE = Jvm.getField(Throwable.class, "detailMessage");
     private static final Field STACK_TRACE = Jvm.getField(Throwable.class, "stackTrace");
@@ -136,7 +138,7 @@ public enum WireInternal {
                     return false;
 
                 } else {
-                    bytes.readWithLength(len, b -> dataConsumer.readMarshallable(wireIn));
+                    bytes.readWithLength(len, b -> dataConsumer.readMarshallable(documentWire(wireIn)));
                     return true;
                 }
             } else {
@@ -153,7 +155,7 @@ public enum WireInternal {
                     long limit = bytes.readPosition() + (long) len;
                     try {
                         bytes.readLimit(limit);
-                        metaDataConsumer.readMarshallable(wireIn);
+                        metaDataConsumer.readMarshallable(documentWire(wireIn));
                     } finally {
                         bytes.readLimit(limit0);
                         bytes.readPosition(limit);
@@ -168,6 +170,12 @@ public enum WireInternal {
         return read;
     }
 
+    // the wire to read the document at the read position with, uncompressing it if needed.
+    @NotNull
+    private static WireIn documentWire(@NotNull WireIn wireIn) {
+        return wireIn instanceof BinaryWire ? ((BinaryWire) wireIn).documentWire() : wireIn;
+    }
+
     public static void rawReadData(@NotNull WireIn wireIn, @NotNull ReadMarshallable dataConsumer) {
         @NotNull final Bytes<?> bytes = wireIn.bytes();
         int header = bytes.readInt();
@@ -18,6 +18,7 @@ package net.openhft.chronicle.wire;
 
 import net.openhft.chronicle.bytes.Bytes;
 import net.openhft.chronicle.core.ClassLocal;
+import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.io.IORuntimeException;
 import net.openhft.chronicle.core.util.StringUtils;
 import org.jetbrains.annotations.NotNull;
@@ -34,15 +35,20 @@ import static net.openhft.chronicle.core.UnsafeMemory.UNSAFE;
  * Created by peter on 16/03/16.
  */
 public class WireMarshaller<T> {
-    static final ClassLocal<WireMarshaller> WIRE_MARSHALLER_CL = ClassLocal.withInitial(tClass ->
-            Throwable.class.isAssignableFrom(tClass)
-                    ? WireMarshaller.ofThrowable(tClass)
-                    : WireMarshaller.of(tClass)
-    );
+    static final ClassLocal<WireMarshaller> WIRE_MARSHALLER_CL = ClassLocal.withInitial(WireMarshaller::create);
+    static final String GENERATED_SUFFIX = "$$WireMarshaller";
+    // the primitive collections supported by providers on the class path.
+    static final List<PrimitiveCollectionProvider> PRIMITIVE_COLLECTIONS = loadPrimitiveCollections();
 
     private final Class<T> tClass;
-    private final FieldAccess[] fields;
-    private final boolean isLeaf;
+    final boolean isLeaf;
+    // null until needed for a marshaller generated at compile time.
+    FieldAccess[] fields;
+    // the field order last seen in a BinaryWire, replaced as a whole so it can be shared between threads.
+    @Nullable
+    private volatile BinaryReadPlan readPlan;
+    private int drifts;
+    private long readPlanHits, readPlanFallbacks;
 
     public WireMarshaller(Class<T> tClass, FieldAccess[] fields, boolean isLeaf) {
         this.tClass = tClass;
@@ -50,6 +56,47 @@ public class WireMarshaller<T> {
         this.isLeaf = isLeaf;
     }
 
+    /**
+     * Used by marshallers generated for a class annotated with {@link GenerateMarshaller}.
+     * The reflective fields are only looked up if a method which is not generated is called.
+     */
+    protected WireMarshaller(Class<T> tClass, boolean isLeaf) {
+        this(tClass, null, isLeaf);
+    }
+
+    @NotNull
+    private static WireMarshaller create(@NotNull Class tClass) {
+        if (Throwable.class.isAssignableFrom(tClass))
+            return WireMarshaller.ofThrowable(tClass);
+        @Nullable WireMarshaller generated = ofGenerated(tClass);
+        if (generated != null)
+            return generated;
+        return WireMarshallerGenerator.GENERATE
+                ? WireMarshallerGenerator.of(tClass)
+                : WireMarshaller.of(tClass);
+    }
+
+    /**
+     * @return the marshaller generated at compile time for this class, or null if there isn't one.
+     */
+    @Nullable
+    static <T> WireMarshaller<T> ofGenerated(@NotNull Class<T> tClass) {
+        if (!tClass.isAnnotationPresent(GenerateMarshaller.class))
+            return null;
+        try {
+            Class<?> gClass = Class.forName(tClass.getName() + GENERATED_SUFFIX, true, tClass.getClassLoader());
+            return (WireMarshaller<T>) gClass.newInstance();
+
+        } catch (ClassNotFoundException e) {
+            Jvm.warn().on(WireMarshaller.class, tClass + " is annotated with @GenerateMarshaller but " +
+                    tClass.getName() + GENERATED_SUFFIX + " was not found, is the annotation processor on the class path?");
+            return null;
+
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new AssertionError(e);
+        }
+    }
+
     @NotNull
     public  static <T> WireMarshaller<T> of(@NotNull Class<T> tClass) {
         @NotNull Map<String, Field> map = new LinkedHashMap<>();
@@ -94,7 +141,7 @@ public class WireMarshaller<T> {
 
     public void writeMarshallable(T t, @NotNull WireOut out) {
         try {
-            for (@NotNull FieldAccess field : fields) {
+            for (@NotNull FieldAccess field : fields()) {
                 field.write(t, out);
             }
         } catch (IllegalAccessException e) {
@@ -103,7 +150,7 @@ public class WireMarshaller<T> {
     }
 
     public void writeMarshallable(T t, Bytes bytes) {
-        for (@NotNull FieldAccess field : fields) {
+        for (@NotNull FieldAccess field : fields()) {
             try {
                 field.getAsBytes(t, bytes);
             } catch (IllegalAccessException e) {
@@ -114,7 +161,7 @@ public class WireMarshaller<T> {
 
     public void writeMarshallable(T t, @NotNull WireOut out, T previous, boolean copy) {
         try {
-            for (@NotNull FieldAccess field : fields) {
+            for (@NotNull FieldAccess field : fields()) {
                 field.write(t, out, previous, copy);
             }
         } catch (IllegalAccessException e) {
@@ -124,7 +171,9 @@ public class WireMarshaller<T> {
 
     public void readMarshallable(T t, @NotNull WireIn in, boolean overwrite) {
         try {
-            for (@NotNull FieldAccess field : fields) {
+            if (BinaryReadPlan.ENABLED && in instanceof BinaryWire && readWithPlan(t, (BinaryWire) in, overwrite))
+                return;
+            for (@NotNull FieldAccess field : fields()) {
                 field.read(t, in, overwrite);
             }
         } catch (IllegalAccessException e) {
@@ -132,24 +181,135 @@ public class WireMarshaller<T> {
         }
     }
 
+    private boolean readWithPlan(T t, @NotNull BinaryWire wire, boolean overwrite) throws IllegalAccessException {
+        @NotNull FieldAccess[] fields = fields();
+        @Nullable BinaryReadPlan plan = readPlan;
+        if (plan != null && plan.read(t, wire, fields, overwrite)) {
+            readPlanHits++;
+            drifts = 0;
+            return true;
+        }
+        readPlanFallbacks++;
+        // learn the order on first use, and again if the layout keeps changing.
+        if (plan == null || ++drifts >= BinaryReadPlan.RELEARN_AFTER) {
+            drifts = 0;
+            readPlan = plan = BinaryReadPlan.learn(wire, fields);
+            return plan.read(t, wire, fields, overwrite);
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of times a BinaryWire was read in the field order seen before.
+     * Not updated atomically, so approximate if the class is read by multiple threads.
+     */
+    public long readPlanHits() {
+        return readPlanHits;
+    }
+
+    /**
+     * @return the number of times a BinaryWire didn't match the field order seen before, or the order had to be learnt.
+     * Not updated atomically, so approximate if the class is read by multiple threads.
+     */
+    public long readPlanFallbacks() {
+        return readPlanFallbacks;
+    }
+
     public void writeKey(T t, Bytes bytes) {
         // assume one key for now.
         try {
-            fields[0].getAsBytes(t, bytes);
+            fields()[0].getAsBytes(t, bytes);
         } catch (IllegalAccessException e) {
             throw new AssertionError(e);
         }
     }
 
     public boolean isEqual(Object o1, Object o2) {
-        for (@NotNull FieldAccess field : fields) {
+        for (@NotNull FieldAccess field : fields()) {
             if (!field.isEqual(o1, o2))
                 return false;
         }
         return true;
     }
 
-    static abstract class FieldAccess {
+    /**
+     * Used by generated marshallers to access fields which are not visible to them.
+     */
+    protected static long fieldOffset(@NotNull Class<?> tClass, @NotNull String name) {
+        for (Class<?> c = tClass; c != Object.class; c = c.getSuperclass()) {
+            try {
+                return UNSAFE.objectFieldOffset(c.getDeclaredField(name));
+            } catch (NoSuchFieldException e) {
+                // try the super class.
+            }
+        }
+        throw new IllegalArgumentException("No field " + name + " in " + tClass);
+    }
+
+    FieldAccess[] fields() {
+        if (fields == null)
+            fields = of(tClass).fields;
+        return fields;
+    }
+
+    /**
+     * Used by generated marshallers to look up, once, the reflective access for a field they don't
+     * handle themselves.
+     */
+    @NotNull
+    protected static FieldAccess fieldAccess(@NotNull Class<?> tClass, @NotNull String name) {
+        @NotNull Map<String, Field> map = new LinkedHashMap<>();
+        getAllField(tClass, map);
+        @Nullable Field field = map.get(name);
+        if (field == null)
+            throw new IllegalArgumentException("No field " + name + " in " + tClass);
+        return (FieldAccess) FieldAccess.create(field);
+    }
+
+    /**
+     * Write one field reflectively, for fields a generated marshaller doesn't handle itself.
+     */
+    protected void writeField(@NotNull FieldAccess field, T t, @NotNull WireOut out) {
+        try {
+            field.write(t, out);
+        } catch (IllegalAccessException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    protected void writeField(@NotNull FieldAccess field, T t, @NotNull WireOut out, T previous, boolean copy) {
+        try {
+            field.write(t, out, previous, copy);
+        } catch (IllegalAccessException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    protected void readField(@NotNull FieldAccess field, T t, @NotNull WireIn in, boolean overwrite) {
+        try {
+            field.read(t, in, overwrite);
+        } catch (IllegalAccessException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    protected boolean isFieldEqual(@NotNull FieldAccess field, Object o1, Object o2) {
+        return field.isEqual(o1, o2);
+    }
+
+    @NotNull
+    private static List<PrimitiveCollectionProvider> loadPrimitiveCollections() {
+        @NotNull List<PrimitiveCollectionProvider> providers = new ArrayList<>();
+        try {
+            for (PrimitiveCollectionProvider provider : ServiceLoader.load(PrimitiveCollectionProvider.class))
+                providers.add(provider);
+        } catch (ServiceConfigurationError e) {
+            Jvm.warn().on(WireMarshaller.class, "Unable to load a PrimitiveCollectionProvider", e);
+        }
+        return providers;
+    }
+
+    protected static abstract class FieldAccess {
         @NotNull
         final Field field;
         final long offset;
@@ -171,8 +331,30 @@ public class WireMarshaller<T> {
         @Nullable
         public static Object create(@NotNull Field field) {
             Class<?> type = field.getType();
-            if (type.isArray())
-                return new ArrayFieldAccess(field);
+            if (!type.isPrimitive() && !type.isArray()) {
+                for (@NotNull PrimitiveCollectionProvider provider : PRIMITIVE_COLLECTIONS) {
+                    @Nullable PrimitiveListAccess listAccess = provider.listAccess(type);
+                    if (listAccess != null)
+                        return new PrimitiveListFieldAccess(field, listAccess);
+                    @Nullable PrimitiveMapAccess mapAccess = provider.mapAccess(type);
+                    if (mapAccess != null)
+                        return new PrimitiveMapFieldAccess(field, mapAccess);
+                }
+            }
+            if (type.isArray()) {
+                switch (type.getName()) {
+                    case "[S":
+                        return new ShortArrayFieldAccess(field);
+                    case "[I":
+                        return new IntArrayFieldAccess(field);
+                    case "[F":
+                        return new FloatArrayFieldAccess(field);
+                    case "[D":
+                        return new DoubleArrayFieldAccess(field);
+                    default:
+                        return new ArrayFieldAccess(field);
+                }
+            }
             if (Collection.class.isAssignableFrom(type))
                 return CollectionFieldAccess.of(field);
             if (Map.class.isAssignableFrom(type))
@@ -199,6 +381,8 @@ public class WireMarshaller<T> {
                     return new StringFieldAccess(field);
                 case "java.lang.StringBuilder":
                     return new StringBuilderFieldAccess(field);
+                case "net.openhft.chronicle.wire.TextView":
+                    return new TextViewFieldAccess(field);
                 default:
                     @Nullable Boolean isLeaf = null;
                     if (WireMarshaller.class.isAssignableFrom(type))
@@ -257,7 +441,10 @@ public class WireMarshaller<T> {
         protected abstract void getValue(Object o, ValueOut write, Object previous) throws IllegalAccessException;
 
         void read(Object o, @NotNull WireIn in, boolean overwrite) throws IllegalAccessException {
-                @NotNull ValueIn read = in.read(key);
+            readValue(o, in.read(key), overwrite);
+        }
+
+        void readValue(Object o, @NotNull ValueIn read, boolean overwrite) throws IllegalAccessException {
                 if (overwrite || !(read instanceof DefaultValueIn))
                     setValue(o, read, overwrite);
         }
@@ -307,6 +494,58 @@ public class WireMarshaller<T> {
         }
     }
 
+    /**
+     * Reads text as a view of the document read, so copying the field to another BinaryWire copies
+     * its bytes as they are.
+     */
+    static class TextViewFieldAccess extends FieldAccess {
+
+        TextViewFieldAccess(@NotNull Field field) {
+            super(field, true);
+        }
+
+        @Override
+        protected void getValue(Object o, @NotNull ValueOut write, Object previous) {
+            write.text((TextView) UNSAFE.getObject(o, offset));
+        }
+
+        @Override
+        protected void setValue(Object o, @NotNull ValueIn read, boolean overwrite) {
+            @Nullable TextView view = (TextView) UNSAFE.getObject(o, offset);
+            if (view == null)
+                UNSAFE.putObject(o, offset, view = new TextView());
+            if (read.textView(view) == null)
+                UNSAFE.putObject(o, offset, null);
+        }
+
+        // the previous copy mustn't view the document, which is about to be reused.
+        @Override
+        protected void copy(Object from, Object to) {
+            @Nullable TextView view = (TextView) UNSAFE.getObject(from, offset);
+            if (view == null) {
+                UNSAFE.putObject(to, offset, null);
+                return;
+            }
+            @Nullable TextView copy = (TextView) UNSAFE.getObject(to, offset);
+            if (copy == null)
+                UNSAFE.putObject(to, offset, copy = new TextView());
+            copy.copyOf(view);
+        }
+
+        @Override
+        public void getAsBytes(Object o, @NotNull Bytes bytes) {
+            // the same as writeUtf8 would write.
+            @Nullable TextView view = (TextView) UNSAFE.getObject(o, offset);
+            if (view == null) {
+                bytes.writeStopBit(-1);
+            } else {
+                bytes.writeStopBit(view.byteLength());
+                if (view.bytesStore() != null)
+                    bytes.write(view.bytesStore(), view.offset(), view.byteLength());
+            }
+        }
+    }
+
     static class ObjectFieldAccess extends FieldAccess {
         private final Class type;
 
@@ -389,17 +628,134 @@ public class WireMarshaller<T> {
         }
     }
 
+    /**
+     * Writes and reads a primitive array as a typed array, without boxing each value. The array is
+     * read into the existing one if it has the same length.
+     */
+    static abstract class PrimitiveArrayFieldAccess extends FieldAccess {
+        PrimitiveArrayFieldAccess(@NotNull Field field) {
+            super(field, true);
+        }
+
+        @Override
+        protected boolean sameValue(Object o, Object o2) throws IllegalAccessException {
+            return Objects.deepEquals(UNSAFE.getObject(o, offset), UNSAFE.getObject(o2, offset));
+        }
+
+        // the previous copy mustn't share the array, or changes to it wouldn't be seen.
+        @Override
+        protected void copy(Object from, Object to) throws IllegalAccessException {
+            Object array = UNSAFE.getObject(from, offset);
+            if (array != null) {
+                int length = Array.getLength(array);
+                Object copy = Array.newInstance(array.getClass().getComponentType(), length);
+                System.arraycopy(array, 0, copy, 0, length);
+                array = copy;
+            }
+            UNSAFE.putObject(to, offset, array);
+        }
+
+        @Override
+        public void getAsBytes(Object o, Bytes bytes) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    static class ShortArrayFieldAccess extends PrimitiveArrayFieldAccess {
+        ShortArrayFieldAccess(@NotNull Field field) {
+            super(field);
+        }
+
+        @Override
+        protected void getValue(Object o, @NotNull ValueOut write, Object previous) {
+            @Nullable short[] array = (short[]) UNSAFE.getObject(o, offset);
+            if (array == null)
+                write.nu11();
+            else
+                write.int16array(array);
+        }
+
+        @Override
+        protected void setValue(Object o, @NotNull ValueIn read, boolean overwrite) {
+            UNSAFE.putObject(o, offset, read.int16array((short[]) UNSAFE.getObject(o, offset)));
+        }
+    }
+
+    static class IntArrayFieldAccess extends PrimitiveArrayFieldAccess {
+        IntArrayFieldAccess(@NotNull Field field) {
+            super(field);
+        }
+
+        @Override
+        protected void getValue(Object o, @NotNull ValueOut write, Object previous) {
+            @Nullable int[] array = (int[]) UNSAFE.getObject(o, offset);
+            if (array == null)
+                write.nu11();
+            else
+                write.int32array(array);
+        }
+
+        @Override
+        protected void setValue(Object o, @NotNull ValueIn read, boolean overwrite) {
+            UNSAFE.putObject(o, offset, read.int32array((int[]) UNSAFE.getObject(o, offset)));
+        }
+    }
+
+    static class FloatArrayFieldAccess extends PrimitiveArrayFieldAccess {
+        FloatArrayFieldAccess(@NotNull Field field) {
+            super(field);
+        }
+
+        @Override
+        protected void getValue(Object o, @NotNull ValueOut write, Object previous) {
+            @Nullable float[] array = (float[]) UNSAFE.getObject(o, offset);
+            if (array == null)
+                write.nu11();
+            else
+                write.float32array(array);
+        }
+
+        @Override
+        protected void setValue(Object o, @NotNull ValueIn read, boolean overwrite) {
+            UNSAFE.putObject(o, offset, read.float32array((float[]) UNSAFE.getObject(o, offset)));
+        }
+    }
+
+    static class DoubleArrayFieldAccess extends PrimitiveArrayFieldAccess {
+        DoubleArrayFieldAccess(@NotNull Field field) {
+            super(field);
+        }
+
+        @Override
+        protected void getValue(Object o, @NotNull ValueOut write, Object previous) {
+            @Nullable double[] array = (double[]) UNSAFE.getObject(o, offset);
+            if (array == null)
+                write.nu11();
+            else
+                write.float64array(array);
+        }
+
+        @Override
+        protected void setValue(Object o, @NotNull ValueIn read, boolean overwrite) {
+            UNSAFE.putObject(o, offset, read.float64array((double[]) UNSAFE.getObject(o, offset)));
+        }
+    }
+
     static class CollectionFieldAccess extends FieldAccess {
         @NotNull
         final Supplier<Collection> collectionSupplier;
         private final Class componentType;
         private final Class<?> type;
+        private final boolean reuseElements;
+        @NotNull
+        private final BiConsumer<List, ValueIn> reusingReader = this::readReusing;
 
         public CollectionFieldAccess(@NotNull Field field, Boolean isLeaf, @Nullable Supplier<Collection> collectionSupplier, Class componentType, Class<?> type) {
             super(field, isLeaf);
             this.collectionSupplier = collectionSupplier == null ? newInstance() : collectionSupplier;
             this.componentType = componentType;
             this.type = type;
+            reuseElements = field.isAnnotationPresent(ReuseElements.class);
         }
 
         @NotNull
@@ -473,12 +829,15 @@ public class WireMarshaller<T> {
         }
 
         @Override
-        void read(Object o, @NotNull WireIn in, boolean overwrite) throws IllegalAccessException {
-                @NotNull ValueIn read = in.read(key);
+        void readValue(Object o, @NotNull ValueIn read, boolean overwrite) throws IllegalAccessException {
                 Collection coll = (Collection) field.get(o);
                 if (coll == null) {
                     coll = collectionSupplier.get();
                     field.set(o, coll);
+                } else if (reuseElements && coll instanceof List) {
+                    if (!read.sequence((List) coll, reusingReader))
+                        field.set(o, null);
+                    return;
                 } else {
                     coll.clear();
                 }
@@ -490,6 +849,23 @@ public class WireMarshaller<T> {
                 }
         }
 
+        // reads element N into the existing element N, then trims the list to the elements read.
+        private void readReusing(@NotNull List list, @NotNull ValueIn in) {
+            int i = 0;
+            for (; in.hasNextSequenceItem(); i++) {
+                if (i < list.size()) {
+                    Object previous = list.get(i);
+                    Object element = in.object(reusable(previous, componentType, in), componentType);
+                    if (element != previous)
+                        list.set(i, element);
+                } else {
+                    list.add(in.object(componentType));
+                }
+            }
+            while (list.size() > i)
+                list.remove(list.size() - 1);
+        }
+
         @Override
         protected void setValue(Object o, ValueIn read, boolean overwrite) throws IllegalAccessException {
             throw new UnsupportedOperationException();
@@ -553,8 +929,7 @@ public class WireMarshaller<T> {
         }
 
         @Override
-        void read(Object o, @NotNull WireIn in, boolean overwrite) throws IllegalAccessException {
-                @NotNull ValueIn read = in.read(key);
+        void readValue(Object o, @NotNull ValueIn read, boolean overwrite) throws IllegalAccessException {
                 Collection coll = (Collection) field.get(o);
                 if (coll == null) {
                     coll = collectionSupplier.get();
@@ -579,12 +954,17 @@ public class WireMarshaller<T> {
     }
 
     static class MapFieldAccess extends FieldAccess {
+        // the keys read by each map being read with ReuseElements on this thread, nested maps after their parent's.
+        private static final ThreadLocal<List<Object>> KEYS_READ = ThreadLocal.withInitial(ArrayList::new);
+
         final Supplier<Map> collectionSupplier;
         private final Class<?> type;
         @NotNull
         private final Class keyType;
         @NotNull
         private final Class valueType;
+        @Nullable
+        private final SerializationStrategy<Map> reusingReader;
 
         MapFieldAccess(@NotNull Field field) {
             super(field);
@@ -606,6 +986,7 @@ public class WireMarshaller<T> {
                 keyType = Object.class;
                 valueType = Object.class;
             }
+            reusingReader = field.isAnnotationPresent(ReuseElements.class) ? new ReusingMapReader() : null;
         }
 
         @NotNull
@@ -624,12 +1005,15 @@ public class WireMarshaller<T> {
         }
 
         @Override
-        void read(Object o, @NotNull WireIn in, boolean overwrite) throws IllegalAccessException {
-                @NotNull ValueIn read = in.read(key);
+        void readValue(Object o, @NotNull ValueIn read, boolean overwrite) throws IllegalAccessException {
                 Map map = (Map) field.get(o);
                 if (map == null) {
                     map = collectionSupplier.get();
                     field.set(o, map);
+                } else if (reusingReader != null) {
+                    if (!read.marshallable(map, reusingReader))
+                        field.set(o, null);
+                    return;
                 } else {
                     map.clear();
                 }
@@ -646,6 +1030,281 @@ public class WireMarshaller<T> {
         public void getAsBytes(Object o, Bytes bytes) {
             throw new UnsupportedOperationException();
         }
+
+        // reads the value for each key into the existing value, then removes the keys which weren't read.
+        private final class ReusingMapReader implements SerializationStrategy<Map> {
+            @NotNull
+            @Override
+            public Map readUsing(@NotNull Map map, @NotNull ValueIn in) {
+                @NotNull WireIn wireIn = in.wireIn();
+                @NotNull List<Object> keysRead = KEYS_READ.get();
+                int start = keysRead.size();
+                try {
+                    while (in.hasNext()) {
+                        Object key = wireIn.readEvent(keyType);
+                        @NotNull ValueIn value = wireIn.getValueIn();
+                        Object previous = map.get(key);
+                        Object v = value.object(reusable(previous, valueType, value), valueType);
+                        if (v != previous || previous == null)
+                            map.put(key, v);
+                        keysRead.add(key);
+                    }
+                    if (map.size() > keysRead.size() - start)
+                        removeKeysNotRead(map, keysRead, start);
+                } finally {
+                    while (keysRead.size() > start)
+                        keysRead.remove(keysRead.size() - 1);
+                }
+                return map;
+            }
+
+            private void removeKeysNotRead(@NotNull Map map, @NotNull List<Object> keysRead, int start) {
+                map.keySet().retainAll(new HashSet<>(keysRead.subList(start, keysRead.size())));
+            }
+
+            @Override
+            public Map newInstance(Class type) {
+                return collectionSupplier.get();
+            }
+
+            @Override
+            public Class<Map> type() {
+                return Map.class;
+            }
+
+            @NotNull
+            @Override
+            public BracketType bracketType() {
+                return BracketType.MAP;
+            }
+        }
+    }
+
+    /**
+     * Writes and reads a list supported by a PrimitiveCollectionProvider as a sequence of int64,
+     * int32 or float64, without boxing each element.
+     */
+    static class PrimitiveListFieldAccess extends FieldAccess {
+        @NotNull
+        private final PrimitiveListAccess access;
+        @NotNull
+        private final BiConsumer<Object, ValueOut> writer;
+        @NotNull
+        private final BiConsumer<Object, ValueIn> reader;
+
+        PrimitiveListFieldAccess(@NotNull Field field, @NotNull PrimitiveListAccess access) {
+            super(field, true);
+            this.access = access;
+            Class<?> elementType = access.elementType();
+            if (elementType == long.class) {
+                writer = this::writeLongs;
+                reader = this::readLongs;
+            } else if (elementType == int.class) {
+                writer = this::writeInts;
+                reader = this::readInts;
+            } else if (elementType == double.class) {
+                writer = this::writeDoubles;
+                reader = this::readDoubles;
+            } else {
+                throw new IllegalArgumentException("Unsupported element type " + elementType + " for " + field);
+            }
+        }
+
+        private void writeLongs(@NotNull Object list, @NotNull ValueOut out) {
+            for (int i = 0, len = access.size(list); i < len; i++)
+                out.int64(access.getLong(list, i));
+        }
+
+        private void readLongs(@NotNull Object list, @NotNull ValueIn in) {
+            while (in.hasNextSequenceItem())
+                access.addLong(list, in.int64());
+        }
+
+        private void writeInts(@NotNull Object list, @NotNull ValueOut out) {
+            for (int i = 0, len = access.size(list); i < len; i++)
+                out.int32(access.getInt(list, i));
+        }
+
+        private void readInts(@NotNull Object list, @NotNull ValueIn in) {
+            while (in.hasNextSequenceItem())
+                access.addInt(list, in.int32());
+        }
+
+        private void writeDoubles(@NotNull Object list, @NotNull ValueOut out) {
+            for (int i = 0, len = access.size(list); i < len; i++)
+                out.float64(access.getDouble(list, i));
+        }
+
+        private void readDoubles(@NotNull Object list, @NotNull ValueIn in) {
+            while (in.hasNextSequenceItem())
+                access.addDouble(list, in.float64());
+        }
+
+        @Override
+        protected void getValue(Object o, @NotNull ValueOut write, Object previous) {
+            @Nullable Object list = UNSAFE.getObject(o, offset);
+            if (list == null)
+                write.nu11();
+            else
+                write.sequence(list, writer);
+        }
+
+        @Override
+        void readValue(Object o, @NotNull ValueIn read, boolean overwrite) {
+            @Nullable Object list = UNSAFE.getObject(o, offset);
+            if (list == null) {
+                list = access.newInstance();
+                UNSAFE.putObject(o, offset, list);
+            } else {
+                access.clear(list);
+            }
+            if (!read.sequence(list, reader))
+                UNSAFE.putObject(o, offset, null);
+        }
+
+        // the previous copy mustn't share the list, or changes to it wouldn't be seen.
+        @Override
+        protected void copy(Object from, Object to) {
+            @Nullable Object list = UNSAFE.getObject(from, offset);
+            UNSAFE.putObject(to, offset, list == null ? null : access.copyOf(list));
+        }
+
+        @Override
+        protected void setValue(Object o, ValueIn read, boolean overwrite) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void getAsBytes(Object o, Bytes bytes) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Writes and reads a map supported by a PrimitiveCollectionProvider as a marshallable of int64,
+     * int32 or float64 values, without boxing each value.
+     */
+    static class PrimitiveMapFieldAccess extends FieldAccess {
+        @NotNull
+        private final PrimitiveMapAccess access;
+        @NotNull
+        private final Class keyType;
+        @NotNull
+        private final Class<?> valueType;
+        @NotNull
+        private final PrimitiveMapAccess.LongEntryConsumer<WireOut> longWriter;
+        @NotNull
+        private final PrimitiveMapAccess.IntEntryConsumer<WireOut> intWriter;
+        @NotNull
+        private final PrimitiveMapAccess.DoubleEntryConsumer<WireOut> doubleWriter;
+        @NotNull
+        private final SerializationStrategy<Object> reader = new PrimitiveMapReader();
+
+        PrimitiveMapFieldAccess(@NotNull Field field, @NotNull PrimitiveMapAccess access) {
+            super(field, true);
+            this.access = access;
+            valueType = access.valueType();
+            if (valueType != long.class && valueType != int.class && valueType != double.class)
+                throw new IllegalArgumentException("Unsupported value type " + valueType + " for " + field);
+            Type genericType = field.getGenericType();
+            keyType = genericType instanceof ParameterizedType
+                    ? extractClass(((ParameterizedType) genericType).getActualTypeArguments()[0])
+                    : Object.class;
+            longWriter = (out, key, value) -> out.writeEvent(keyType, key).int64(value);
+            intWriter = (out, key, value) -> out.writeEvent(keyType, key).int32(value);
+            doubleWriter = (out, key, value) -> out.writeEvent(keyType, key).float64(value);
+        }
+
+        @Override
+        protected void getValue(Object o, @NotNull ValueOut write, Object previous) {
+            @Nullable Object map = UNSAFE.getObject(o, offset);
+            if (map == null) {
+                write.nu11();
+                return;
+            }
+            write.marshallable(out -> {
+                if (valueType == long.class)
+                    access.forEachLong(map, out, longWriter);
+                else if (valueType == int.class)
+                    access.forEachInt(map, out, intWriter);
+                else
+                    access.forEachDouble(map, out, doubleWriter);
+            });
+        }
+
+        @Override
+        void readValue(Object o, @NotNull ValueIn read, boolean overwrite) {
+            @Nullable Object map = UNSAFE.getObject(o, offset);
+            if (map == null) {
+                map = access.newInstance();
+                UNSAFE.putObject(o, offset, map);
+            } else {
+                access.clear(map);
+            }
+            if (!read.marshallable(map, reader))
+                UNSAFE.putObject(o, offset, null);
+        }
+
+        // the previous copy mustn't share the map, or changes to it wouldn't be seen.
+        @Override
+        protected void copy(Object from, Object to) {
+            @Nullable Object map = UNSAFE.getObject(from, offset);
+            UNSAFE.putObject(to, offset, map == null ? null : access.copyOf(map));
+        }
+
+        @Override
+        protected void setValue(Object o, ValueIn read, boolean overwrite) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void getAsBytes(Object o, Bytes bytes) {
+            throw new UnsupportedOperationException();
+        }
+
+        private final class PrimitiveMapReader implements SerializationStrategy<Object> {
+            @NotNull
+            @Override
+            public Object readUsing(@NotNull Object map, @NotNull ValueIn in) {
+                @NotNull WireIn wireIn = in.wireIn();
+                while (in.hasNext()) {
+                    Object key = wireIn.readEvent(keyType);
+                    @NotNull ValueIn value = wireIn.getValueIn();
+                    if (valueType == long.class)
+                        access.putLong(map, key, value.int64());
+                    else if (valueType == int.class)
+                        access.putInt(map, key, value.int32());
+                    else
+                        access.putDouble(map, key, value.float64());
+                }
+                return map;
+            }
+
+            @Override
+            public Object newInstance(Class type) {
+                return access.newInstance();
+            }
+
+            @Override
+            public Class<Object> type() {
+                return Object.class;
+            }
+
+            @NotNull
+            @Override
+            public BracketType bracketType() {
+                return BracketType.MAP;
+            }
+        }
+    }
+
+    /**
+     * @return the element to read into if it is a Marshallable of the element type and the value
+     * isn't typed, as a typed value may be of another class.
+     */
+    @Nullable
+    static Object reusable(@Nullable Object previous, @NotNull Class elementType, @NotNull ValueIn in) {
+        return previous instanceof ReadMarshallable && previous.getClass() == elementType && !in.isTyped() ? previous : null;
     }
 
     static class BooleanFieldAccess extends FieldAccess {
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.compiler.CompilerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Generates a WireMarshaller per class at first use. Primitive, String and StringBuilder fields are
+ * read and written in straight line code, other fields are passed to the reflective FieldAccess.
+ * <p>
+ * Enable with -DWireMarshaller.generate=true, if the class cannot be generated the reflective
+ * WireMarshaller is used.
+ */
+public enum WireMarshallerGenerator {
+    ;
+    static final boolean GENERATE = Boolean.getBoolean("WireMarshaller.generate");
+    private static final String PACKAGE = WireMarshaller.class.getPackage().getName();
+
+    @NotNull
+    public static <T> WireMarshaller<T> of(@NotNull Class<T> tClass) {
+        WireMarshaller<T> marshaller = WireMarshaller.of(tClass);
+        try {
+            return generate(tClass, marshaller);
+
+        } catch (Exception | LinkageError e) {
+            Jvm.debug().on(WireMarshallerGenerator.class, e);
+            return marshaller;
+        }
+    }
+
+    @NotNull
+    static <T> WireMarshaller<T> generate(@NotNull Class<T> tClass, @NotNull WireMarshaller<T> marshaller) throws Exception {
+        @NotNull String simpleName = tClass.getName().replace('.', '$') + "$WireMarshaller";
+        @NotNull String className = PACKAGE + '.' + simpleName;
+        ClassLoader classLoader = WireMarshaller.class.getClassLoader();
+        Class<?> gClass;
+        try {
+            gClass = classLoader.loadClass(className);
+        } catch (ClassNotFoundException e) {
+            gClass = CompilerUtils.CACHED_COMPILER.loadFromJava(classLoader, className,
+                    generateSource(simpleName, marshaller.fields));
+        }
+        Constructor<?> constructor = gClass.getConstructor(Class.class, WireMarshaller.FieldAccess[].class, boolean.class);
+        return (WireMarshaller<T>) constructor.newInstance(tClass, marshaller.fields, marshaller.isLeaf);
+    }
+
+    @NotNull
+    static String generateSource(@NotNull String simpleName, @NotNull WireMarshaller.FieldAccess[] fields) {
+        @NotNull StringBuilder keys = new StringBuilder();
+        @NotNull StringBuilder init = new StringBuilder();
+        @NotNull StringBuilder write = new StringBuilder();
+        @NotNull StringBuilder read = new StringBuilder();
+        boolean delegated = false;
+
+        for (int i = 0; i < fields.length; i++) {
+            WireMarshaller.FieldAccess fa = fields[i];
+            String name = '"' + fa.field.getName() + '"';
+            String offset = fa.offset + "L";
+            keys.append("    private final WireKey k").append(i).append(";\n");
+            init.append("        k").append(i).append(" = fields[").append(i).append("].key;\n");
+            @NotNull StringBuilder setValue = new StringBuilder();
+
+            if (fa instanceof WireMarshaller.BooleanFieldAccess) {
+                write.append("        out.write(").append(name).append(").bool(UNSAFE.getBoolean(t, ").append(offset).append("));\n");
+                setValue.append("            UNSAFE.putBoolean(t, ").append(offset).append(", read.bool());\n");
+
+            } else if (fa instanceof WireMarshaller.ByteFieldAccess) {
+                write.append("        out.write(").append(name).append(").int8(UNSAFE.getByte(t, ").append(offset).append("));\n");
+                setValue.append("            UNSAFE.putByte(t, ").append(offset).append(", read.int8());\n");
+
+            } else if (fa instanceof WireMarshaller.ShortFieldAccess) {
+                write.append("        out.write(").append(name).append(").int16(UNSAFE.getShort(t, ").append(offset).append("));\n");
+                setValue.append("            UNSAFE.putShort(t, ").append(offset).append(", read.int16());\n");
+
+            } else if (fa instanceof WireMarshaller.CharFieldAccess) {
+                write.append("        {\n")
+                        .append("            ValueOut v = out.write(").append(name).append(");\n")
+                        .append("            StringBuilder sb = Wires.acquireStringBuilder();\n")
+                        .append("            sb.append(UNSAFE.getChar(t, ").append(offset).append("));\n")
+                        .append("            v.text(sb);\n")
+                        .append("        }\n");
+                setValue.append("            UNSAFE.putChar(t, ").append(offset).append(", read.text().charAt(0));\n");
+
+            } else if (fa instanceof WireMarshaller.IntegerFieldAccess) {
+                write.append("        out.write(").append(name).append(").int32(UNSAFE.getInt(t, ").append(offset).append("));\n");
+                setValue.append("            UNSAFE.putInt(t, ").append(offset).append(", overwrite ? read.int32() : read.int32(UNSAFE.getInt(t, ").append(offset).append(")));\n");
+
+            } else if (fa instanceof WireMarshaller.FloatFieldAccess) {
+                write.append("        out.write(").append(name).append(").float32(UNSAFE.getFloat(t, ").append(offset).append("));\n");
+                setValue.append("            UNSAFE.putFloat(t, ").append(offset).append(", read.float32());\n");
+
+            } else if (fa instanceof WireMarshaller.LongFieldAccess) {
+                write.append("        out.write(").append(name).append(").int64(UNSAFE.getLong(t, ").append(offset).append("));\n");
+                setValue.append("            UNSAFE.putLong(t, ").append(offset).append(", overwrite ? read.int64() : read.int64(UNSAFE.getLong(t, ").append(offset).append(")));\n");
+
+            } else if (fa instanceof WireMarshaller.DoubleFieldAccess) {
+                write.append("        out.write(").append(name).append(").float64(UNSAFE.getDouble(t, ").append(offset).append("));\n");
+                setValue.append("            UNSAFE.putDouble(t, ").append(offset).append(", read.float64());\n");
+
+            } else if (fa instanceof WireMarshaller.StringFieldAccess) {
+                write.append("        out.write(").append(name).append(").text((String) UNSAFE.getObject(t, ").append(offset).append("));\n");
+                setValue.append("            UNSAFE.putObject(t, ").append(offset).append(", read.text());\n");
+
+            } else if (fa instanceof WireMarshaller.StringBuilderFieldAccess) {
+                write.append("        out.write(").append(name).append(").text((CharSequence) UNSAFE.getObject(t, ").append(offset).append("));\n");
+                setValue.append("        {\n")
+                        .append("            StringBuilder sb = (StringBuilder) UNSAFE.getObject(t, ").append(offset).append(");\n")
+                        .append("            if (sb == null)\n")
+                        .append("                UNSAFE.putObject(t, ").append(offset).append(", sb = new StringBuilder());\n")
+                        .append("            if (read.textTo(sb) == null)\n")
+                        .append("                UNSAFE.putObject(t, ").append(offset).append(", null);\n")
+                        .append("        }\n");
+
+            } else {
+                // collections, maps, arrays and nested objects keep the reflective path.
+                delegated = true;
+                write.append("        fields[").append(i).append("].write(t, out);\n");
+                read.append("        fields[").append(i).append("].read(t, in, overwrite);\n");
+                continue;
+            }
+            read.append("        read = in.read(k").append(i).append(");\n")
+                    .append("        if (overwrite || !(read instanceof DefaultValueIn))\n")
+                    .append(setValue);
+        }
+
+        @NotNull StringBuilder sb = new StringBuilder();
+        sb.append("package ").append(PACKAGE).append(";\n\n")
+                .append("import static net.openhft.chronicle.core.UnsafeMemory.UNSAFE;\n\n")
+                .append("public final class ").append(simpleName).append(" extends WireMarshaller<Object> {\n")
+                .append(keys).append('\n')
+                .append("    public ").append(simpleName).append("(Class tClass, WireMarshaller.FieldAccess[] fields, boolean isLeaf) {\n")
+                .append("        super(tClass, fields, isLeaf);\n")
+                .append(init)
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public void writeMarshallable(Object t, WireOut out) {\n");
+        appendBody(sb, write, delegated);
+        sb.append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public void readMarshallable(Object t, WireIn in, boolean overwrite) {\n")
+                .append("        ValueIn read;\n");
+        appendBody(sb, read, delegated);
+        sb.append("    }\n")
+                .append("}\n");
+        return sb.toString();
+    }
+
+    private static void appendBody(@NotNull StringBuilder sb, @NotNull CharSequence body, boolean delegated) {
+        if (delegated) {
+            sb.append("        try {\n");
+            // indent the body inside the try block
+            for (String line : body.toString().split("\n"))
+                sb.append("    ").append(line).append('\n');
+            sb.append("        } catch (IllegalAccessException e) {\n")
+                    .append("            throw new AssertionError(e);\n")
+                    .append("        }\n");
+        } else {
+            sb.append(body);
+        }
+    }
+}
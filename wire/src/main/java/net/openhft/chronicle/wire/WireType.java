@@ -274,6 +274,60 @@ public enum WireType implements Function<Bytes, Wire>, LicenceCheck {
         public Wire apply(@NotNull Bytes bytes) {
             return new ReadAnyWire(bytes);
         }
+    }, STOP_BIT_BINARY {
+        @NotNull
+        @Override
+        public Wire apply(Bytes bytes) {
+            return new BinaryWire(bytes).stopBitIntegers(true);
+        }
+
+        @NotNull
+        @Override
+        public String asString(Object marshallable) {
+            return asHexString(marshallable);
+        }
+
+        @Nullable
+        @Override
+        public <T> T fromString(@NotNull CharSequence cs) {
+            return fromHexString(cs);
+        }
+    }, DEFLATED_BINARY {
+        @NotNull
+        @Override
+        public Wire apply(Bytes bytes) {
+            return new BinaryWire(bytes).compressDocuments(null);
+        }
+
+        @NotNull
+        @Override
+        public String asString(Object marshallable) {
+            return asHexString(marshallable);
+        }
+
+        @Nullable
+        @Override
+        public <T> T fromString(@NotNull CharSequence cs) {
+            return fromHexString(cs);
+        }
+    }, STRUCT {
+        @NotNull
+        @Override
+        public Wire apply(Bytes bytes) {
+            return new StructWire(bytes);
+        }
+
+        @NotNull
+        @Override
+        public String asString(Object marshallable) {
+            return asHexString(marshallable);
+        }
+
+        @Nullable
+        @Override
+        public <T> T fromString(@NotNull CharSequence cs) {
+            return fromHexString(cs);
+        }
     };
 
     static final ThreadLocal<Bytes> bytesTL = ThreadLocal.withInitial(Bytes::allocateElasticDirect);
@@ -322,7 +376,15 @@ public enum WireType implements Function<Bytes, Wire>, LicenceCheck {
 
         if (wire instanceof BinaryWire) {
             @NotNull BinaryWire binaryWire = (BinaryWire) wire;
-            return binaryWire.fieldLess() ? FIELDLESS_BINARY : WireType.BINARY;
+            if (binaryWire.fieldLess())
+                return FIELDLESS_BINARY;
+            if (binaryWire.compressesDocuments())
+                return DEFLATED_BINARY;
+            return binaryWire.stopBitIntegers() ? STOP_BIT_BINARY : WireType.BINARY;
+        }
+
+        if (wire instanceof StructWire) {
+            return WireType.STRUCT;
         }
 
         if (wire instanceof RawWire) {
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A read only view of a BinaryWire document, which decodes a field only when its getter is called.
+ * <p>
+ * Declare an interface extending WireView with a getter, without arguments, named after each field
+ * needed, and use {@link #create(Class)} to generate an implementation.
+ * <pre>
+ * OrderView view = WireView.create(OrderView.class);
+ * view.bind(dc.wire().bytes());
+ * long id = view.id();
+ * </pre>
+ */
+public interface WireView {
+    @NotNull
+    static <V extends WireView> V create(@NotNull Class<V> viewType) {
+        return WireViewGenerator.newInstance(viewType);
+    }
+
+    /**
+     * Bind to the document between the readPosition and the readLimit of bytes. The position and
+     * limit are not changed, and the document must not be changed while the view is in use.
+     * <p>
+     * The document must be written with field names, and without a string or field dictionary.
+     */
+    void bind(@NotNull Bytes bytes);
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.compiler.CompilerUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the implementation of a WireView interface, with a getter for each field which reads
+ * it in place.
+ * <p>
+ * Primitives are read without boxing, and a CharSequence or StringBuilder getter returns a
+ * StringBuilder reused by the view, so reading these is allocation free. Other types are read with
+ * ValueIn.object().
+ */
+public enum WireViewGenerator {
+    ;
+
+    @NotNull
+    public static <V extends WireView> V newInstance(@NotNull Class<V> viewType) {
+        try {
+            return (V) acquireClass(viewType).newInstance();
+        } catch (Exception e) {
+            throw Jvm.rethrow(e);
+        }
+    }
+
+    @NotNull
+    static synchronized Class<?> acquireClass(@NotNull Class<?> viewType) throws ClassNotFoundException {
+        if (!viewType.isInterface() || !Modifier.isPublic(viewType.getModifiers()))
+            throw new IllegalArgumentException(viewType + " must be a public interface");
+        @NotNull List<Method> getters = gettersFor(viewType);
+
+        ClassLoader classLoader = viewType.getClassLoader();
+        @NotNull String packageName = viewType.getPackage() == null ? "" : viewType.getPackage().getName();
+        @NotNull String simpleName = viewType.getName().substring(packageName.isEmpty() ? 0 : packageName.length() + 1) + "$WireView";
+        @NotNull String className = packageName.isEmpty() ? simpleName : packageName + '.' + simpleName;
+        try {
+            return classLoader.loadClass(className);
+        } catch (ClassNotFoundException e) {
+            return CompilerUtils.CACHED_COMPILER.loadFromJava(classLoader, className,
+                    generateSource(packageName, simpleName, viewType, getters));
+        }
+    }
+
+    @NotNull
+    static List<Method> gettersFor(@NotNull Class<?> viewType) {
+        @NotNull List<Method> getters = new ArrayList<>();
+        for (@NotNull Method method : viewType.getMethods()) {
+            if (method.getDeclaringClass() == WireView.class || Modifier.isStatic(method.getModifiers()) || method.isDefault())
+                continue;
+            if (method.getParameterCount() != 0 || method.getReturnType() == void.class)
+                throw new IllegalArgumentException("A WireView can only have getters, not " + method);
+            getters.add(method);
+        }
+        return getters;
+    }
+
+    @NotNull
+    static String generateSource(@NotNull String packageName, @NotNull String simpleName,
+                                 @NotNull Class<?> viewType, @NotNull List<Method> getters) {
+        @NotNull StringBuilder names = new StringBuilder();
+        @NotNull StringBuilder fields = new StringBuilder();
+        @NotNull StringBuilder body = new StringBuilder();
+        for (int i = 0; i < getters.size(); i++) {
+            Method getter = getters.get(i);
+            Class<?> type = getter.getReturnType();
+            if (i > 0)
+                names.append(", ");
+            names.append('"').append(getter.getName()).append('"');
+
+            body.append("    @Override\n")
+                    .append("    public ").append(type.getCanonicalName()).append(' ').append(getter.getName()).append("() {\n")
+                    .append("        ValueIn in = read(").append(i).append(");\n")
+                    .append("        if (in == null)\n")
+                    .append("            return ").append(defaultValue(type)).append(";\n");
+            if (type == char.class || type == CharSequence.class || type == StringBuilder.class) {
+                fields.append("    private final StringBuilder sb").append(i).append(" = new StringBuilder();\n");
+                body.append("        StringBuilder text;\n")
+                        .append("        sb").append(i).append(".setLength(0);\n")
+                        .append("        try {\n")
+                        .append("            text = in.textTo(sb").append(i).append(");\n")
+                        .append("        } finally {\n")
+                        .append("            restore();\n")
+                        .append("        }\n");
+                if (type == char.class)
+                    body.append("        return text == null || text.length() == 0 ? (char) 0 : text.charAt(0);\n");
+                else
+                    body.append("        return text;\n");
+            } else {
+                body.append("        try {\n")
+                        .append("            return ").append(readValue(type)).append(";\n")
+                        .append("        } finally {\n")
+                        .append("            restore();\n")
+                        .append("        }\n");
+            }
+            body.append("    }\n\n");
+        }
+
+        @NotNull StringBuilder sb = new StringBuilder();
+        if (!packageName.isEmpty())
+            sb.append("package ").append(packageName).append(";\n\n");
+        sb.append("import net.openhft.chronicle.wire.*;\n\n")
+                .append("public final class ").append(simpleName).append(" extends AbstractWireView implements ")
+                .append(viewType.getCanonicalName()).append(" {\n")
+                .append(fields)
+                .append('\n')
+                .append("    public ").append(simpleName).append("() {\n")
+                .append("        super(").append(names).append(");\n")
+                .append("    }\n\n")
+                .append(body)
+                .append("}\n");
+        return sb.toString();
+    }
+
+    @NotNull
+    private static String readValue(@NotNull Class<?> type) {
+        switch (type.getName()) {
+            case "boolean":
+                return "in.bool()";
+            case "byte":
+                return "in.int8()";
+            case "short":
+                return "in.int16()";
+            case "int":
+                return "in.int32()";
+            case "long":
+                return "in.int64()";
+            case "float":
+                return "in.float32()";
+            case "double":
+                return "in.float64()";
+            case "java.lang.String":
+                return "in.text()";
+            default:
+                return "in.object(" + type.getCanonicalName() + ".class)";
+        }
+    }
+
+    @NotNull
+    private static String defaultValue(@NotNull Class<?> type) {
+        if (type == boolean.class)
+            return "false";
+        if (type == char.class)
+            return "(char) 0";
+        if (type.isPrimitive())
+            return "(" + type.getName() + ") 0";
+        return "null";
+    }
+}
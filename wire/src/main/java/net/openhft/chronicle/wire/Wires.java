@@ -88,6 +88,14 @@ public enum Wires {
         return strategy.read(in, tClass);
     }
 
+    /**
+     * Read only the fields given from the rest of a document, skipping the values of the others.
+     */
+    @NotNull
+    public static <T> T project(@NotNull WireIn in, @NotNull Class<T> tClass, @NotNull WireKey... keys) {
+        return new Projection<>(tClass, keys).read(in, null);
+    }
+
     /**
      * This decodes some Bytes where the first 4-bytes is the length.  e.g. Wire.writeDocument wrote
      * it. <a href="https://github.com/OpenHFT/RFC/tree/master/Size-Prefixed-Blob">Size Prefixed
@@ -423,10 +431,10 @@ public enum Wires {
                     return ScalarStrategy.of(UUID.class, (o, in) -> in.uuid());
 
                 case "java.math.BigInteger":
-                    return ScalarStrategy.text(BigInteger.class, BigInteger::new);
+                    return ScalarStrategy.of(BigInteger.class, (o, in) -> in.bigInteger());
 
                 case "java.math.BigDecimal":
-                    return ScalarStrategy.text(BigDecimal.class, BigDecimal::new);
+                    return ScalarStrategy.of(BigDecimal.class, (o, in) -> in.bigDecimal());
 
                 default:
                     if (aClass.isArray()) {
@@ -18,6 +18,7 @@ package net.openhft.chronicle.wire;
 
 import net.openhft.chronicle.bytes.Bytes;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import static net.openhft.chronicle.wire.Wires.toIntU30;
 
@@ -29,11 +30,17 @@ public class WriteDocumentContext implements DocumentContext {
     protected long position = -1;
     protected int tmpHeader;
     private int metaDataBit;
+    @Nullable
+    private DocumentCompression compression;
 
     public WriteDocumentContext(Wire wire) {
         this.wire = wire;
     }
 
+    void compression(@Nullable DocumentCompression compression) {
+        this.compression = compression;
+    }
+
     public void start(boolean metaData) {
         @NotNull Bytes<?> bytes = wire().bytes();
         this.position = bytes.writePosition();
@@ -55,6 +62,8 @@ public class WriteDocumentContext implements DocumentContext {
     @Override
     public void close() {
         @NotNull Bytes bytes = wire().bytes();
+        if (compression != null && bytes.writePosition() > position + 4)
+            compression.compress(bytes, position + 4);
         long position1 = bytes.writePosition();
         if (position1 < position)
             System.out.println("Message truncated from " + position + " to " + position1);
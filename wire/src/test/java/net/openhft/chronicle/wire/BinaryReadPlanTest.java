@@ -0,0 +1,127 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BinaryReadPlanTest {
+    @Test
+    public void learnsFieldOrder() {
+        @NotNull WireMarshaller<PlanData> marshaller = WireMarshaller.of(PlanData.class);
+        @NotNull Wire wire = new BinaryWire(Bytes.elasticByteBuffer());
+        @NotNull PlanData data = new PlanData();
+
+        for (int i = 0; i < 3; i++) {
+            wire.clear();
+            wire.write(() -> "id").int32(i)
+                    .write(() -> "name").text("name" + i)
+                    .write(() -> "price").float64(i + 0.5);
+            marshaller.readMarshallable(data, wire, true);
+            assertEquals(i, data.id);
+            assertEquals("name" + i, data.name);
+            assertEquals(i + 0.5, data.price, 0.0);
+        }
+        // the first read learns the order.
+        assertEquals(1, marshaller.readPlanFallbacks());
+        assertEquals(2, marshaller.readPlanHits());
+
+        // a different order is read by name.
+        wire.clear();
+        wire.write(() -> "price").float64(9.5)
+                .write(() -> "extra").text("ignored")
+                .write(() -> "id").int32(9)
+                .write(() -> "name").text("name9");
+        marshaller.readMarshallable(data, wire, true);
+        assertEquals(9, data.id);
+        assertEquals("name9", data.name);
+        assertEquals(9.5, data.price, 0.0);
+        assertEquals(2, marshaller.readPlanFallbacks());
+        assertEquals(2, marshaller.readPlanHits());
+
+        // a missing field is set to its default.
+        wire.clear();
+        wire.write(() -> "id").int32(10)
+                .write(() -> "name").text("name10");
+        marshaller.readMarshallable(data, wire, true);
+        assertEquals(10, data.id);
+        assertEquals("name10", data.name);
+        assertEquals(0.0, data.price, 0.0);
+    }
+
+    @Test
+    public void missingFieldAdded() {
+        @NotNull WireMarshaller<PlanData> marshaller = WireMarshaller.of(PlanData.class);
+        @NotNull Wire wire = new BinaryWire(Bytes.elasticByteBuffer());
+        @NotNull PlanData data = new PlanData();
+
+        wire.write(() -> "id").int32(1);
+        marshaller.readMarshallable(data, wire, true);
+        assertEquals(1, data.id);
+        assertNull(data.name);
+
+        // the plan learnt expects only "id" but the other fields must still be read.
+        wire.clear();
+        wire.write(() -> "id").int32(2)
+                .write(() -> "name").text("two")
+                .write(() -> "price").float64(2.5);
+        marshaller.readMarshallable(data, wire, true);
+        assertEquals(2, data.id);
+        assertEquals("two", data.name);
+        assertEquals(2.5, data.price, 0.0);
+    }
+
+    @Test
+    public void fieldNumbersOfAnotherWire() {
+        @NotNull WireMarshaller<PlanData> marshaller = WireMarshaller.of(PlanData.class);
+        @NotNull PlanData data = new PlanData();
+
+        // this wire numbers id, name and price as 0, 1 and 2, and a plan is learnt for them.
+        @NotNull BinaryWire wire1 = new BinaryWire(Bytes.elasticByteBuffer()).fieldDictionary(16);
+        for (int i = 0; i <= BinaryReadPlan.RELEARN_AFTER + 1; i++) {
+            wire1.write(() -> "id").int32(i)
+                    .write(() -> "name").text("name" + i)
+                    .write(() -> "price").float64(i + 0.5);
+            marshaller.readMarshallable(data, wire1, true);
+            assertEquals(i, data.id);
+        }
+        assertTrue(marshaller.readPlanHits() > 0);
+
+        // this wire numbers price, name and id as 0, 1 and 2, so the same field numbers mean other fields.
+        @NotNull BinaryWire wire2 = new BinaryWire(Bytes.elasticByteBuffer()).fieldDictionary(16);
+        for (int i = 0; i < 2; i++) {
+            wire2.write(() -> "price").float64(7.5)
+                    .write(() -> "name").text("seven")
+                    .write(() -> "id").int32(7);
+            marshaller.readMarshallable(data, wire2, true);
+            assertEquals(7, data.id);
+            assertEquals("seven", data.name);
+            assertEquals(7.5, data.price, 0.0);
+        }
+    }
+
+    static class PlanData extends AbstractMarshallable {
+        int id;
+        String name;
+        double price;
+    }
+}
@@ -0,0 +1,1149 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.*;
+import java.util.*;
+
+import static net.openhft.chronicle.bytes.NativeBytes.nativeBytes;
+import static org.junit.Assert.*;
+
+/**
+ * Created by peter.lawrey on 06/02/15.
+ */
+public class BinaryWire2Test {
+    @NotNull
+    Bytes bytes = nativeBytes();
+
+    @NotNull
+    private BinaryWire createWire() {
+        bytes.clear();
+        @NotNull BinaryWire wire = new BinaryWire(bytes, false, false, false, 32, "lzw");
+        assert wire.startUse();
+        return wire;
+    }
+
+    @Test
+    public void testBool() {
+        @NotNull Wire wire = createWire();
+        wire.write().bool(false)
+                .write().bool(true)
+                .write().bool(null);
+
+        wire.read().bool("error", Assert::assertFalse)
+                .read().bool("error", Assert::assertTrue)
+                .read().bool("error", Assert::assertNull);
+    }
+
+    @Test
+    @Ignore("TODO FIX")
+    public void testBytesStore() {
+        @NotNull Wire wire = createWire();
+        wire.write().object(Bytes.from("Hello"));
+
+        Bytes b = Bytes.elasticByteBuffer();
+        wire.read()
+                .object(b, Bytes.class);
+        assertEquals("Hello", b.toString());
+    }
+
+    @Test
+    public void testFloat32() {
+        @NotNull Wire wire = createWire();
+        wire.write().float32(0.0F)
+                .write().float32(Float.NaN)
+                .write().float32(Float.POSITIVE_INFINITY);
+
+        wire.read().float32(this, (o, t) -> assertEquals(0.0F, t, 0.0F))
+                .read().float32(this, (o, t) -> assertTrue(Float.isNaN(t)))
+                .read().float32(this, (o, t) -> assertEquals(Float.POSITIVE_INFINITY, t, 0.0F));
+    }
+
+    @Test
+    public void testTime() {
+        @NotNull Wire wire = createWire();
+        LocalTime now = LocalTime.now();
+        wire.write().time(now)
+                .write().time(LocalTime.MAX)
+                .write().time(LocalTime.MIN);
+
+        wire.read().time(now, Assert::assertEquals)
+                .read().time(LocalTime.MAX, Assert::assertEquals)
+                .read().time(LocalTime.MIN, Assert::assertEquals);
+    }
+
+    @Test
+    public void testZonedDateTime() {
+        @NotNull Wire wire = createWire();
+        @NotNull ZonedDateTime now = ZonedDateTime.now();
+        @NotNull ZonedDateTime max = ZonedDateTime.of(LocalDateTime.MAX, ZoneId.systemDefault());
+        @NotNull ZonedDateTime min = ZonedDateTime.of(LocalDateTime.MIN, ZoneId.systemDefault());
+        wire.write().zonedDateTime(now)
+                .write().zonedDateTime(max)
+                .write().zonedDateTime(min);
+
+        wire.read().zonedDateTime(now, Assert::assertEquals)
+                .read().zonedDateTime(max, Assert::assertEquals)
+                .read().zonedDateTime(min, Assert::assertEquals);
+    }
+
+    @Test
+    public void testDate() {
+        @NotNull Wire wire = createWire();
+        @NotNull LocalDate now = LocalDate.now();
+        wire.write().date(now)
+                .write().date(LocalDate.MAX)
+                .write().date(LocalDate.MIN);
+
+        wire.read().date(now, Assert::assertEquals)
+                .read().date(LocalDate.MAX, Assert::assertEquals)
+                .read().date(LocalDate.MIN, Assert::assertEquals);
+    }
+
+    @Test
+    public void testUuid() {
+        @NotNull Wire wire = createWire();
+        @NotNull UUID uuid = UUID.randomUUID();
+        wire.write().uuid(uuid)
+                .write().uuid(new UUID(0, 0))
+                .write().uuid(new UUID(Long.MAX_VALUE, Long.MAX_VALUE));
+
+        wire.read().uuid(this, (o, t) -> assertEquals(uuid, t))
+                .read().uuid(this, (o, t) -> assertEquals(new UUID(0, 0), t))
+                .read().uuid(this, (o, t) -> assertEquals(new UUID(Long.MAX_VALUE, Long.MAX_VALUE), t));
+    }
+
+    @Test
+    public void testSequence() {
+        @NotNull Wire wire = createWire();
+        writeMessage(wire);
+
+        System.out.println(wire.bytes().toHexString());
+
+        @NotNull Wire twire = new TextWire(Bytes.elasticByteBuffer());
+        writeMessage(twire);
+
+        System.out.println(Wires.fromSizePrefixedBlobs(twire.bytes()));
+    }
+
+    private void writeMessage(@NotNull WireOut wire) {
+        wire.writeDocument(true, w -> w
+                .write("csp").text("//path/service")
+                .write("tid").int64(123456789));
+        wire.writeDocument(false, w -> w
+                .write("entrySet").sequence(s -> {
+                    s.marshallable(m -> m
+                            .write("key").text("key-1")
+                            .write("value").text("value-1"));
+                    s.marshallable(m -> m
+                            .write("key").text("key-2")
+                            .write("value").text("value-2"));
+                }));
+    }
+
+    @Test
+    public void testSequenceContext() {
+        @NotNull Wire wire = createWire();
+        writeMessageContext(wire);
+
+        System.out.println(wire.bytes().toHexString());
+
+        @NotNull Wire twire = new TextWire(Bytes.elasticByteBuffer());
+        writeMessageContext(twire);
+
+        System.out.println(Wires.fromSizePrefixedBlobs(twire.bytes()));
+    }
+
+    private void writeMessageContext(@NotNull WireOut wire) {
+        try (DocumentContext _ = wire.writingDocument(true)) {
+            wire.write("csp").text("//path/service")
+                    .write("tid").int64(123456789);
+        }
+        try (DocumentContext _ = wire.writingDocument(false)) {
+            wire.write("entrySet").sequence(s -> {
+                s.marshallable(m -> m
+                        .write("key").text("key-1")
+                        .write("value").text("value-1"));
+                s.marshallable(m -> m
+                        .write("key").text("key-2")
+                        .write("value").text("value-2"));
+            });
+        }
+    }
+
+    @Test
+    public void testEnum() {
+        @NotNull Wire wire = createWire();
+        wire.write().object(WireType.BINARY)
+                .write().object(WireType.TEXT)
+                .write().object(WireType.RAW);
+
+        assertEquals(WireType.BINARY, wire.read()
+                .object(Object.class));
+        assertEquals(WireType.TEXT, wire.read().object(Object.class));
+        assertEquals(WireType.RAW, wire.read().object(Object.class));
+    }
+
+    @Test
+    public void fieldAfterText() {
+        @NotNull Wire wire = createWire();
+        wire.writeDocument(false, w -> w.write("data")
+                .typePrefix("!UpdateEvent").marshallable(
+                        v -> v.write("assetName").text("/name")
+                                .write("key").object("test")
+                                .write("oldValue").object("world1")
+                                .write("value").object("world2")));
+
+        assertEquals("--- !!data #binary\n" +
+                "data: !!UpdateEvent {\n" +
+                "  assetName: /name,\n" +
+                "  key: test,\n" +
+                "  oldValue: world1,\n" +
+                "  value: world2\n" +
+                "}\n", Wires.fromSizePrefixedBlobs(wire.bytes()));
+
+        wire.readDocument(null, w -> w.read(() -> "data").typePrefix(this, (o, t) -> assertEquals("!UpdateEvent", t.toString())).marshallable(
+                m -> m.read(() -> "assetName").object(String.class, "/name", Assert::assertEquals)
+                        .read(() -> "key").object(String.class, "test", Assert::assertEquals)
+                        .read(() -> "oldValue").object(String.class, "world1", Assert::assertEquals)
+                        .read(() -> "value").object(String.class, "world2", Assert::assertEquals)));
+    }
+
+    @Test
+    public void fieldAfterNull() {
+        @NotNull Wire wire = createWire();
+        wire.writeDocument(false, w -> w.write("data").typedMarshallable("!UpdateEvent",
+                v -> v.write("assetName").text("/name")
+                        .write("key").object("test")
+                        .write("oldValue").object(null)
+                        .write("value").object("world2")));
+
+        assertEquals("--- !!data #binary\n" +
+                "data: !!UpdateEvent {\n" +
+                "  assetName: /name,\n" +
+                "  key: test,\n" +
+                "  oldValue: !!null \"\",\n" +
+                "  value: world2\n" +
+                "}\n", Wires.fromSizePrefixedBlobs(wire.bytes()));
+
+        wire.readDocument(null, w -> w.read(() -> "data").typePrefix(this, (o, t) -> assertEquals("!UpdateEvent", t.toString())).marshallable(
+                m -> m.read(() -> "assetName").object(String.class, "/name", Assert::assertEquals)
+                        .read(() -> "key").object(String.class, "test", Assert::assertEquals)
+                        .read(() -> "oldValue").object(String.class, "error", Assert::assertNull)
+                        .read(() -> "value").object(String.class, "world2", Assert::assertEquals)));
+    }
+
+    @Test
+    public void fieldAfterNullContext() {
+        @NotNull Wire wire = createWire();
+        try (DocumentContext _ = wire.writingDocument(true)) {
+            wire.write("tid").int64(1234567890L);
+        }
+
+        try (DocumentContext _ = wire.writingDocument(false)) {
+            wire.write("data").typedMarshallable("!UpdateEvent",
+                    v -> v.write("assetName").text("/name")
+                            .write("key").object("test")
+                            .write("oldValue").object(null)
+                            .write("value").object("world2"));
+        }
+
+        assertEquals("--- !!meta-data #binary\n" +
+                "tid: 1234567890\n" +
+                "# position: 13\n" +
+                "--- !!data #binary\n" +
+                "data: !!UpdateEvent {\n" +
+                "  assetName: /name,\n" +
+                "  key: test,\n" +
+                "  oldValue: !!null \"\",\n" +
+                "  value: world2\n" +
+                "}\n", Wires.fromSizePrefixedBlobs(wire.bytes()));
+        try (DocumentContext context = wire.readingDocument()) {
+            assertTrue(context.isPresent());
+            assertTrue(context.isMetaData());
+            Assert.assertEquals(1234567890L, wire.read(() -> "tid").int64());
+        }
+        try (DocumentContext context = wire.readingDocument()) {
+            assertTrue(context.isPresent());
+            assertTrue(context.isData());
+            wire.read(() -> "data").typePrefix(this, (o, t) -> assertEquals("!UpdateEvent", t.toString())).marshallable(
+                    m -> m.read(() -> "assetName").object(String.class, "/name", Assert::assertEquals)
+                            .read(() -> "key").object(String.class, "test", Assert::assertEquals)
+                            .read(() -> "oldValue").object(String.class, "error", Assert::assertNull)
+                            .read(() -> "value").object(String.class, "world2", Assert::assertEquals));
+        }
+        try (DocumentContext context = wire.readingDocument()) {
+            assertFalse(context.isPresent());
+        }
+    }
+
+    @Test
+    public void readDemarshallable() {
+        @NotNull Wire wire = createWire();
+        try (DocumentContext $ = wire.writingDocument(true)) {
+            wire.getValueOut().typedMarshallable(new DemarshallableObject("test", 12345));
+        }
+
+        assertEquals("--- !!meta-data #binary\n" +
+                "!net.openhft.chronicle.wire.DemarshallableObject {\n" +
+                "  name: test,\n" +
+                "  value: !int 12345\n" +
+                "}\n", Wires.fromSizePrefixedBlobs(wire.bytes()));
+
+        try (DocumentContext $ = wire.readingDocument()) {
+            @Nullable DemarshallableObject dobj = wire.getValueIn().typedMarshallable();
+            assertEquals("test", dobj.name);
+            assertEquals(12345, dobj.value);
+        }
+    }
+
+    @Test
+    public void testSnappyCompressWithSnappy() throws IOException {
+        @NotNull Wire wire = createWire();
+        @NotNull String str = "xxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx";
+
+        wire.write("message").compress("snappy", str);
+
+        wire.bytes().readPosition(0);
+        @Nullable String str2 = wire.read(() -> "message").text();
+        assertEquals(str, str2);
+
+        wire.bytes().readPosition(0);
+        Bytes asText = Bytes.elasticByteBuffer();
+        wire.copyTo(new TextWire(asText));
+        assertEquals("message: xxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx\n", asText.toString());
+    }
+
+    @Test
+    @Ignore("Todo fix")
+    public void testSnappyCompressWithSnappy2() throws IOException {
+        @NotNull Wire wire = createWire();
+        Bytes str = Bytes.from("xxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx");
+
+        wire.write("message").compress("snappy", str);
+
+        wire.bytes().readPosition(0);
+        @Nullable String str2 = wire.read(() -> "message").text();
+        assertEquals(str.toString(), str2);
+
+        wire.bytes().readPosition(0);
+        Bytes asText = Bytes.elasticByteBuffer();
+        wire.copyTo(new TextWire(asText));
+        assertEquals("message: # snappy\n" +
+                "xxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx\n", asText.toString());
+    }
+
+    @Ignore
+    @Test
+    public void testCompression() {
+        for (@NotNull String comp : "binary,gzip,lzw".split(",")) {
+            bytes.clear();
+
+            @NotNull Wire wire = new BinaryWire(bytes, false, false, false, 32, comp);
+            assert wire.startUse();
+            @NotNull String str = "xxxxxxxxxxxxxxxx2xxxxxxxxxxxxxxxxxxxxxxxxxxyyyyyyyyyyyyyyyyyyyyyy2yyyyyyyyyyyyyyyyy";
+            BytesStore bytes = BytesStore.from(str);
+
+            wire.write().bytes(bytes);
+            System.out.println(comp + ": str.length() = " + str.length() + ", wire.bytes().readRemaining() = " + wire.bytes().readRemaining());
+            if (!comp.equals("binary"))
+                assertTrue(wire.bytes().readRemaining() + " >= " + str.length(),
+                        wire.bytes().readRemaining() < str.length());
+
+            wire.bytes().readPosition(0);
+            @Nullable BytesStore bytesStore = wire.read()
+                    .bytesStore();
+            assert bytesStore != null;
+            assertEquals(bytes.toDebugString(), bytesStore.toDebugString());
+        }
+    }
+
+    @Test
+    public void testByteArrayValueWithRealBytesNegative() {
+        @NotNull Wire wire = createWire();
+
+        @NotNull final byte[] expected = {-1, -2, -3, -4, -5, -6, -7};
+        wire.writeDocument(false, wir -> wir.writeEventName(() -> "put")
+                .marshallable(w -> w.write("key").text("1")
+                        .write("value")
+                        .object(expected)));
+        System.out.println(wire);
+
+        wire.readDocument(null, wir -> wire.read(() -> "put")
+                .marshallable(w -> w.read(() -> "key").object(Object.class, "1", Assert::assertEquals)
+                        .read(() -> "value").object(Object.class, expected, (e, v) -> {
+                            Assert.assertArrayEquals(e, (byte[]) v);
+                        })));
+    }
+
+    @Test
+    public void testBytesArray() {
+        @NotNull Wire wire = createWire();
+        @NotNull Random rand = new Random();
+        for (int i = 0; i < 70000; i += rand.nextInt(i + 1) + 1) {
+            System.out.println(i);
+            wire.clear();
+            @NotNull final byte[] fromBytes = new byte[i];
+            wire.writeDocument(false, w -> w.write("bytes").bytes(fromBytes));
+            Wires.fromSizePrefixedBlobs(wire);
+            int finalI = i;
+            wire.readDocument(null, w -> assertEquals(finalI, w.read(() -> "bytes").bytes().length));
+        }
+    }
+
+    @Test
+    public void testSmallArray() {
+        @NotNull Wire wire = createWire();
+        wire.writeDocument(false, w -> w.write("index")
+                .int64array(10));
+        assertEquals("--- !!data #binary\n" +
+                "index: [\n" +
+                "  # length: 10, used: 0\n" +
+                "  0, 0, 0, 0, 0, 0, 0, 0, 0, 0\n" +
+                "]\n", Wires.fromSizePrefixedBlobs(wire.bytes()));
+    }
+
+    @Test
+    public void testTypeLiteral() {
+        @NotNull Wire wire = createWire();
+        wire.writeDocument(false, w -> w.write("a").typeLiteral(String.class)
+                .write("b").typeLiteral(int.class)
+                .write("c").typeLiteral(byte[].class)
+                .write("d").typeLiteral(Double[].class)
+                .write("z").typeLiteral((Class) null));
+        assertEquals("--- !!data #binary\n" +
+                "a: !type String\n" +
+                "b: !type int\n" +
+                "c: !type \"byte[]\"\n" +
+                "d: !type \"[Ljava.lang.Double;\"\n" +
+                "z: !!null \"\"\n", Wires.fromSizePrefixedBlobs(wire.bytes()));
+    }
+
+    @Test
+    public void testByteArray() {
+        @NotNull Wire wire = createWire();
+        wire.writeDocument(false, w -> w.write("nothing").object(new byte[0]));
+        @NotNull byte[] one = {1};
+        wire.writeDocument(false, w -> w.write("one").object(one));
+        @NotNull byte[] four = {1, 2, 3, 4};
+        wire.writeDocument(false, w -> w.write("four").object(four));
+
+        assertEquals("--- !!data #binary\n" +
+                        "nothing: !byte[] \"\"\n" +
+                        "# position: 23\n" +
+                        "--- !!data #binary\n" +
+                        "one: !byte[] !!binary AQ==\n" +
+                        "\n" +
+                        "# position: 43\n" +
+                        "--- !!data #binary\n" +
+                        "four: !byte[] !!binary AQIDBA==\n" +
+                        "\n"
+                , Wires.fromSizePrefixedBlobs(wire.bytes()));
+        wire.readDocument(null, w -> assertArrayEquals(new byte[0], (byte[]) w.read(() -> "nothing").object()));
+        wire.readDocument(null, w -> assertArrayEquals(one, (byte[]) w.read(() -> "one").object()));
+        wire.readDocument(null, w -> assertArrayEquals(four, (byte[]) w.read(() -> "four").object()));
+    }
+
+    @Test
+    public void testObjectKeys() {
+        @NotNull Map<MyMarshallable, String> map = new LinkedHashMap<>();
+        map.put(new MyMarshallable("key1"), "value1");
+        map.put(new MyMarshallable("key2"), "value2");
+
+        @NotNull Wire wire = createWire();
+        @NotNull final MyMarshallable parent = new MyMarshallable("parent");
+        wire.writeDocument(false, w -> w.writeEvent(MyMarshallable.class, parent).object(map));
+
+        assertEquals("--- !!data #binary\n" +
+                        "? { MyField: parent }: {\n" +
+                        "  ? !net.openhft.chronicle.wire.MyMarshallable { MyField: key1 }: value1,\n" +
+                        "  ? !net.openhft.chronicle.wire.MyMarshallable { MyField: key2 }: value2\n" +
+                        "}\n"
+                , Wires.fromSizePrefixedBlobs(wire.bytes()));
+
+        wire.readDocument(null, w -> {
+            MyMarshallable mm = w.readEvent(MyMarshallable.class);
+            assertEquals(parent.toString(), mm.toString());
+            parent.equals(mm);
+            assertEquals(parent, mm);
+            @Nullable final Map map2 = w.getValueIn()
+                    .object(Map.class);
+            assertEquals(map, map2);
+        });
+    }
+
+    @Test
+    public void testBytesLiteral() {
+        @NotNull Wire wire = new BinaryWire(Bytes.elasticByteBuffer());
+        wire.write("test").text("Hello World");
+
+        @NotNull final BinaryWire wire1 = createWire();
+        wire1.writeDocument(false, (WireOut w) -> w.write(() -> "nested")
+                .bytesLiteral(wire.bytes()));
+
+        assertEquals("--- !!data #binary\n" +
+                "nested: {\n" +
+                "  test: Hello World\n" +
+                "}\n", Wires.fromSizePrefixedBlobs(wire1));
+
+        wire1.readDocument(null, w -> {
+            @Nullable final BytesStore bytesStore = w.read(() -> "nested")
+                    .bytesLiteral();
+            assertEquals(wire.bytes(), bytesStore);
+        });
+    }
+
+    @Test
+    public void testWriteMap() {
+        @NotNull Wire wire = new BinaryWire(Bytes.elasticByteBuffer());
+
+        @NotNull Map<String, Object> putMap = new HashMap<String, Object>();
+        putMap.put("TestKey", "TestValue");
+        putMap.put("TestKey2", 1.0);
+
+        wire.writeAllAsMap(String.class, Object.class, putMap);
+
+        @NotNull Map<String, Object> newMap = new HashMap<String, Object>();
+
+        wire.readAllAsMap(String.class, Object.class, newMap);
+
+        Assert.assertEquals(putMap, newMap);
+
+    }
+
+    @Test
+    public void skipValue() {
+        skipValue(new BinaryWire(Bytes.elasticByteBuffer()));
+        skipValue(new BinaryWire(Bytes.elasticByteBuffer(), false, false, true, Integer.MAX_VALUE, "binary"));
+        skipValue(new BinaryWire(Bytes.elasticByteBuffer(), true, false, false, Integer.MAX_VALUE, "binary"));
+        // the big number, FIXEDn, epoch, STOP_BIT and TYPE_ID codes.
+        skipValue(new BinaryWire(Bytes.elasticByteBuffer())
+                .compactBigNumbers(true)
+                .fixedPoint(4)
+                .epochTime(true)
+                .stopBitIntegers(true)
+                .typeIds(new TypeIds().register(MyTypesCustom.class, 1)));
+    }
+
+    private void skipValue(@NotNull Wire wire) {
+        wire.write(() -> "a").int8((byte) 1)
+                .write(() -> "b").int16((short) 1000)
+                .write(() -> "c").int32(100000)
+                .write(() -> "d").int64(1L << 40)
+                .write(() -> "e").float64(1.5)
+                .write(() -> "f").text("short")
+                .write(() -> "g").text("a longer piece of text, more than 32 characters")
+                .write(() -> "h").uuid(new UUID(1, 2))
+                .write(() -> "i").date(LocalDate.of(2016, 11, 1))
+                .write(() -> "j").typedMarshallable(new MyTypesCustom())
+                .write(() -> "k").sequence(v -> v.int32(1).int32(2))
+                .write(() -> "l").marshallable(w -> w.write(() -> "m").marshallable(w2 -> w2.write(() -> "n").text("deep")))
+                .write(() -> "o").bigDecimal(new BigDecimal("1.25"))
+                .write(() -> "p").bigDecimal(new BigDecimal("12345678901234567890123.5"))
+                .write(() -> "q").bigInteger(BigInteger.valueOf(1000))
+                .write(() -> "r").bigInteger(BigInteger.ONE.shiftLeft(100))
+                .write(() -> "s").float64(1.25)
+                .write(() -> "t").time(LocalTime.of(12, 30, 15))
+                .write(() -> "u").dateTime(LocalDateTime.of(2016, 11, 1, 12, 30))
+                .write(() -> "v").zonedDateTime(ZonedDateTime.of(2016, 11, 1, 12, 30, 0, 0, ZoneId.of("Europe/London")))
+                .write(() -> "w").int16array(new short[]{1, 2, 3})
+                .write(() -> "x").int32array(new int[]{1, 2, 3})
+                .write(() -> "y").float32array(new float[]{1, 2, 3})
+                .write(() -> "z").float64array(new double[]{1, 2, 3})
+                .write(() -> "last").int32(42);
+
+        // every value is skipped to exactly the start of the next field.
+        long start = wire.bytes().readPosition();
+        @NotNull StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 24; i++)
+            wire.read(sb).skipValue();
+        assertEquals(42, wire.read(() -> "last").int32());
+        assertEquals(0, wire.bytes().readRemaining());
+
+        // and out of order, which a field-less wire can't do.
+        if (!((BinaryWire) wire).fieldLess()) {
+            wire.bytes().readPosition(start);
+            assertEquals(42, wire.read(() -> "last").int32());
+        }
+    }
+
+    @Test
+    public void stringDictionary() {
+        @NotNull Bytes bytes = Bytes.elasticByteBuffer();
+        @NotNull BinaryWire wire = new BinaryWire(bytes).stringDictionary(2);
+        @NotNull String[] symbols = {"EURUSD", "EURUSD", "GBPUSD", "EURUSD", "USDJPY", "GBPUSD", "EURUSD", "abc"};
+        for (String symbol : symbols) {
+            long start = bytes.writePosition();
+            wire.write(() -> "sym").text(symbol);
+            // once seen, only the code and number are written after the field.
+            if (symbol.equals("EURUSD") && start > 0)
+                assertTrue(bytes.writePosition() - start < 4 + 1 + symbol.length());
+        }
+
+        // a reader only needs the dictionary enabled, and can skip an anchor.
+        @NotNull BinaryWire reader = new BinaryWire(bytes.bytesForRead()).stringDictionary(1);
+        @NotNull StringBuilder sb = new StringBuilder();
+        reader.read(() -> "sym").skipValue();
+        for (int i = 1; i < symbols.length; i++)
+            assertEquals(symbols[i], reader.read(() -> "sym").textTo(sb).toString());
+        assertEquals(0, reader.bytes().readRemaining());
+
+        for (String symbol : symbols)
+            assertEquals(symbol, wire.read(() -> "sym").text());
+
+        @NotNull Wire text = new TextWire(Bytes.elasticByteBuffer());
+        new BinaryWire(bytes.bytesForRead()).stringDictionary(1).copyTo(text);
+        for (String symbol : symbols)
+            assertTrue(text.toString().contains("sym: " + symbol));
+    }
+
+    @Test(expected = IORuntimeException.class)
+    public void aliasWithoutStringDictionary() {
+        @NotNull Bytes bytes = Bytes.elasticByteBuffer();
+        new BinaryWire(bytes).stringDictionary(2).write(() -> "sym").text("EURUSD");
+        new BinaryWire(bytes.bytesForRead()).read(() -> "sym").text();
+    }
+
+    @Test
+    public void stringDictionaryCleared() {
+        @NotNull BinaryWire wire = new BinaryWire(Bytes.elasticByteBuffer()).stringDictionary(2);
+        wire.write(() -> "sym").text("EURUSD");
+        assertEquals("EURUSD", wire.read(() -> "sym").text());
+
+        // written in full again, so a reader of what was written after clear() can read it.
+        wire.clear();
+        wire.write(() -> "sym").text("EURUSD");
+        @NotNull BinaryWire reader = new BinaryWire(wire.bytes().bytesForRead()).stringDictionary(1);
+        assertEquals("EURUSD", reader.read(() -> "sym").text());
+    }
+
+    @Test
+    public void fieldDictionary() {
+        @NotNull Bytes bytes = Bytes.elasticByteBuffer();
+        @NotNull BinaryWire wire = new BinaryWire(bytes).fieldDictionary(16);
+        wire.write(() -> "symbol").text("EURUSD")
+                .write(() -> "price").float64(1.5);
+        long first = bytes.writePosition();
+        wire.write(() -> "symbol").text("EURUSD")
+                .write(() -> "price").float64(2.5);
+        // the second time, each name is written as a two byte field number.
+        assertEquals(first - 9 - 8 + 2 + 2, bytes.writePosition() - first);
+
+        // any reader can read the names, in or out of order.
+        @NotNull BinaryWire reader = new BinaryWire(bytes.bytesForRead());
+        assertEquals("EURUSD", reader.read(() -> "symbol").text());
+        assertEquals(1.5, reader.read(() -> "price").float64(), 0.0);
+        assertEquals(2.5, reader.read(() -> "price").float64(), 0.0);
+        assertEquals("EURUSD", reader.read(() -> "symbol").text());
+
+        @NotNull Wire text = new TextWire(Bytes.elasticByteBuffer());
+        new BinaryWire(bytes.bytesForRead()).copyTo(text);
+        assertEquals("symbol: EURUSD\n" +
+                "price: 1.5\n" +
+                "symbol: EURUSD\n" +
+                "price: 2.5\n", text.toString());
+    }
+
+    @Test
+    public void fieldDictionaryMarshallable() {
+        @NotNull BinaryWire wire = new BinaryWire(Bytes.elasticByteBuffer()).fieldDictionary(16);
+        @NotNull FieldData data = new FieldData();
+        @NotNull FieldData read = new FieldData();
+        for (int i = 0; i < 20; i++) {
+            wire.clear();
+            data.symbol = "sym" + i;
+            data.price = i;
+            wire.getValueOut().marshallable(data);
+            wire.getValueIn().marshallable(read);
+            assertEquals(data, read);
+        }
+    }
+
+    @Test
+    public void fixedPoint() {
+        @NotNull double[] values = {1.2345, -0.5, 123456.789, 0.1, 99.99, 1e-7, Math.PI, 1.5};
+        @NotNull Bytes bytes = Bytes.elasticByteBuffer();
+        @NotNull BinaryWire wire = new BinaryWire(bytes).fixedPoint(6);
+        @NotNull Bytes floatBytes = Bytes.elasticByteBuffer();
+        @NotNull BinaryWire floatWire = new BinaryWire(floatBytes);
+        for (double value : values) {
+            wire.write().float64(value);
+            floatWire.write().float64(value);
+        }
+        assertTrue(bytes.readRemaining() < floatBytes.readRemaining());
+
+        bytes.clear();
+        wire.write().float64(1.2345);
+        // the field code, FIXED4 and 12345 as a stop bit number.
+        assertEquals(1 + 1 + 2, bytes.readRemaining());
+        assertEquals(1.2345, wire.read().float64(), 0.0);
+
+        bytes.clear();
+        for (double value : values)
+            wire.write().float64(value);
+        for (double value : values)
+            assertEquals(value, wire.read().float64(), 0.0);
+
+        // text is the same as for a float.
+        bytes.readPosition(0);
+        @NotNull Wire text = new TextWire(Bytes.elasticByteBuffer());
+        wire.copyTo(text);
+        @NotNull Wire floatText = new TextWire(Bytes.elasticByteBuffer());
+        floatWire.copyTo(floatText);
+        assertEquals(floatText.toString(), text.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fixedPointTooManyDecimals() {
+        new BinaryWire(Bytes.elasticByteBuffer()).fixedPoint(7);
+    }
+
+    @Test
+    public void typedArrays() {
+        typedArrays(new BinaryWire(Bytes.elasticByteBuffer()));
+        // on the heap, the values are copied one at a time.
+        typedArrays(new BinaryWire(Bytes.wrapForWrite(new byte[256])));
+    }
+
+    private void typedArrays(@NotNull BinaryWire wire) {
+        @NotNull short[] shorts = {Short.MIN_VALUE, -1, 0, 1, Short.MAX_VALUE};
+        @NotNull int[] ints = {Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE};
+        @NotNull float[] floats = {Float.MIN_VALUE, -1, 0, 1.5f, Float.NaN};
+        @NotNull double[] doubles = {Double.MIN_VALUE, -1, 0, 1.5, Double.MAX_VALUE};
+
+        long start = wire.bytes().writePosition();
+        wire.write(() -> "i").int32array(ints);
+        // the field, the code, the length and the values.
+        assertEquals(2 + 1 + 1 + 5 * 4, wire.bytes().writePosition() - start);
+        wire.write(() -> "s").int16array(shorts)
+                .write(() -> "f").float32array(floats, 4)
+                .write(() -> "d").float64array(doubles)
+                .write(() -> "last").int32(42);
+
+        @NotNull int[] using = new int[5];
+        assertSame(using, wire.read(() -> "i").int32array(using));
+        assertArrayEquals(ints, using);
+        assertArrayEquals(shorts, wire.read(() -> "s").int16array(null));
+        assertArrayEquals(Arrays.copyOf(floats, 4), wire.read(() -> "f").float32array(null), 0.0f);
+        assertArrayEquals(doubles, wire.read(() -> "d").float64array(null), 0.0);
+        assertEquals(42, wire.read(() -> "last").int32());
+    }
+
+    @Test
+    public void typedArrayFields() {
+        @NotNull BinaryWire wire = new BinaryWire(Bytes.elasticByteBuffer());
+        @NotNull ArrayData data = new ArrayData();
+        data.ladder = new int[]{100, 101, 102};
+        data.prices = new double[]{1.5, 2.5};
+        wire.getValueOut().marshallable(data);
+
+        @NotNull ArrayData read = new ArrayData();
+        wire.getValueIn().marshallable(read);
+        assertArrayEquals(data.ladder, read.ladder);
+        assertArrayEquals(data.prices, read.prices, 0.0);
+        assertNull(read.volumes);
+
+        wire.bytes().readPosition(0);
+        @NotNull Wire text = new TextWire(Bytes.elasticByteBuffer());
+        wire.copyTo(text);
+        assertTrue(text.toString(), text.toString().contains("[1.5, 2.5]"));
+    }
+
+    static class ArrayData extends AbstractMarshallable {
+        int[] ladder;
+        double[] prices;
+        short[] volumes;
+    }
+
+    @Test
+    public void epochTime() {
+        @NotNull LocalDate date = LocalDate.of(2016, 11, 1);
+        @NotNull LocalTime time = LocalTime.of(12, 54, 4, 612 * 1000000);
+        @NotNull LocalDateTime dateTime = LocalDateTime.of(date, time);
+        @NotNull ZonedDateTime zoned = ZonedDateTime.of(dateTime, ZoneId.of("Europe/London"));
+
+        @NotNull Bytes textBytes = Bytes.elasticByteBuffer();
+        @NotNull BinaryWire textTimes = new BinaryWire(textBytes);
+        @NotNull Bytes bytes = Bytes.elasticByteBuffer();
+        @NotNull BinaryWire wire = new BinaryWire(bytes).epochTime(true);
+        for (@NotNull BinaryWire w : new BinaryWire[]{textTimes, wire}) {
+            w.write(() -> "date").date(date)
+                    .write(() -> "time").time(time)
+                    .write(() -> "dateTime").dateTime(dateTime)
+                    .write(() -> "zoned").zonedDateTime(zoned)
+                    .write(() -> "max").zonedDateTime(ZonedDateTime.of(LocalDateTime.MAX, ZoneOffset.UTC))
+                    .write(() -> "min").date(LocalDate.MIN);
+        }
+        assertTrue(bytes.readRemaining() < textBytes.readRemaining());
+
+        // text is the same either way.
+        @NotNull Wire text = new TextWire(Bytes.elasticByteBuffer());
+        wire.copyTo(text);
+        @NotNull Wire expected = new TextWire(Bytes.elasticByteBuffer());
+        textTimes.copyTo(expected);
+        assertEquals(expected.toString(), text.toString());
+
+        // both forms can be read.
+        for (@NotNull BinaryWire w : new BinaryWire[]{textTimes, wire}) {
+            w.bytes().readPosition(0);
+            assertEquals(date, w.read(() -> "date").date());
+            w.read(() -> "time").time(time, Assert::assertEquals);
+            assertEquals(dateTime, w.read(() -> "dateTime").object());
+            assertEquals(zoned, w.read(() -> "zoned").zonedDateTime());
+            assertEquals(ZonedDateTime.of(LocalDateTime.MAX, ZoneOffset.UTC), w.read(() -> "max").zonedDateTime());
+            assertEquals(LocalDate.MIN, w.read(() -> "min").object(LocalDate.class));
+        }
+
+        // a date read again is not created again.
+        bytes.clear();
+        wire.write().date(date).write().date(date);
+        @Nullable LocalDate first = wire.read().date();
+        assertEquals(date, first);
+        assertSame(first, wire.read().date());
+    }
+
+    @Test
+    public void stopBitIntegers() {
+        @NotNull long[] values = {0, 127, 200, -1, 20000, 1000000, -1000000, 1L << 40, Long.MIN_VALUE, Long.MAX_VALUE};
+        @NotNull Bytes bytes = Bytes.elasticByteBuffer();
+        @NotNull Wire wire = WireType.STOP_BIT_BINARY.apply(bytes);
+        assertEquals(WireType.STOP_BIT_BINARY, WireType.valueOf(wire));
+        @NotNull Bytes intBytes = Bytes.elasticByteBuffer();
+        @NotNull Wire intWire = new BinaryWire(intBytes);
+        for (long value : values) {
+            wire.write().int64(value);
+            intWire.write().int64(value);
+        }
+        assertTrue(bytes.readRemaining() < intBytes.readRemaining());
+
+        bytes.clear();
+        wire.write().int32(1000000);
+        // the field code, STOP_BIT and 1000000 as a stop bit number.
+        assertEquals(1 + 1 + 3, bytes.readRemaining());
+        assertEquals(1000000, wire.read().int32());
+
+        bytes.clear();
+        for (long value : values)
+            wire.write().int64(value);
+        for (long value : values)
+            assertEquals(value, wire.read().int64());
+
+        // text is the same as for the INT codes.
+        bytes.readPosition(0);
+        @NotNull Wire text = new TextWire(Bytes.elasticByteBuffer());
+        wire.copyTo(text);
+        @NotNull Wire intText = new TextWire(Bytes.elasticByteBuffer());
+        intWire.copyTo(intText);
+        assertEquals(intText.toString(), text.toString());
+    }
+
+    @Test
+    public void compressDocuments() {
+        @NotNull Bytes typical = Bytes.elasticByteBuffer();
+        writeFieldData(new BinaryWire(typical), 0);
+        @NotNull byte[] dictionary = typical.toByteArray();
+
+        @NotNull Bytes plainBytes = Bytes.elasticByteBuffer();
+        @NotNull Wire plain = new BinaryWire(plainBytes);
+        @NotNull Bytes deflatedBytes = Bytes.elasticByteBuffer();
+        @NotNull Wire deflated = WireType.DEFLATED_BINARY.apply(deflatedBytes);
+        assertEquals(WireType.DEFLATED_BINARY, WireType.valueOf(deflated));
+        @NotNull Bytes bytes = Bytes.elasticByteBuffer();
+        @NotNull Wire wire = new BinaryWire(bytes).compressDocuments(dictionary);
+        for (int i = 0; i < 10; i++) {
+            writeFieldData(plain, i);
+            writeFieldData(deflated, i);
+            writeFieldData(wire, i);
+        }
+        // a document too short to be deflated on its own is left as it is.
+        assertTrue(deflatedBytes.readRemaining() <= plainBytes.readRemaining());
+        assertTrue(bytes.readRemaining() < plainBytes.readRemaining() / 2);
+
+        @NotNull FieldData data = new FieldData();
+        for (@NotNull Wire w : new Wire[]{deflated, wire}) {
+            for (int i = 0; i < 10; i++) {
+                try (DocumentContext dc = w.readingDocument()) {
+                    assertTrue(dc.isPresent());
+                    dc.wire().read(() -> "data").marshallable(data);
+                    assertEquals("EURUSD", data.symbol);
+                    assertEquals(1.1 + i, data.price, 0.0);
+                    assertEquals(i, dc.wire().read(() -> "count").int32());
+                }
+            }
+            try (DocumentContext dc = w.readingDocument()) {
+                assertFalse(dc.isPresent());
+            }
+        }
+
+        // the reader needs the dictionary.
+        bytes.readPosition(0);
+        try (DocumentContext dc = new BinaryWire(bytes).compressDocuments(null).readingDocument()) {
+            fail("read " + dc.wire());
+        } catch (IORuntimeException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void readCompressedDocuments() {
+        @NotNull Bytes typical = Bytes.elasticByteBuffer();
+        writeFieldData(new BinaryWire(typical), 0);
+        @NotNull byte[] dictionary = typical.toByteArray();
+
+        @NotNull Bytes bytes = Bytes.elasticByteBuffer();
+        @NotNull BinaryWire wire = new BinaryWire(bytes).compressDocuments(dictionary);
+        for (int i = 0; i < 3; i++)
+            writeFieldData(wire, i);
+        assertEquals(BinaryWireCode.DEFLATED, bytes.readUnsignedByte(4));
+
+        @NotNull FieldData data = new FieldData();
+        for (int i = 0; i < 3; i++) {
+            int count = i;
+            assertTrue(wire.readDocument(null, w -> {
+                w.read(() -> "data").marshallable(data);
+                assertEquals(1.1 + count, data.price, 0.0);
+                assertEquals(count, w.read(() -> "count").int32());
+            }));
+        }
+
+        // the document is read with the object pool of the wire it is in.
+        @NotNull ObjectPool pool = new ObjectPool();
+        wire.objectPool(pool);
+        bytes.readPosition(0);
+        try (DocumentContext dc = wire.readingDocument()) {
+            assertSame(pool, dc.wire().objectPool());
+        }
+    }
+
+    @Test
+    public void compressDocumentsWithoutDictionaries() {
+        try {
+            createWire().stringDictionary(16).compressDocuments(null);
+            fail();
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+        try {
+            createWire().compressDocuments(null).fieldDictionary(16);
+            fail();
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+        // turning a dictionary off is fine.
+        createWire().compressDocuments(null).stringDictionary(0);
+    }
+
+    private static void writeFieldData(@NotNull Wire wire, int i) {
+        @NotNull FieldData data = new FieldData();
+        data.symbol = "EURUSD";
+        data.price = 1.1 + i;
+        try (DocumentContext dc = wire.writingDocument(false)) {
+            dc.wire().write(() -> "data").marshallable(data)
+                    .write(() -> "comment").text("a document with many small, highly similar fields")
+                    .write(() -> "count").int32(i);
+        }
+    }
+
+    @Test
+    public void compressDirect() {
+        @NotNull String str = "Hello World, Hello World, Hello World, Hello World, Hello World, Hello World";
+        for (@NotNull String compression : "lzw,gzip".split(",")) {
+            @NotNull Wire wire = createWire();
+            for (int i = 1; i <= 4; i++)
+                wire.write(() -> "message").compress(compression, Bytes.from(str));
+
+            wire.bytes().readPosition(0);
+            assertEquals(str, wire.read(() -> "message").text());
+            @NotNull Bytes direct = Bytes.allocateElasticDirect();
+            assertEquals(str, wire.read(() -> "message").textTo(direct).toString());
+            @NotNull StringBuilder sb = new StringBuilder();
+            wire.read(() -> "message").textTo(sb);
+            assertEquals(str, sb.toString());
+            direct.clear();
+            wire.read(() -> "message").bytes(direct);
+            assertEquals(str, direct.toString());
+            assertFalse(wire.hasMore());
+        }
+    }
+
+    @Test
+    public void objectDispatch() {
+        @NotNull Wire wire = createWire();
+        @NotNull Map<String, Object> map = new TreeMap<>();
+        map.put("a", 1);
+        map.put("b", "two");
+        @NotNull Object[] values = {1, 2L, "three", 4.5, new int[]{6, 7}, map};
+        for (Object value : values)
+            wire.write(() -> "value").object(value);
+
+        for (Object value : values) {
+            @Nullable Object o = wire.read(() -> "value").object();
+            if (value instanceof int[])
+                assertArrayEquals((int[]) value, (int[]) o);
+            else
+                assertEquals(value, o);
+        }
+        assertSame(ObjectWriter.WRITERS.get(Integer.class), ObjectWriter.WRITERS.get(Integer.class));
+        assertSame(ObjectReader.READERS.get(String.class), ObjectReader.READERS.get(String.class));
+    }
+
+    @Test
+    public void compactBigNumbers() {
+        @NotNull BigDecimal amount = new BigDecimal("1234.56");
+        @NotNull BigInteger large = BigInteger.ONE.shiftLeft(100).negate();
+        @NotNull BigDecimal precise = new BigDecimal(large, 20);
+
+        @NotNull BinaryWire wire = createWire();
+        wire.write(() -> "amount").object(amount);
+        long textSize = bytes.writePosition();
+
+        wire = createWire().compactBigNumbers(true);
+        wire.write(() -> "amount").object(amount);
+        assertTrue(bytes.writePosition() < textSize);
+        wire.write(() -> "amount").object(amount);
+        wire.write(() -> "large").object(large);
+        wire.write(() -> "precise").object(precise);
+        wire.write(() -> "count").object(BigInteger.TEN);
+
+        @Nullable BigDecimal first = wire.read(() -> "amount").object(BigDecimal.class);
+        assertEquals(amount, first);
+        // the same value fitting in a long is only created once.
+        assertSame(first, wire.read(() -> "amount").object(BigDecimal.class));
+        assertEquals(large, wire.read(() -> "large").object());
+        assertEquals(precise, wire.read(() -> "precise").object(BigDecimal.class));
+        assertEquals(BigInteger.TEN, wire.read(() -> "count").object(BigInteger.class));
+        assertFalse(wire.hasMore());
+
+        wire.bytes().readPosition(0);
+        @NotNull Wire text = new TextWire(Bytes.elasticByteBuffer());
+        wire.copyTo(text);
+        assertTrue(text.toString(), text.toString().contains("1234.56"));
+    }
+
+    @Test
+    public void objectPool() {
+        @NotNull BinaryWire wire = createWire();
+        for (int i = 0; i < 4; i++) {
+            @NotNull FieldData data = new FieldData();
+            data.symbol = i == 1 ? null : "EURUSD";
+            data.price = 1.1 + i;
+            wire.write(() -> "data").typedMarshallable(data);
+        }
+
+        @NotNull ObjectPool pool = new ObjectPool();
+        wire.objectPool(pool);
+        @Nullable FieldData first = wire.read(() -> "data").typedMarshallable();
+        assertEquals("EURUSD", first.symbol);
+        pool.release(first);
+        assertEquals(1, pool.available(FieldData.class));
+
+        @Nullable FieldData second = wire.read(() -> "data").typedMarshallable();
+        assertSame(first, second);
+        assertNull(second.symbol);
+        assertEquals(2.1, second.price, 0.0);
+        pool.release(second);
+
+        @Nullable FieldData third = wire.read(() -> "data").object(FieldData.class);
+        assertSame(first, third);
+        assertEquals("EURUSD", third.symbol);
+
+        // nothing released, so a new one is created.
+        @Nullable FieldData fourth = wire.read(() -> "data").typedMarshallable();
+        assertNotSame(third, fourth);
+        assertEquals(4.1, fourth.price, 0.0);
+    }
+
+    @Test
+    public void typeIds() {
+        @NotNull TypeIds ids = new TypeIds().register(FieldData.class, 1);
+        @NotNull BinaryWire wire = createWire().typeIds(ids);
+        @NotNull FieldData data = new FieldData();
+        data.symbol = "EURUSD";
+        data.price = 1.5;
+        wire.write(() -> "data").typedMarshallable(data);
+        // the field name, then the type as one byte of id.
+        assertEquals(BinaryWireCode.TYPE_ID, bytes.readUnsignedByte(5));
+        assertEquals(1, bytes.readUnsignedByte(6));
+        wire.write(() -> "data").object(data);
+        for (int i = 0; i < 2; i++)
+            wire.write(() -> "type").typeLiteral(FieldData.class);
+
+        assertEquals(data, wire.read(() -> "data").typedMarshallable());
+        assertEquals(data, wire.read(() -> "data").object());
+        assertEquals(FieldData.class, wire.read(() -> "type").typeLiteral());
+        assertEquals(FieldData.class, wire.read(() -> "type").typeLiteral());
+        assertFalse(wire.hasMore());
+
+        wire.bytes().readPosition(0);
+        @NotNull Wire text = new TextWire(Bytes.elasticByteBuffer());
+        wire.copyTo(text);
+        assertTrue(text.toString(), text.toString().contains("FieldData"));
+    }
+
+    @Test
+    public void textView() {
+        @NotNull Wire wire = new BinaryWire(nativeBytes());
+        wire.write("clOrdId").text("ORD-000123");
+        wire.write("tag").text("caf\u00e9 \u20ac10");
+        wire.write("long").text("a client order id longer than thirty one bytes");
+        wire.write("none").text(null);
+
+        @NotNull TextView view = new TextView();
+        @Nullable TextView clOrdId = wire.read(() -> "clOrdId").textView(view);
+        assertSame(view, clOrdId);
+        assertSame(wire.bytes().bytesStore(), view.bytesStore());
+        assertEquals("ORD-000123", view.toString());
+        assertEquals(10, view.length());
+        assertEquals('1', view.charAt(7));
+
+        @NotNull Wire wire2 = new BinaryWire(nativeBytes());
+        wire2.write("clOrdId").text(view);
+
+        @NotNull TextView tag = new TextView();
+        wire.read(() -> "tag").textView(tag);
+        assertEquals("caf\u00e9 \u20ac10", tag.toString());
+        assertEquals(8, tag.length());
+        assertEquals('\u20ac', tag.charAt(5));
+        wire2.write("tag").text(tag);
+
+        @NotNull TextView longer = new TextView();
+        wire.read(() -> "long").textView(longer);
+        assertEquals("a client order id longer than thirty one bytes", longer.toString());
+        wire2.write("long").text(longer);
+        assertNull(wire.read(() -> "none").textView(new TextView()));
+
+        assertEquals("ORD-000123", wire2.read(() -> "clOrdId").text());
+        assertEquals("caf\u00e9 \u20ac10", wire2.read(() -> "tag").text());
+        assertEquals("a client order id longer than thirty one bytes", wire2.read(() -> "long").text());
+    }
+
+    static class FieldData extends AbstractMarshallable {
+        String symbol;
+        double price;
+    }
+}
@@ -29,6 +29,7 @@ import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 
 /**
  * Created by peter on 16/03/16.
@@ -74,6 +75,54 @@ public class DefaultMarshallerTest {
         assertEquals(oc, oc2);
     }
 
+    @Test
+    public void testTextViewField() {
+        @NotNull DMOrder order = new DMOrder();
+        order.clOrdId = new TextView();
+        @NotNull Wire in = new BinaryWire(Bytes.elasticByteBuffer());
+        in.write("clOrdId").text("ORD-1");
+        in.write("qty").int32(100);
+
+        order.readMarshallable(in);
+        assertEquals("ORD-1", order.clOrdId.toString());
+        assertSame(in.bytes().bytesStore(), order.clOrdId.bytesStore());
+
+        @NotNull Wire out = new BinaryWire(Bytes.elasticByteBuffer());
+        order.writeMarshallable(out);
+        assertEquals("ORD-1", out.read(() -> "clOrdId").text());
+        assertEquals(100, out.read(() -> "qty").int32());
+    }
+
+    @Test
+    public void testReuseElements() {
+        @NotNull DMReusingClass snapshot = new DMReusingClass();
+        for (int i = 0; i < 3; i++) {
+            snapshot.nested.add(new DMNestedClass("n" + i, i));
+            snapshot.map.put("k" + i, new DMNestedClass("v" + i, i));
+        }
+        @NotNull Wire wire = new BinaryWire(Bytes.elasticByteBuffer());
+        snapshot.writeMarshallable(wire);
+
+        @NotNull DMReusingClass read = new DMReusingClass();
+        read.readMarshallable(wire);
+        assertEquals(snapshot, read);
+        DMNestedClass first = read.nested.get(0);
+        DMNestedClass value = read.map.get("k1");
+
+        // fewer elements, some of them changed.
+        snapshot.nested.remove(2);
+        snapshot.nested.get(0).num = 10;
+        snapshot.map.remove("k2");
+        snapshot.map.get("k1").str = "changed";
+        wire.clear();
+        snapshot.writeMarshallable(wire);
+
+        read.readMarshallable(wire);
+        assertEquals(snapshot, read);
+        assertSame(first, read.nested.get(0));
+        assertSame(value, read.map.get("k1"));
+    }
+
     static class DMOuterClass extends AbstractMarshallable {
         String text;
         boolean b;
@@ -109,6 +158,18 @@ public class DefaultMarshallerTest {
         }
     }
 
+    static class DMOrder extends AbstractMarshallable {
+        TextView clOrdId;
+        int qty;
+    }
+
+    static class DMReusingClass extends AbstractMarshallable {
+        @ReuseElements
+        List<DMNestedClass> nested = new ArrayList<>();
+        @ReuseElements
+        Map<String, DMNestedClass> map = new LinkedHashMap<>();
+    }
+
     static class DMNestedClass extends AbstractMarshallable {
         String str;
         int num;
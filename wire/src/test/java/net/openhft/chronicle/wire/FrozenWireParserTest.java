@@ -0,0 +1,126 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FrozenWireParserTest {
+    @NotNull
+    private static WireParser<List<String>> parser() {
+        @NotNull WireParser<List<String>> parser = WireParser.wireParser((s, v, out) -> out.add("unknown " + s + " " + v.text()));
+        for (@NotNull String name : new String[]{"price", "qty", "side", "symbol", "a", "bb", "ccc", "dddd"}) {
+            parser.register(() -> name, (s, v, out) -> out.add(s + " " + v.text()));
+        }
+        return parser.freeze();
+    }
+
+    @Test
+    public void lookup() {
+        @NotNull WireParser<List<String>> parser = parser();
+        assertTrue(parser instanceof FrozenWireParser);
+        assertNotNull(parser.lookup("price"));
+        assertNotNull(parser.lookup(new StringBuilder("dddd")));
+        assertNull(parser.lookup("price2"));
+        assertNotNull(parser.lookup("symbol".hashCode()));
+        assertNull(parser.lookup(1));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void register() {
+        parser().register(() -> "extra", (s, v, out) -> {
+        });
+    }
+
+    @Test
+    public void parseBinary() {
+        parse(new BinaryWire(Bytes.elasticByteBuffer()), "other");
+    }
+
+    @Test
+    public void parseNumericFields() {
+        parse(new BinaryWire(Bytes.elasticByteBuffer(), false, true, false, Integer.MAX_VALUE, "binary"), Integer.toString("other".hashCode()));
+    }
+
+    @Test
+    public void parseText() {
+        parse(new TextWire(Bytes.elasticByteBuffer()), "other");
+    }
+
+    @Test
+    public void parseMethodWriterInPlace() {
+        @NotNull String longName = "aFieldNameTooLongForAFieldNameCode";
+        @NotNull Wire wire = new BinaryWire(Bytes.elasticByteBuffer());
+        FWPQuotes writer = new MarshallableOut() {
+            @NotNull
+            @Override
+            public DocumentContext writingDocument() {
+                return wire.writingDocument(false);
+            }
+
+            @Override
+            public boolean recordHistory() {
+                return false;
+            }
+        }.methodWriter(FWPQuotes.class);
+        writer.price("1.25");
+        writer.symbol("EURUSD");
+        wire.writeDocument(false, w -> w.write(() -> longName).text("long"));
+        assertEquals(BinaryWireCode.EVENT_NAME, wire.bytes().readUnsignedByte(4));
+
+        @NotNull WireParser<List<String>> parser = WireParser.wireParser((s, v, out) -> out.add("unknown " + s));
+        for (@NotNull String name : new String[]{"price", "symbol", longName}) {
+            parser.register(() -> name, (s, v, out) -> {
+                // matched in place, so given the name registered rather than a copy.
+                assertTrue(s instanceof String);
+                out.add(s + " " + v.text());
+            });
+        }
+        parser = parser.freeze();
+
+        @NotNull List<String> events = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            try (DocumentContext dc = wire.readingDocument()) {
+                parser.accept(dc.wire(), events);
+            }
+        }
+        assertEquals("[price 1.25, symbol EURUSD, " + longName + " long]", events.toString());
+    }
+
+    private void parse(@NotNull Wire wire, String unknown) {
+        wire.write(() -> "symbol").text("EURUSD")
+                .write(() -> "price").text("1.25")
+                .write(() -> "other").text("x")
+                .write(() -> "qty").text("1000");
+
+        @NotNull List<String> events = new ArrayList<>();
+        parser().accept(wire, events);
+        assertEquals("[symbol EURUSD, price 1.25, unknown " + unknown + " x, qty 1000]", events.toString());
+    }
+
+    public interface FWPQuotes {
+        void price(String price);
+
+        void symbol(String symbol);
+    }
+}
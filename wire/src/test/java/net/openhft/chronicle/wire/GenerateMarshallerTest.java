@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GenerateMarshallerTest {
+    @Test
+    public void findsGeneratedMarshaller() {
+        assertTrue(WireMarshaller.WIRE_MARSHALLER_CL.get(GeneratedPojo.class) instanceof GeneratedPojo$$WireMarshaller);
+    }
+
+    @Test
+    public void sameAsReflective() {
+        @NotNull GeneratedPojo pojo = new GeneratedPojo().price(12.5);
+        pojo.id = 1;
+        pojo.name = "name";
+        pojo.tags.add("tag");
+
+        @NotNull Wire reflective = new TextWire(Bytes.elasticByteBuffer());
+        WireMarshaller.of(GeneratedPojo.class).writeMarshallable(pojo, reflective);
+        @NotNull Wire generated = new TextWire(Bytes.elasticByteBuffer());
+        pojo.writeMarshallable(generated);
+        assertEquals(reflective.toString(), generated.toString());
+
+        @NotNull GeneratedPojo pojo2 = new GeneratedPojo();
+        pojo2.readMarshallable(generated);
+        assertEquals(pojo, pojo2);
+    }
+
+    @Test
+    public void sameLeafAsReflective() {
+        assertEquals(WireMarshaller.of(GeneratedPojo.class).isLeaf,
+                WireMarshaller.WIRE_MARSHALLER_CL.get(GeneratedPojo.class).isLeaf);
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GeneratedPojo$$WireMarshaller is generated by chronicle-wire-processor when the tests are compiled.
+ */
+@GenerateMarshaller
+public class GeneratedPojo extends AbstractMarshallable {
+    int id;
+    private double price;
+    String name;
+    List<String> tags = new ArrayList<>();
+    // set with UNSAFE as a final field can't be assigned.
+    final long created = System.nanoTime();
+
+    public GeneratedPojo price(double price) {
+        this.price = price;
+        return this;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MethodReaderGeneratorTest {
+    @Test
+    public void generatedDispatch() {
+        @NotNull MRHandler handler = new MRHandler();
+        assertNotNull(MethodReaderGenerator.newInstance((s, v, $) -> {
+        }, handler));
+
+        @NotNull Wire wire = new TextWire(Bytes.elasticByteBuffer());
+        MRListener writer = new MarshallableOut() {
+            @NotNull
+            @Override
+            public DocumentContext writingDocument() {
+                return wire.writingDocument(false);
+            }
+
+            @Override
+            public boolean recordHistory() {
+                return false;
+            }
+        }.methodWriter(MRListener.class);
+        writer.price(1.5);
+        writer.trade(10, new MRTrade("sym", 2));
+        writer.price(2.5);
+        writer.trade(11, new MRTrade("sym2", 3));
+
+        @NotNull MethodReader reader = new MethodReader(true, wire::readingDocument, handler);
+        for (int i = 0; i < 4; i++)
+            assertTrue(reader.readOne());
+        assertFalse(reader.readOne());
+        assertEquals("[price 1.5, trade 10 sym 2, price 2.5, trade 11 sym2 3]", handler.events.toString());
+        // the arguments of a method with more than one are read fresh, as the handler may keep them.
+        assertNotSame(handler.trades.get(0), handler.trades.get(1));
+        assertEquals("sym", handler.trades.get(0).symbol);
+    }
+
+    @Test
+    public void layoutInClassName() throws ClassNotFoundException {
+        @NotNull MRHandler handler = new MRHandler();
+        @NotNull WireParselet<Void> parselet = (s, v, $) -> {
+        };
+        @NotNull Object[] handlerFirst = {handler, parselet};
+        @NotNull Object[] parseletFirst = {parselet, handler};
+        // the generated code casts each object by position, so these can't share a class.
+        Class<?> first = MethodReaderGenerator.acquireClass(handlerFirst, MethodReaderGenerator.methodsFor(handlerFirst));
+        Class<?> second = MethodReaderGenerator.acquireClass(parseletFirst, MethodReaderGenerator.methodsFor(parseletFirst));
+        assertNotSame(first, second);
+        assertSame(first, MethodReaderGenerator.acquireClass(handlerFirst, MethodReaderGenerator.methodsFor(handlerFirst)));
+    }
+
+    public interface MRListener {
+        void price(double price);
+
+        void trade(long id, MRTrade trade);
+    }
+
+    public static class MRTrade extends AbstractMarshallable {
+        String symbol;
+        int qty;
+
+        MRTrade(String symbol, int qty) {
+            this.symbol = symbol;
+            this.qty = qty;
+        }
+    }
+
+    public static class MRHandler implements MRListener {
+        final List<String> events = new ArrayList<>();
+        final List<MRTrade> trades = new ArrayList<>();
+
+        @Override
+        public void price(double price) {
+            events.add("price " + price);
+        }
+
+        @Override
+        public void trade(long id, MRTrade trade) {
+            events.add("trade " + id + " " + trade.symbol + " " + trade.qty);
+            trades.add(trade);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class MethodWriterGeneratorTest {
+    private static void writeAll(@NotNull MWEvents events) {
+        events.none();
+        events.price(1.5);
+        events.count('x', 12345678901L);
+        events.data(new MWData("hello", 42));
+    }
+
+    @NotNull
+    private static MarshallableOut marshallableOut(@NotNull Wire wire) {
+        return new MarshallableOut() {
+            @NotNull
+            @Override
+            public DocumentContext writingDocument() {
+                return wire.writingDocument(false);
+            }
+
+            @Override
+            public boolean recordHistory() {
+                return false;
+            }
+        };
+    }
+
+    @Test
+    public void sameAsProxy() {
+        @NotNull Wire proxyWire = new TextWire(Bytes.elasticByteBuffer());
+        MWEvents proxy = marshallableOut(proxyWire).methodWriterBuilder(MWEvents.class).useProxy(true).get();
+        writeAll(proxy);
+
+        @NotNull Wire wire = new TextWire(Bytes.elasticByteBuffer());
+        MWEvents generated = marshallableOut(wire).methodWriterBuilder(MWEvents.class).useProxy(false).get();
+        assertFalse(Proxy.isProxyClass(generated.getClass()));
+        writeAll(generated);
+
+        assertEquals(Wires.fromSizePrefixedBlobs(proxyWire.bytes()), Wires.fromSizePrefixedBlobs(wire.bytes()));
+    }
+
+    public interface MWEvents {
+        void none();
+
+        void price(double price);
+
+        void count(char ch, long count);
+
+        void data(MWData data);
+    }
+
+    public static class MWData extends AbstractMarshallable {
+        String text;
+        int num;
+
+        MWData(String text, int num) {
+            this.text = text;
+            this.num = num;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PrimitiveCollectionsTest {
+
+    @Test
+    public void fieldAccess() {
+        WireMarshaller.FieldAccess[] fields = WireMarshaller.WIRE_MARSHALLER_CL.get(Prices.class).fields;
+        assertTrue(fields[0] instanceof WireMarshaller.PrimitiveListFieldAccess);
+        assertTrue(fields[1] instanceof WireMarshaller.PrimitiveMapFieldAccess);
+    }
+
+    @Test
+    public void roundTrip() {
+        for (@NotNull WireType wireType : new WireType[]{WireType.TEXT, WireType.BINARY}) {
+            @NotNull Prices prices = new Prices();
+            prices.ids.add(1);
+            prices.ids.add(Long.MIN_VALUE);
+            prices.ids.add(Long.MAX_VALUE);
+            prices.prices.put("EURUSD", 1.1234);
+            prices.prices.put("GBPUSD", 1.3015);
+
+            @NotNull Wire wire = wireType.apply(Bytes.elasticByteBuffer());
+            prices.writeMarshallable(wire);
+
+            @NotNull Prices read = new Prices();
+            read.ids.add(99);
+            read.prices.put("USDJPY", 110.5);
+            read.readMarshallable(wire);
+            assertEquals(wireType.toString(), prices, read);
+            assertEquals(1.3015, read.prices.get("GBPUSD"), 0.0);
+            assertEquals(Double.NaN, read.prices.get("USDJPY"), 0.0);
+        }
+    }
+
+    @Test
+    public void nullFields() {
+        @NotNull Prices prices = new Prices();
+        prices.ids = null;
+        prices.prices = null;
+        @NotNull Wire wire = new BinaryWire(Bytes.elasticByteBuffer());
+        prices.writeMarshallable(wire);
+
+        @NotNull Prices read = new Prices();
+        read.readMarshallable(wire);
+        assertNull(read.ids);
+        assertNull(read.prices);
+    }
+
+    static class Prices extends AbstractMarshallable {
+        LongList ids = new LongList();
+        DoubleMap prices = new DoubleMap();
+    }
+
+    static class LongList {
+        long[] values = new long[4];
+        int size;
+
+        void add(long value) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof LongList && size == ((LongList) o).size
+                    && Arrays.equals(Arrays.copyOf(values, size), Arrays.copyOf(((LongList) o).values, size));
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(Arrays.copyOf(values, size));
+        }
+    }
+
+    // keys and values in parallel lists so no value is boxed.
+    static class DoubleMap {
+        final List<Object> keys = new ArrayList<>();
+        double[] values = new double[4];
+
+        void put(Object key, double value) {
+            int index = keys.indexOf(key);
+            if (index < 0) {
+                index = keys.size();
+                keys.add(key);
+                if (index == values.length)
+                    values = Arrays.copyOf(values, index * 2);
+            }
+            values[index] = value;
+        }
+
+        double get(Object key) {
+            int index = keys.indexOf(key);
+            return index < 0 ? Double.NaN : values[index];
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof DoubleMap))
+                return false;
+            @NotNull DoubleMap map = (DoubleMap) o;
+            return keys.equals(map.keys)
+                    && Arrays.equals(Arrays.copyOf(values, keys.size()), Arrays.copyOf(map.values, keys.size()));
+        }
+
+        @Override
+        public int hashCode() {
+            return keys.hashCode();
+        }
+    }
+
+    public static class Provider implements PrimitiveCollectionProvider {
+        @Nullable
+        @Override
+        public PrimitiveListAccess listAccess(@NotNull Class<?> type) {
+            return type == LongList.class ? new LongListAccess() : null;
+        }
+
+        @Nullable
+        @Override
+        public PrimitiveMapAccess mapAccess(@NotNull Class<?> type) {
+            return type == DoubleMap.class ? new DoubleMapAccess() : null;
+        }
+    }
+
+    static class LongListAccess implements PrimitiveListAccess<LongList> {
+        @NotNull
+        @Override
+        public Class<?> elementType() {
+            return long.class;
+        }
+
+        @NotNull
+        @Override
+        public LongList newInstance() {
+            return new LongList();
+        }
+
+        @NotNull
+        @Override
+        public LongList copyOf(@NotNull LongList list) {
+            @NotNull LongList copy = new LongList();
+            for (int i = 0; i < list.size; i++)
+                copy.add(list.values[i]);
+            return copy;
+        }
+
+        @Override
+        public int size(@NotNull LongList list) {
+            return list.size;
+        }
+
+        @Override
+        public void clear(@NotNull LongList list) {
+            list.size = 0;
+        }
+
+        @Override
+        public long getLong(@NotNull LongList list, int index) {
+            return list.values[index];
+        }
+
+        @Override
+        public void addLong(@NotNull LongList list, long value) {
+            list.add(value);
+        }
+    }
+
+    static class DoubleMapAccess implements PrimitiveMapAccess<DoubleMap> {
+        @NotNull
+        @Override
+        public Class<?> valueType() {
+            return double.class;
+        }
+
+        @NotNull
+        @Override
+        public DoubleMap newInstance() {
+            return new DoubleMap();
+        }
+
+        @NotNull
+        @Override
+        public DoubleMap copyOf(@NotNull DoubleMap map) {
+            @NotNull DoubleMap copy = new DoubleMap();
+            for (int i = 0; i < map.keys.size(); i++)
+                copy.put(map.keys.get(i), map.values[i]);
+            return copy;
+        }
+
+        @Override
+        public void clear(@NotNull DoubleMap map) {
+            map.keys.clear();
+        }
+
+        @Override
+        public <T> void forEachDouble(@NotNull DoubleMap map, T t, @NotNull DoubleEntryConsumer<T> consumer) {
+            for (int i = 0; i < map.keys.size(); i++)
+                consumer.accept(t, map.keys.get(i), map.values[i]);
+        }
+
+        @Override
+        public void putDouble(@NotNull DoubleMap map, Object key, double value) {
+            map.put(key, value);
+        }
+    }
+}
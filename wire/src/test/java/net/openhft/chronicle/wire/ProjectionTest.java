@@ -0,0 +1,115 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.Assert.*;
+
+@RunWith(value = Parameterized.class)
+public class ProjectionTest {
+    private final WireType wireType;
+
+    public ProjectionTest(WireType wireType) {
+        this.wireType = wireType;
+    }
+
+    @Parameterized.Parameters
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][]{
+                {WireType.BINARY},
+                {WireType.FIELDLESS_BINARY},
+                {WireType.TEXT}
+        });
+    }
+
+    @NotNull
+    private static ProjectionData data() {
+        @NotNull ProjectionData data = new ProjectionData();
+        data.id = 11;
+        data.name = "a name long enough to be worth skipping";
+        data.inner = new ProjectionData();
+        data.inner.id = 22;
+        data.inner.name = "inner";
+        data.price = 1.25;
+        data.count = 33;
+        return data;
+    }
+
+    @Test
+    public void readsOnlySelectedFields() {
+        @NotNull Wire wire = wireType.apply(Bytes.elasticByteBuffer());
+        data().writeMarshallable(wire);
+        long length = wire.bytes().readRemaining();
+
+        @NotNull Projection<ProjectionData> projection = new Projection<>(ProjectionData.class, () -> "id", () -> "price");
+        @NotNull ProjectionData read = projection.read(wire, null);
+        assertEquals(11, read.id);
+        assertEquals(1.25, read.price, 0.0);
+        assertNull(read.name);
+        assertNull(read.inner);
+        assertEquals(0, read.count);
+
+        assertTrue(projection.decodedBytes() > 0);
+        assertTrue(projection.skippedBytes() > projection.decodedBytes());
+        // stops once every selected field has been read.
+        assertTrue(projection.decodedBytes() + projection.skippedBytes() < length);
+    }
+
+    @Test
+    public void projectNested() {
+        @NotNull Wire wire = wireType.apply(Bytes.elasticByteBuffer());
+        wire.write(() -> "data").marshallable(data());
+        wire.write(() -> "after").int32(44);
+
+        @NotNull ProjectionData read = wire.read(() -> "data").project(ProjectionData.class, () -> "inner", () -> "count");
+        assertEquals(0, read.id);
+        assertEquals(22, read.inner.id);
+        assertEquals("inner", read.inner.name);
+        assertEquals(33, read.count);
+        assertEquals(44, wire.read(() -> "after").int32());
+    }
+
+    @Test
+    public void project() {
+        @NotNull Wire wire = wireType.apply(Bytes.elasticByteBuffer());
+        data().writeMarshallable(wire);
+        @NotNull ProjectionData read = Wires.project(wire, ProjectionData.class, () -> "name");
+        assertEquals("a name long enough to be worth skipping", read.name);
+        assertEquals(0, read.id);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownField() {
+        new Projection<>(ProjectionData.class, () -> "unknown");
+    }
+
+    static class ProjectionData extends AbstractMarshallable {
+        int id;
+        String name;
+        ProjectionData inner;
+        double price;
+        int count;
+    }
+}
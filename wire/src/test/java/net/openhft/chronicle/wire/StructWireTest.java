@@ -0,0 +1,129 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class StructWireTest {
+    @Test
+    public void layout() {
+        @NotNull StructLayout<StructOrder> layout = StructLayout.register(StructOrder.class);
+        // longs and doubles first, then ints and enums, then shorts, bytes and the slots.
+        assertEquals("[id@0[8], price@8[8], qty@16[4], unit@20[4], flag@24[1], symbol@25[10], fills@35[20]]",
+                layout.fields().toString());
+        assertEquals(55, layout.size());
+    }
+
+    @Test
+    public void writeReadAndUpdateInPlace() {
+        @NotNull StructLayout<StructOrder> layout = StructLayout.register(StructOrder.class);
+        @NotNull Wire wire = WireType.STRUCT.apply(Bytes.elasticByteBuffer());
+        assertEquals(WireType.STRUCT, WireType.valueOf(wire));
+
+        @NotNull StructOrder order = new StructOrder();
+        order.id = 1;
+        order.price = 1.25;
+        order.qty = 100;
+        order.unit = TimeUnit.SECONDS;
+        order.flag = true;
+        order.symbol = "EURUSD";
+        order.fills = new int[]{1, 2, 3};
+        wire.getValueOut().marshallable(order);
+        assertEquals(4 + layout.size(), wire.bytes().readRemaining());
+
+        // update two fields without reading the rest.
+        long base = ((StructWire) wire).structOffset();
+        assertEquals("EURUSD", layout.field("symbol").getText(wire.bytes(), base, new StringBuilder()).toString());
+        layout.field("price").setDouble(wire.bytes(), base, 2.5);
+        layout.field("symbol").setText(wire.bytes(), base, "GBPUSD");
+        assertEquals(3, layout.field("fills").getArrayLength(wire.bytes(), base));
+
+        @NotNull StructOrder order2 = new StructOrder();
+        wire.getValueIn().marshallable(order2);
+        assertEquals(1, order2.id);
+        assertEquals(2.5, order2.price, 0.0);
+        assertEquals(100, order2.qty);
+        assertEquals(TimeUnit.SECONDS, order2.unit);
+        assertTrue(order2.flag);
+        assertEquals("GBPUSD", order2.symbol);
+        assertArrayEquals(new int[]{1, 2, 3}, order2.fills);
+        assertEquals(0, wire.bytes().readRemaining());
+    }
+
+    @Test(expected = IORuntimeException.class)
+    public void truncated() {
+        @NotNull Wire wire = WireType.STRUCT.apply(Bytes.elasticByteBuffer());
+        wire.getValueOut().marshallable(new StructOrder());
+        // a length shorter than the layout.
+        wire.bytes().writeInt(0, 10);
+        wire.getValueIn().marshallable(new StructOrder());
+    }
+
+    @Test(expected = IORuntimeException.class)
+    public void corruptEnum() {
+        @NotNull StructLayout<StructOrder> layout = StructLayout.register(StructOrder.class);
+        @NotNull Wire wire = WireType.STRUCT.apply(Bytes.elasticByteBuffer());
+        wire.getValueOut().marshallable(new StructOrder());
+        long base = ((StructWire) wire).structOffset();
+        wire.bytes().writeInt(base + layout.field("unit").offset(), TimeUnit.values().length);
+        wire.getValueIn().marshallable(new StructOrder());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void textTooLong() {
+        @NotNull StructLayout<StructOrder> layout = StructLayout.register(StructOrder.class);
+        @NotNull Bytes bytes = Bytes.elasticByteBuffer();
+        bytes.writeSkip(layout.size());
+        layout.field("symbol").setText(bytes, 0, "EURUSD.SPOT");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void textNotLatin1() {
+        @NotNull StructLayout<StructOrder> layout = StructLayout.register(StructOrder.class);
+        @NotNull Bytes bytes = Bytes.elasticByteBuffer();
+        bytes.writeSkip(layout.size());
+        layout.field("symbol").setText(bytes, 0, "\u20ac100");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unbounded() {
+        StructLayout.register(Unbounded.class);
+    }
+
+    static class StructOrder extends AbstractMarshallable {
+        boolean flag;
+        @MaxLength(8)
+        String symbol;
+        long id;
+        int qty;
+        double price;
+        TimeUnit unit;
+        @MaxLength(4)
+        int[] fills;
+    }
+
+    static class Unbounded extends AbstractMarshallable {
+        String text;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class WireMarshallerGeneratorTest {
+    @Test
+    public void generatedMatchesReflective() {
+        @NotNull WireMarshaller<GMData> reflective = WireMarshaller.of(GMData.class);
+        @NotNull WireMarshaller<GMData> generated = WireMarshallerGenerator.of(GMData.class);
+        assertNotSame(WireMarshaller.class, generated.getClass());
+
+        @NotNull GMData data = new GMData();
+        data.flag = true;
+        data.ch = 'x';
+        data.i = 123;
+        data.l = 1L << 40;
+        data.d = 1.5;
+        data.text = "hello";
+        data.sb.append("world");
+        data.list.add("a");
+        data.list.add("b");
+
+        @NotNull Wire wire1 = new TextWire(Bytes.elasticByteBuffer());
+        reflective.writeMarshallable(data, wire1);
+        @NotNull Wire wire2 = new TextWire(Bytes.elasticByteBuffer());
+        generated.writeMarshallable(data, wire2);
+        assertEquals(wire1.toString(), wire2.toString());
+
+        @NotNull GMData data2 = new GMData();
+        generated.readMarshallable(data2, wire2, true);
+        assertEquals(data, data2);
+    }
+
+    static class GMData extends AbstractMarshallable {
+        boolean flag;
+        char ch;
+        int i;
+        long l;
+        double d;
+        String text;
+        StringBuilder sb = new StringBuilder();
+        List<String> list = new ArrayList<>();
+    }
+}
@@ -84,6 +84,7 @@ public class WireTypeTest {
         for (@NotNull WireType wt : WireType.values()) {
 
             if (wt == WireType.RAW
+                    || wt == WireType.STRUCT
                     || wt == WireType.READ_ANY
                     || wt == WireType.CSV
                     || wt == WireType.DELTA_BINARY
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2016 higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class WireViewTest {
+    private static void writeOrder(@NotNull Wire wire, long id, String symbol, double price) {
+        wire.write(() -> "id").int64(id)
+                .write(() -> "account").text("ACC-123")
+                .write(() -> "symbol").text(symbol)
+                .write(() -> "qty").int32(100)
+                .write(() -> "price").float64(price)
+                .write(() -> "side").text("B");
+    }
+
+    @Test
+    public void readsFieldsInPlace() {
+        @NotNull OrderView view = WireView.create(OrderView.class);
+        @NotNull Wire wire = new BinaryWire(Bytes.elasticByteBuffer());
+        writeOrder(wire, 1, "EURUSD", 1.25);
+
+        long position = wire.bytes().readPosition();
+        view.bind(wire.bytes());
+        assertEquals(1, view.id());
+        assertEquals("EURUSD", view.symbol().toString());
+        assertEquals(1.25, view.price(), 0.0);
+        assertEquals('B', view.side());
+        assertEquals(0, view.missing());
+        // reading the view doesn't move the document.
+        assertEquals(position, wire.bytes().readPosition());
+
+        // the same layout, with a different symbol length.
+        wire.clear();
+        writeOrder(wire, 2, "GBPUSD.X", 2.5);
+        view.bind(wire.bytes());
+        assertEquals(2, view.id());
+        assertEquals("GBPUSD.X", view.symbol().toString());
+        assertEquals(2.5, view.price(), 0.0);
+
+        // fields in a different order.
+        wire.clear();
+        wire.write(() -> "price").float64(3.5)
+                .write(() -> "id").int64(3)
+                .write(() -> "missing").int32(7);
+        view.bind(wire.bytes());
+        assertEquals(3, view.id());
+        assertNull(view.symbol());
+        assertEquals(3.5, view.price(), 0.0);
+        assertEquals(7, view.missing());
+    }
+
+    @Test
+    public void sameLengthAnotherLayout() {
+        @NotNull IdView view = WireView.create(IdView.class);
+        @NotNull Wire wire = new BinaryWire(Bytes.elasticByteBuffer());
+        wire.write(() -> "x").text("abc")
+                .write(() -> "id").int64(5)
+                .write(() -> "pad").text("0123456789");
+        view.bind(wire.bytes());
+        assertEquals(5, view.id());
+
+        // the same length, with the bytes of the id header at the same offset, inside another field name.
+        wire.clear();
+        wire.write(() -> "abcde\u00C2id").text("v")
+                .write(() -> "id").int64(7)
+                .write(() -> "pad").text("01234");
+        view.bind(wire.bytes());
+        assertEquals(7, view.id());
+    }
+
+    @Test(expected = IORuntimeException.class)
+    public void fieldDictionary() {
+        @NotNull OrderView view = WireView.create(OrderView.class);
+        @NotNull Wire wire = new BinaryWire(Bytes.elasticByteBuffer()).fieldDictionary(16);
+        writeOrder(wire, 1, "EURUSD", 1.25);
+        view.bind(wire.bytes());
+        view.id();
+    }
+
+    @Test(expected = IORuntimeException.class)
+    public void stringDictionary() {
+        @NotNull OrderView view = WireView.create(OrderView.class);
+        @NotNull Wire wire = new BinaryWire(Bytes.elasticByteBuffer()).stringDictionary(16);
+        writeOrder(wire, 1, "EURUSD", 1.25);
+        view.bind(wire.bytes());
+        view.symbol();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notAGetter() {
+        WireView.create(NotAView.class);
+    }
+
+    public interface OrderView extends WireView {
+        long id();
+
+        CharSequence symbol();
+
+        double price();
+
+        char side();
+
+        int missing();
+    }
+
+    public interface IdView extends WireView {
+        long id();
+    }
+
+    public interface NotAView extends WireView {
+        void id(long id);
+    }
+}